@@ -0,0 +1,25 @@
+package com.tamanna.challenge.interview.calendar.configurations;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * @author tlferreira
+ */
+@Log4j2
+@Configuration
+public class DatabaseMigrationConfiguration {
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(DatabaseMigrationKeys databaseMigrationKeys) {
+        return flyway -> {
+            if (databaseMigrationKeys.isCleanOnStart()) {
+                log.info("Cleaning database before migrating");
+                flyway.clean();
+            }
+            flyway.migrate();
+        };
+    }
+}
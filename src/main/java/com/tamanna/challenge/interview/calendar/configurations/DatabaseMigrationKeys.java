@@ -0,0 +1,20 @@
+package com.tamanna.challenge.interview.calendar.configurations;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * @author tlferreira
+ */
+@Configuration
+@EnableConfigurationProperties
+@ConfigurationProperties("database.migration")
+@Getter
+@Setter
+public class DatabaseMigrationKeys {
+    //drops every object before migrating, for the in-memory database shared by several application contexts
+    private boolean cleanOnStart = false;
+}
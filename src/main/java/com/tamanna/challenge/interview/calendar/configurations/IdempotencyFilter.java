@@ -0,0 +1,259 @@
+package com.tamanna.challenge.interview.calendar.configurations;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tamanna.challenge.interview.calendar.dtos.BaseResponse;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.tamanna.challenge.interview.calendar.controllers.ControllerUtils.buildResponse;
+
+/**
+ * @author tlferreira
+ */
+//POSTs with an Idempotency-Key are run once per user and key, retries get the stored response without reaching the controllers
+@Log4j2
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final long waitTimeoutNanos;
+
+    //insertion order is also expiry order, the ttl is the same for every key
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    public IdempotencyFilter(ObjectMapper objectMapper, IdempotencyKeys idempotencyKeys) {
+        this.objectMapper = objectMapper;
+        this.enabled = idempotencyKeys.isEnabled();
+        this.ttlNanos = idempotencyKeys.getTtl().toNanos();
+        this.maxEntries = idempotencyKeys.getMaxEntries();
+        this.waitTimeoutNanos = idempotencyKeys.getWaitTimeout().toNanos();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !HttpMethod.POST.matches(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, "Invalid " + IDEMPOTENCY_KEY_HEADER);
+            return;
+        }
+
+        CachedBodyRequest cachedBodyRequest = new CachedBodyRequest(request);
+        String cacheKey = getUserName() + ":" + idempotencyKey;
+        String fingerprint = request.getRequestURI() + "?" + request.getQueryString() + "#" + DigestUtils.md5DigestAsHex(cachedBodyRequest.body);
+
+        while (true) {
+            Entry entry;
+            boolean first = false;
+            synchronized (entries) {
+                purgeExpired();
+                entry = entries.get(cacheKey);
+                //only requests still running are left, none of them can be dropped
+                if (entry == null && entries.size() >= maxEntries) {
+                    writeError(response, HttpStatus.SERVICE_UNAVAILABLE, "Too many requests with an " + IDEMPOTENCY_KEY_HEADER + " in progress");
+                    return;
+                }
+                if (entry == null) {
+                    entry = new Entry(fingerprint, System.nanoTime() + ttlNanos);
+                    entries.put(cacheKey, entry);
+                    first = true;
+                }
+            }
+
+            if (first) {
+                execute(cachedBodyRequest, response, filterChain, cacheKey, entry);
+                return;
+            }
+            if (!entry.fingerprint.equals(fingerprint)) {
+                writeError(response, HttpStatus.UNPROCESSABLE_ENTITY, IDEMPOTENCY_KEY_HEADER + " already used by a different request");
+                return;
+            }
+
+            StoredResponse storedResponse;
+            try {
+                storedResponse = entry.response.get(waitTimeoutNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                writeError(response, HttpStatus.CONFLICT, "Request with the same " + IDEMPOTENCY_KEY_HEADER + " still in progress");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException("Interrupted while waiting for the first request", e);
+            } catch (ExecutionException e) {
+                throw new ServletException(e.getCause());
+            }
+            //null when the first request was not stored, this one runs in its place
+            if (storedResponse != null) {
+                log.debug("Replaying response for {}", IDEMPOTENCY_KEY_HEADER);
+                replay(storedResponse, response);
+                return;
+            }
+        }
+    }
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain, String cacheKey, Entry entry) throws ServletException, IOException {
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        StoredResponse storedResponse = null;
+        try {
+            filterChain.doFilter(request, responseWrapper);
+            //server errors and conflicts may succeed when retried
+            int status = responseWrapper.getStatus();
+            if (status < HttpStatus.INTERNAL_SERVER_ERROR.value() && status != HttpStatus.CONFLICT.value()) {
+                storedResponse = new StoredResponse(status, responseWrapper.getContentType(), responseWrapper.getContentAsByteArray());
+            }
+        } finally {
+            if (storedResponse == null) {
+                synchronized (entries) {
+                    entries.remove(cacheKey, entry);
+                }
+            }
+            entry.response.complete(storedResponse);
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    private void replay(StoredResponse storedResponse, HttpServletResponse response) throws IOException {
+        response.setStatus(storedResponse.status);
+        if (storedResponse.contentType != null) {
+            response.setContentType(storedResponse.contentType);
+        }
+        response.setHeader(IDEMPOTENT_REPLAYED_HEADER, Boolean.TRUE.toString());
+        response.getOutputStream().write(storedResponse.body);
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        ResponseEntity<BaseResponse<Void>> responseObject = buildResponse(status, message);
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(objectMapper.writeValueAsBytes(responseObject.getBody()));
+    }
+
+    private void purgeExpired() {
+        long now = System.nanoTime();
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            //in-flight entries are kept, dropping one would run its duplicates again
+            if (!entry.response.isDone()) {
+                continue;
+            }
+            if (entries.size() < maxEntries && now - entry.expiresAtNanos < 0) {
+                break;
+            }
+            iterator.remove();
+        }
+    }
+
+    private String getUserName() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? "" : authentication.getName();
+    }
+
+    private static class Entry {
+        private final String fingerprint;
+        private final long expiresAtNanos;
+        private final CompletableFuture<StoredResponse> response = new CompletableFuture<>();
+
+        private Entry(String fingerprint, long expiresAtNanos) {
+            this.fingerprint = fingerprint;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+
+    private static class StoredResponse {
+        private final int status;
+        private final String contentType;
+        private final byte[] body;
+
+        private StoredResponse(int status, String contentType, byte[] body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+        }
+    }
+
+    //the body is read once for the fingerprint and served again to the controllers
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = StreamUtils.copyToByteArray(request.getInputStream());
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream inputStream = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return inputStream.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                //the whole body is already in memory, it can be read at once
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        readListener.onDataAvailable();
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return inputStream.read();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.tamanna.challenge.interview.calendar.configurations;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * @author tlferreira
+ */
+@Configuration
+@EnableConfigurationProperties
+@ConfigurationProperties("idempotency")
+@Getter
+@Setter
+public class IdempotencyKeys {
+    private boolean enabled = true;
+    //responses are replayed for this long after the first request
+    private Duration ttl = Duration.ofMinutes(10);
+    //oldest keys are dropped first
+    private int maxEntries = 10000;
+    //a duplicate waits this long for the first request before answering 409
+    private Duration waitTimeout = Duration.ofSeconds(30);
+}
@@ -0,0 +1,65 @@
+package com.tamanna.challenge.interview.calendar.configurations;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * @author tlferreira
+ */
+@Configuration
+@EnableConfigurationProperties
+@ConfigurationProperties("meeting.booking")
+@Getter
+@Setter
+public class MeetingBookingKeys {
+    private Retry retry = new Retry();
+    private Lock lock = new Lock();
+    private Hold hold = new Hold();
+    private Async async = new Async();
+
+    @Getter
+    @Setter
+    public static class Retry {
+        //attempts on conflicting writes, including the first one
+        private int maxAttempts = 3;
+        //doubled after every conflict, with up to the same amount of jitter
+        private Duration backoff = Duration.ofMillis(20);
+    }
+
+    @Getter
+    @Setter
+    public static class Lock {
+        private boolean enabled = true;
+        //people hashed onto this many locks, rounded up to a power of two
+        private int stripes = 64;
+        //waiting longer is reported as a conflict
+        private Duration timeout = Duration.ofSeconds(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Hold {
+        //held slots are released after this long unless booked or released before
+        private Duration ttl = Duration.ofMinutes(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Async {
+        //single bookings are queued and answered with 202, the result is polled
+        private boolean enabled = false;
+        //one writer thread per partition, requests are partitioned by their lowest interviewer id
+        private int partitions = 4;
+        //per partition, a full queue answers 409
+        private int queueCapacity = 1000;
+        //queued requests booked together in one transaction
+        private int batchSize = 50;
+        //results can be polled for this long after the request is processed
+        private Duration resultTtl = Duration.ofMinutes(10);
+    }
+}
@@ -0,0 +1,33 @@
+package com.tamanna.challenge.interview.calendar.configurations;
+
+import com.tamanna.challenge.interview.calendar.services.MeetingMatchingEngine;
+import com.tamanna.challenge.interview.calendar.services.impl.BitmapMatchingEngine;
+import com.tamanna.challenge.interview.calendar.services.impl.ParallelMatchingEngine;
+import com.tamanna.challenge.interview.calendar.services.impl.SortedMergeMatchingEngine;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * @author tlferreira
+ */
+@Log4j2
+@Configuration
+public class MeetingMatchingConfiguration {
+
+    @Bean
+    public MeetingMatchingEngine meetingMatchingEngine(MeetingMatchingKeys meetingMatchingKeys) {
+        log.info("Using {} meeting matching engine", meetingMatchingKeys.getEngine());
+        MeetingMatchingEngine meetingMatchingEngine = switch (meetingMatchingKeys.getEngine()) {
+            case BITMAP -> new BitmapMatchingEngine();
+            case SORTED_MERGE -> new SortedMergeMatchingEngine();
+        };
+
+        MeetingMatchingKeys.Parallel parallel = meetingMatchingKeys.getParallel();
+        if (parallel.isEnabled()) {
+            log.info("Parallel meeting matching enabled, parallelism: {}, cutoff: {}", parallel.getParallelism(), parallel.getCutoff());
+            meetingMatchingEngine = new ParallelMatchingEngine(meetingMatchingEngine, parallel.getParallelism(), parallel.getCutoff());
+        }
+        return meetingMatchingEngine;
+    }
+}
@@ -0,0 +1,34 @@
+package com.tamanna.challenge.interview.calendar.configurations;
+
+import com.tamanna.challenge.interview.calendar.entities.enums.MatchingEngineType;
+import com.tamanna.challenge.interview.calendar.entities.enums.MatchingSource;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * @author tlferreira
+ */
+@Configuration
+@EnableConfigurationProperties
+@ConfigurationProperties("meeting.matching")
+@Getter
+@Setter
+public class MeetingMatchingKeys {
+    private MatchingSource source = MatchingSource.JAVA;
+    private MatchingEngineType engine = MatchingEngineType.BITMAP;
+    //slot match rows read per query by the DATABASE source, pages are read until the limit is reached
+    private int pageSize = 500;
+    private Parallel parallel = new Parallel();
+
+    @Getter
+    @Setter
+    public static class Parallel {
+        private boolean enabled = false;
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        //interviewers per task, smaller lists are matched on the calling thread
+        private int cutoff = 256;
+    }
+}
@@ -0,0 +1,84 @@
+package com.tamanna.challenge.interview.calendar.configurations;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tamanna.challenge.interview.calendar.exceptions.ServiceException;
+import com.tamanna.challenge.interview.calendar.services.OutboxService;
+import com.tamanna.challenge.interview.calendar.services.OutboxSink;
+import com.tamanna.challenge.interview.calendar.services.impl.FileOutboxSink;
+import com.tamanna.challenge.interview.calendar.services.impl.InMemoryOutboxSink;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import java.nio.file.Path;
+
+/**
+ * @author tlferreira
+ */
+@Log4j2
+@Configuration
+@EnableScheduling
+public class OutboxConfiguration implements SchedulingConfigurer {
+    private final OutboxKeys outboxKeys;
+    private final ObjectProvider<OutboxService> outboxService;
+    private final Object dispatchMonitor = new Object();
+    private volatile boolean closing;
+    private ScheduledTask dispatchTask;
+
+    public OutboxConfiguration(OutboxKeys outboxKeys, ObjectProvider<OutboxService> outboxService) {
+        this.outboxKeys = outboxKeys;
+        this.outboxService = outboxService;
+    }
+
+    @Bean
+    public OutboxSink outboxSink(ObjectMapper objectMapper) {
+        log.info("Using {} outbox sink", outboxKeys.getSink());
+        return switch (outboxKeys.getSink()) {
+            case MEMORY -> new InMemoryOutboxSink(outboxKeys.getMemory().getCapacity());
+            case FILE -> new FileOutboxSink(Path.of(outboxKeys.getFile().getPath()), objectMapper);
+        };
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        OutboxKeys.Dispatch dispatch = outboxKeys.getDispatch();
+        if (!dispatch.isEnabled()) {
+            log.info("Outbox dispatch disabled");
+            return;
+        }
+        //single scheduler thread, runs never overlap
+        dispatchTask = taskRegistrar.scheduleFixedDelayTask(new FixedDelayTask(this::dispatch, dispatch.getInterval().toMillis(), 0));
+    }
+
+    //published before any bean is destroyed, a run in progress is waited for while the datasource is still open
+    @EventListener(ContextClosedEvent.class)
+    public void stopDispatch() {
+        synchronized (dispatchMonitor) {
+            closing = true;
+            if (dispatchTask != null) {
+                dispatchTask.cancel();
+            }
+        }
+    }
+
+    private void dispatch() {
+        synchronized (dispatchMonitor) {
+            if (closing) {
+                return;
+            }
+            try {
+                outboxService.getObject().dispatch();
+            } catch (ServiceException e) {
+                //already logged, the events are kept and sent on the next run
+            }
+        }
+    }
+}
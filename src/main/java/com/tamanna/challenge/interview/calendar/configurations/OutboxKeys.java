@@ -0,0 +1,47 @@
+package com.tamanna.challenge.interview.calendar.configurations;
+
+import com.tamanna.challenge.interview.calendar.entities.enums.OutboxSinkType;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * @author tlferreira
+ */
+@Configuration
+@EnableConfigurationProperties
+@ConfigurationProperties("outbox")
+@Getter
+@Setter
+public class OutboxKeys {
+    private OutboxSinkType sink = OutboxSinkType.FILE;
+    private Dispatch dispatch = new Dispatch();
+    private Memory memory = new Memory();
+    private File file = new File();
+
+    @Getter
+    @Setter
+    public static class Dispatch {
+        //events are still written to the table when disabled
+        private boolean enabled = true;
+        //delay between the end of one run and the start of the next
+        private Duration interval = Duration.ofSeconds(1);
+        private int batchSize = 100;
+    }
+
+    @Getter
+    @Setter
+    public static class Memory {
+        private int capacity = 10000;
+    }
+
+    @Getter
+    @Setter
+    public static class File {
+        private String path = "outbox-events.jsonl";
+    }
+}
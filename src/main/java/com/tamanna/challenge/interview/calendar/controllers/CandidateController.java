@@ -3,7 +3,9 @@ package com.tamanna.challenge.interview.calendar.controllers;
 import com.tamanna.challenge.interview.calendar.dtos.BaseResponse;
 import com.tamanna.challenge.interview.calendar.dtos.PersonDTO;
 import com.tamanna.challenge.interview.calendar.dtos.PersonInfoDTO;
+import com.tamanna.challenge.interview.calendar.entities.enums.PersonType;
 import com.tamanna.challenge.interview.calendar.entities.jpa.Candidate;
+import com.tamanna.challenge.interview.calendar.entities.projections.PersonView;
 import com.tamanna.challenge.interview.calendar.exceptions.NotFoundException;
 import com.tamanna.challenge.interview.calendar.exceptions.ServiceException;
 import com.tamanna.challenge.interview.calendar.logging.MDCLogging;
@@ -16,6 +18,7 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import lombok.AllArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.TypeToken;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -32,6 +35,8 @@ import static com.tamanna.challenge.interview.calendar.configurations.OpenApiCon
 import static com.tamanna.challenge.interview.calendar.configurations.WebSecurityConfiguration.HAS_CANDIDATE_ROLE;
 import static com.tamanna.challenge.interview.calendar.controllers.ControllerConstants.*;
 import static com.tamanna.challenge.interview.calendar.controllers.ControllerUtils.buildResponse;
+import static com.tamanna.challenge.interview.calendar.controllers.ControllerUtils.decodeCursor;
+import static com.tamanna.challenge.interview.calendar.controllers.ControllerUtils.encodeCursor;
 
 /**
  * @author tlferreira
@@ -88,10 +93,25 @@ public class CandidateController {
                     ),
             })
     public ResponseEntity<BaseResponse<List<PersonDTO>>> listPerson(@Min(value = 0, message = INVALID_PAGE_MESSAGE) @RequestParam(value = PAGE_PARAM, defaultValue = PAGE_DEFAULT) int page,
-                                                                    @Min(value = 1, message = INVALID_SIZE_MESSAGE) @RequestParam(value = SIZE_PARAM, required = false) Integer size) throws ServiceException {
-        MDCLogging.putObjectMDC("listCandidate{Page[%s];Size[%s]}", page, size);
-        List<Candidate> entityList = size == null ? candidateService.findAll() : candidateService.findAllPageable(page, size);
-        return buildResponse(mapListEntityDTO(entityList), entityList.isEmpty() ? HttpStatus.NO_CONTENT : HttpStatus.OK);
+                                                                    @Min(value = 1, message = INVALID_SIZE_MESSAGE) @RequestParam(value = SIZE_PARAM, required = false) Integer size,
+                                                                    @RequestParam(value = AFTER_PARAM, required = false) String after) throws ServiceException {
+        MDCLogging.putObjectMDC("listCandidate{Page[%s];Size[%s];After[%s]}", page, size, after);
+        Long afterId = decodeCursor(after);
+        if (size == null) {
+            if (afterId != null) {
+                throw new IllegalArgumentException(INVALID_AFTER_MESSAGE);
+            }
+            List<PersonView> viewList = candidateService.findAll();
+            return buildResponse(mapListViewDTO(viewList), viewList.isEmpty() ? HttpStatus.NO_CONTENT : HttpStatus.OK);
+        }
+        //page is only kept for clients that do not follow the cursor yet
+        if (afterId == null && page > 0) {
+            List<PersonView> viewList = candidateService.findAllPageable(page, size);
+            return buildResponse(mapListViewDTO(viewList), viewList.isEmpty() ? HttpStatus.NO_CONTENT : HttpStatus.OK);
+        }
+        Slice<PersonView> viewSlice = candidateService.findAllAfter(afterId == null ? 0 : afterId, size);
+        String nextCursor = viewSlice.hasNext() ? encodeCursor(viewSlice.getContent().get(viewSlice.getNumberOfElements() - 1).getId()) : null;
+        return buildResponse(mapListViewDTO(viewSlice.getContent()), viewSlice.hasContent() ? HttpStatus.OK : HttpStatus.NO_CONTENT, nextCursor);
     }
 
     @GetMapping(path = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -196,9 +216,12 @@ public class CandidateController {
         return this.modelMapper.map(entity, PersonDTO.class);
     }
 
-    List<PersonDTO> mapListEntityDTO(List<Candidate> entityList) {
-        return modelMapper.map(entityList, new TypeToken<List<PersonDTO>>() {
+    List<PersonDTO> mapListViewDTO(List<PersonView> viewList) {
+        List<PersonDTO> personDTOList = modelMapper.map(viewList, new TypeToken<List<PersonDTO>>() {
         }.getType());
+        //the view has no type column, every row of this repository is a candidate
+        personDTOList.forEach(personDTO -> personDTO.setPersonType(PersonType.CANDIDATE));
+        return personDTOList;
     }
 
     private ResponseEntity<BaseResponse<PersonDTO>> handleOptResponse(Optional<Candidate> entityOpt) {
@@ -3,7 +3,9 @@ package com.tamanna.challenge.interview.calendar.controllers;
 import com.tamanna.challenge.interview.calendar.dtos.BaseResponse;
 import com.tamanna.challenge.interview.calendar.dtos.ScheduleDTO;
 import com.tamanna.challenge.interview.calendar.dtos.ScheduleInfoDTO;
+import com.tamanna.challenge.interview.calendar.entities.SlotBitmap;
 import com.tamanna.challenge.interview.calendar.entities.jpa.Schedule;
+import com.tamanna.challenge.interview.calendar.entities.projections.ScheduleView;
 import com.tamanna.challenge.interview.calendar.exceptions.NotFoundException;
 import com.tamanna.challenge.interview.calendar.exceptions.ServiceException;
 import com.tamanna.challenge.interview.calendar.logging.MDCLogging;
@@ -16,6 +18,7 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import lombok.AllArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.TypeToken;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -32,6 +35,8 @@ import static com.tamanna.challenge.interview.calendar.configurations.OpenApiCon
 import static com.tamanna.challenge.interview.calendar.configurations.WebSecurityConfiguration.HAS_CANDIDATE_ROLE;
 import static com.tamanna.challenge.interview.calendar.controllers.ControllerConstants.*;
 import static com.tamanna.challenge.interview.calendar.controllers.ControllerUtils.buildResponse;
+import static com.tamanna.challenge.interview.calendar.controllers.ControllerUtils.decodeCursor;
+import static com.tamanna.challenge.interview.calendar.controllers.ControllerUtils.encodeCursor;
 
 /**
  * @author tlferreira
@@ -88,10 +93,26 @@ public class CandidateScheduleController {
                                     schema = @Schema(implementation = BaseResponse.class))
                     ),
             })
-    public ResponseEntity<BaseResponse<List<ScheduleDTO>>> listSchedules(@Min(value = 1, message = INVALID_ID_MESSAGE) @PathVariable(value = ID_PATH_VARIABLE) long id) throws ServiceException {
-        MDCLogging.putObjectMDC("listCandidateSchedule{id[%s]}", id);
-        List<Schedule> schedules = personScheduleService.findAll(id);
-        return buildResponse(mapListEntityDTO(schedules), schedules.isEmpty() ? HttpStatus.NO_CONTENT : HttpStatus.OK);
+    public ResponseEntity<BaseResponse<List<ScheduleDTO>>> listSchedules(@Min(value = 1, message = INVALID_ID_MESSAGE) @PathVariable(value = ID_PATH_VARIABLE) long id,
+                                                                         @Min(value = 1, message = INVALID_SIZE_MESSAGE) @RequestParam(value = SIZE_PARAM, required = false) Integer size,
+                                                                         @RequestParam(value = AFTER_PARAM, required = false) String after) throws ServiceException {
+        MDCLogging.putObjectMDC("listCandidateSchedule{id[%s];Size[%s];After[%s]}", id, size, after);
+        Long afterSlot = decodeCursor(after);
+        if (size == null) {
+            if (afterSlot != null) {
+                throw new IllegalArgumentException(INVALID_AFTER_MESSAGE);
+            }
+            List<ScheduleView> schedules = personScheduleService.findAll(id);
+            return buildResponse(mapListViewDTO(schedules), schedules.isEmpty() ? HttpStatus.NO_CONTENT : HttpStatus.OK);
+        }
+        Slice<ScheduleView> scheduleSlice = personScheduleService.findAllAfter(id, afterSlot, size);
+        //the cursor is the epoch-hour of the last slot returned
+        String nextCursor = null;
+        if (scheduleSlice.hasNext()) {
+            ScheduleView last = scheduleSlice.getContent().get(scheduleSlice.getNumberOfElements() - 1);
+            nextCursor = encodeCursor(SlotBitmap.toEpochHour(last.getDay(), last.getHour()));
+        }
+        return buildResponse(mapListViewDTO(scheduleSlice.getContent()), scheduleSlice.hasContent() ? HttpStatus.OK : HttpStatus.NO_CONTENT, nextCursor);
     }
 
     @GetMapping(path = "/{scheduleId}", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -134,6 +155,12 @@ public class CandidateScheduleController {
                                     mediaType = MediaType.APPLICATION_JSON_VALUE,
                                     schema = @Schema(implementation = BaseResponse.class))
                     ),
+                    @ApiResponse(responseCode = "304",
+                            description = "Not Modified",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = BaseResponse.class))
+                    ),
                     @ApiResponse(responseCode = "400",
                             description = "Bad Request",
                             content = @Content(
@@ -205,8 +232,8 @@ public class CandidateScheduleController {
         return modelMapper.map(entity, ScheduleDTO.class);
     }
 
-    List<ScheduleDTO> mapListEntityDTO(List<Schedule> entityList) {
-        return modelMapper.map(entityList, new TypeToken<List<ScheduleDTO>>() {
+    List<ScheduleDTO> mapListViewDTO(List<ScheduleView> viewList) {
+        return modelMapper.map(viewList, new TypeToken<List<ScheduleDTO>>() {
         }.getType());
     }
 }
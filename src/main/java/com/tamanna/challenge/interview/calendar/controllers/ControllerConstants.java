@@ -10,14 +10,33 @@ public class ControllerConstants {
     public static final String SCHEDULE_ID_PATH_VARIABLE = "scheduleId";
     public static final String CANDIDATE_ID_REQ_PARAM = "candidateId";
     public static final String INTERVIEWER_ID_REQ_PARAM = "interviewerId";
+    public static final String HOLD_ID_REQ_PARAM = "holdId";
+    public static final String HOLD_ID_PATH_VARIABLE = "holdId";
+    public static final String REQUEST_ID_PATH_VARIABLE = "requestId";
     public static final String INVALID_PAGE_MESSAGE = "Invalid page, must be greater than or equal to 0";
     public static final String INVALID_SIZE_MESSAGE = "Invalid size, must be greater than 0";
     public static final String PAGE_PARAM = "page";
     public static final String PAGE_DEFAULT = "0";
     public static final String SIZE_PARAM = "size";
+    public static final String INVALID_LIMIT_MESSAGE = "Invalid limit, must be greater than 0";
+    public static final String INVALID_CURSOR_MESSAGE = "Invalid cursor";
+    public static final String INVALID_MIN_INTERVIEWERS_MESSAGE = "Invalid minInterviewers, must be greater than 0";
+    public static final String LIMIT_PARAM = "limit";
+    public static final String MIN_INTERVIEWERS_PARAM = "minInterviewers";
+    public static final String MIN_INTERVIEWERS_DEFAULT = "1";
+    public static final String FROM_PARAM = "from";
+    public static final String TO_PARAM = "to";
+    public static final String CURSOR_PARAM = "cursor";
+    public static final String AFTER_PARAM = "after";
+    public static final String INVALID_AFTER_MESSAGE = "Invalid after, size is required";
+    public static final String INVALID_HOUR_MESSAGE = "Hour must be [0,23]";
+    public static final String DAY_PARAM = "day";
+    public static final String HOUR_PARAM = "hour";
     public static final String INTERVIEWER_NOT_FOUND = "Interviewer not found";
     public static final String CANDIDATE_NOT_FOUND = "Candidate not found";
     public static final String MEETING_NOT_FOUND = "Meeting not found";
+    public static final String HOLD_NOT_FOUND = "Hold not found";
+    public static final String BOOKING_REQUEST_NOT_FOUND = "Booking request not found";
 
     private ControllerConstants() {
         //private constructor
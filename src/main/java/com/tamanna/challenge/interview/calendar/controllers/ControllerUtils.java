@@ -4,10 +4,14 @@ import com.tamanna.challenge.interview.calendar.dtos.BaseResponse;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
+import static com.tamanna.challenge.interview.calendar.controllers.ControllerConstants.INVALID_CURSOR_MESSAGE;
+
 /**
  * @author tlferreira
  */
@@ -31,15 +35,40 @@ public class ControllerUtils {
     }
 
     public static <T> ResponseEntity<BaseResponse<T>> buildResponse(HttpStatus status, String message, T responseObject) {
+        return buildResponse(status, message, responseObject, null);
+    }
+
+    public static <T> ResponseEntity<BaseResponse<T>> buildResponse(T responseObject, HttpStatus status, String nextCursor) {
+        return buildResponse(status, DEFAULT_MESSAGE, responseObject, nextCursor);
+    }
+
+    public static <T> ResponseEntity<BaseResponse<T>> buildResponse(HttpStatus status, String message, T responseObject, String nextCursor) {
         return new ResponseEntity<>(BaseResponse
                 .<T>builder()
                 .status(status.value())
                 .message(message)
                 .response(responseObject)
+                .nextCursor(nextCursor)
                 .build(),
                 status);
     }
 
+    public static String encodeCursor(long value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Long.toString(value).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            //NumberFormatException is also an IllegalArgumentException
+            throw new IllegalArgumentException(INVALID_CURSOR_MESSAGE, e);
+        }
+    }
+
     public static String listToString(List<?> list) {
         if (list != null) {
             return list
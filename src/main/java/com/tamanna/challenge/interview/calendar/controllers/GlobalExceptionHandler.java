@@ -2,6 +2,7 @@ package com.tamanna.challenge.interview.calendar.controllers;
 
 import com.tamanna.challenge.interview.calendar.dtos.ApiError;
 import com.tamanna.challenge.interview.calendar.dtos.BaseResponse;
+import com.tamanna.challenge.interview.calendar.exceptions.ConflictException;
 import com.tamanna.challenge.interview.calendar.exceptions.NotFoundException;
 import com.tamanna.challenge.interview.calendar.exceptions.NotModifiedException;
 import com.tamanna.challenge.interview.calendar.exceptions.ServiceException;
@@ -95,6 +96,12 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.NOT_MODIFIED, exception.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseBody
+    public <T> ResponseEntity<BaseResponse<T>> handleConflictException(ConflictException exception) {
+        return buildResponse(HttpStatus.CONFLICT, exception.getMessage());
+    }
+
     @ExceptionHandler
     @ResponseBody
     public <T> ResponseEntity<BaseResponse<T>> handleIllegalArgumentException(IllegalArgumentException exception) {
@@ -3,7 +3,9 @@ package com.tamanna.challenge.interview.calendar.controllers;
 import com.tamanna.challenge.interview.calendar.dtos.BaseResponse;
 import com.tamanna.challenge.interview.calendar.dtos.PersonDTO;
 import com.tamanna.challenge.interview.calendar.dtos.PersonInfoDTO;
+import com.tamanna.challenge.interview.calendar.entities.enums.PersonType;
 import com.tamanna.challenge.interview.calendar.entities.jpa.Interviewer;
+import com.tamanna.challenge.interview.calendar.entities.projections.PersonView;
 import com.tamanna.challenge.interview.calendar.exceptions.NotFoundException;
 import com.tamanna.challenge.interview.calendar.exceptions.ServiceException;
 import com.tamanna.challenge.interview.calendar.logging.MDCLogging;
@@ -16,6 +18,8 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import lombok.AllArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.TypeToken;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -24,7 +28,9 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,6 +38,8 @@ import static com.tamanna.challenge.interview.calendar.configurations.OpenApiCon
 import static com.tamanna.challenge.interview.calendar.configurations.WebSecurityConfiguration.HAS_INTERVIEWER_ROLE;
 import static com.tamanna.challenge.interview.calendar.controllers.ControllerConstants.*;
 import static com.tamanna.challenge.interview.calendar.controllers.ControllerUtils.buildResponse;
+import static com.tamanna.challenge.interview.calendar.controllers.ControllerUtils.decodeCursor;
+import static com.tamanna.challenge.interview.calendar.controllers.ControllerUtils.encodeCursor;
 
 /**
  * @author tlferreira
@@ -88,9 +96,49 @@ public class InterviewerController {
                     ),
             })
     public ResponseEntity<BaseResponse<List<PersonDTO>>> listPerson(@Min(value = 0, message = INVALID_PAGE_MESSAGE) @RequestParam(value = PAGE_PARAM, defaultValue = PAGE_DEFAULT) int page,
-                                                                    @Min(value = 1, message = INVALID_SIZE_MESSAGE) @RequestParam(value = SIZE_PARAM, required = false) Integer size) throws ServiceException {
-        MDCLogging.putObjectMDC("listInterviewer{Page[%s];Size[%s]}", page, size);
-        List<Interviewer> entityList = size == null ? interviewerService.findAll() : interviewerService.findAllPageable(page, size);
+                                                                    @Min(value = 1, message = INVALID_SIZE_MESSAGE) @RequestParam(value = SIZE_PARAM, required = false) Integer size,
+                                                                    @RequestParam(value = AFTER_PARAM, required = false) String after) throws ServiceException {
+        MDCLogging.putObjectMDC("listInterviewer{Page[%s];Size[%s];After[%s]}", page, size, after);
+        Long afterId = decodeCursor(after);
+        if (size == null) {
+            if (afterId != null) {
+                throw new IllegalArgumentException(INVALID_AFTER_MESSAGE);
+            }
+            List<PersonView> viewList = interviewerService.findAll();
+            return buildResponse(mapListViewDTO(viewList), viewList.isEmpty() ? HttpStatus.NO_CONTENT : HttpStatus.OK);
+        }
+        //page is only kept for clients that do not follow the cursor yet
+        if (afterId == null && page > 0) {
+            List<PersonView> viewList = interviewerService.findAllPageable(page, size);
+            return buildResponse(mapListViewDTO(viewList), viewList.isEmpty() ? HttpStatus.NO_CONTENT : HttpStatus.OK);
+        }
+        Slice<PersonView> viewSlice = interviewerService.findAllAfter(afterId == null ? 0 : afterId, size);
+        String nextCursor = viewSlice.hasNext() ? encodeCursor(viewSlice.getContent().get(viewSlice.getNumberOfElements() - 1).getId()) : null;
+        return buildResponse(mapListViewDTO(viewSlice.getContent()), viewSlice.hasContent() ? HttpStatus.OK : HttpStatus.NO_CONTENT, nextCursor);
+    }
+
+    @GetMapping(path = "/available", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get Interviewers free at a given day and hour",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful Get"),
+                    @ApiResponse(responseCode = "204", description = "No Content"),
+                    @ApiResponse(responseCode = "400",
+                            description = "Bad Request",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = BaseResponse.class))
+                    ),
+                    @ApiResponse(responseCode = "500",
+                            description = "Internal Server Error",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = BaseResponse.class))
+                    ),
+            })
+    public ResponseEntity<BaseResponse<List<PersonDTO>>> listAvailable(@DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @RequestParam(DAY_PARAM) LocalDate day,
+                                                                       @Min(value = 0, message = INVALID_HOUR_MESSAGE) @Max(value = 23, message = INVALID_HOUR_MESSAGE) @RequestParam(HOUR_PARAM) int hour) throws ServiceException {
+        MDCLogging.putObjectMDC("listAvailableInterviewer{day[%s],hour[%s]}", day, hour);
+        List<Interviewer> entityList = interviewerService.findAvailable(day, hour);
         return buildResponse(mapListEntityDTO(entityList), entityList.isEmpty() ? HttpStatus.NO_CONTENT : HttpStatus.OK);
     }
 
@@ -196,6 +244,14 @@ public class InterviewerController {
         return this.modelMapper.map(entity, PersonDTO.class);
     }
 
+    List<PersonDTO> mapListViewDTO(List<PersonView> viewList) {
+        List<PersonDTO> personDTOList = modelMapper.map(viewList, new TypeToken<List<PersonDTO>>() {
+        }.getType());
+        //the view has no type column, every row of this repository is an interviewer
+        personDTOList.forEach(personDTO -> personDTO.setPersonType(PersonType.INTERVIEWER));
+        return personDTOList;
+    }
+
     List<PersonDTO> mapListEntityDTO(List<Interviewer> entityList) {
         return modelMapper.map(entityList, new TypeToken<List<PersonDTO>>() {
         }.getType());
@@ -14,23 +14,29 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import lombok.AllArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.TypeToken;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import javax.validation.constraints.Min;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static com.tamanna.challenge.interview.calendar.configurations.OpenApiConfiguration.SECURITY_SCHEMA_NAME;
 import static com.tamanna.challenge.interview.calendar.configurations.WebSecurityConfiguration.HAS_INTERVIEWER_ROLE;
+import static com.tamanna.challenge.interview.calendar.controllers.ControllerConstants.FROM_PARAM;
 import static com.tamanna.challenge.interview.calendar.controllers.ControllerConstants.ID_PATH_VARIABLE;
 import static com.tamanna.challenge.interview.calendar.controllers.ControllerConstants.INVALID_ID_MESSAGE;
+import static com.tamanna.challenge.interview.calendar.controllers.ControllerConstants.TO_PARAM;
 import static com.tamanna.challenge.interview.calendar.controllers.ControllerUtils.buildResponse;
 
 /**
@@ -70,6 +76,44 @@ public class InterviewerMeetingController {
         return buildResponse(mapListEntityDTO(meetings), meetings.isEmpty() ? HttpStatus.NO_CONTENT : HttpStatus.OK);
     }
 
+    @DeleteMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Cancel Interviewer Meetings starting in a date range",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful Delete"),
+                    @ApiResponse(responseCode = "204", description = "No Content"),
+                    @ApiResponse(responseCode = "400",
+                            description = "Bad Request",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = BaseResponse.class))
+                    ),
+                    @ApiResponse(responseCode = "404",
+                            description = "Not Found",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = BaseResponse.class))
+                    ),
+                    @ApiResponse(responseCode = "409",
+                            description = "Conflict",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = BaseResponse.class))
+                    ),
+                    @ApiResponse(responseCode = "500",
+                            description = "Internal Server Error",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = BaseResponse.class))
+                    ),
+            })
+    public ResponseEntity<BaseResponse<List<BookingDTO>>> cancelMeetings(@Min(value = 1, message = INVALID_ID_MESSAGE) @PathVariable(value = ID_PATH_VARIABLE) long id,
+                                                                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) @RequestParam(value = FROM_PARAM, required = false) LocalDateTime from,
+                                                                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) @RequestParam(value = TO_PARAM, required = false) LocalDateTime to) throws ServiceException {
+        MDCLogging.putObjectMDC("cancelInterviewerMeetings{id[%s],from[%s],to[%s]}", id, from, to);
+        List<Booking> meetings = meetingService.cancelInterviewerMeetings(id, from, to);
+        return buildResponse(mapListEntityDTO(meetings), meetings.isEmpty() ? HttpStatus.NO_CONTENT : HttpStatus.OK);
+    }
+
     List<BookingDTO> mapListEntityDTO(List<Booking> entityList) {
         return modelMapper.map(entityList, new TypeToken<List<BookingDTO>>() {
         }.getType());
@@ -1,13 +1,27 @@
 package com.tamanna.challenge.interview.calendar.controllers;
 
+import com.tamanna.challenge.interview.calendar.dtos.AsyncBookingDTO;
 import com.tamanna.challenge.interview.calendar.dtos.AvailableMeetingDTO;
 import com.tamanna.challenge.interview.calendar.dtos.BaseResponse;
 import com.tamanna.challenge.interview.calendar.dtos.BookingDTO;
+import com.tamanna.challenge.interview.calendar.dtos.BookingResultDTO;
+import com.tamanna.challenge.interview.calendar.dtos.MeetingBatchBookingDTO;
+import com.tamanna.challenge.interview.calendar.dtos.MeetingBatchQueryDTO;
+import com.tamanna.challenge.interview.calendar.dtos.MeetingQueryResultDTO;
+import com.tamanna.challenge.interview.calendar.dtos.SlotHoldDTO;
+import com.tamanna.challenge.interview.calendar.entities.AsyncBooking;
 import com.tamanna.challenge.interview.calendar.entities.AvailableMeeting;
+import com.tamanna.challenge.interview.calendar.entities.BookingRequest;
+import com.tamanna.challenge.interview.calendar.entities.BookingResult;
+import com.tamanna.challenge.interview.calendar.entities.MeetingQuery;
+import com.tamanna.challenge.interview.calendar.entities.MeetingQueryResult;
+import com.tamanna.challenge.interview.calendar.entities.SlotBitmap;
+import com.tamanna.challenge.interview.calendar.entities.SlotHold;
 import com.tamanna.challenge.interview.calendar.entities.jpa.Booking;
 import com.tamanna.challenge.interview.calendar.exceptions.NotFoundException;
 import com.tamanna.challenge.interview.calendar.exceptions.ServiceException;
 import com.tamanna.challenge.interview.calendar.logging.MDCLogging;
+import com.tamanna.challenge.interview.calendar.services.AsyncBookingService;
 import com.tamanna.challenge.interview.calendar.services.MeetingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -17,23 +31,32 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import lombok.AllArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.TypeToken;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.validation.Valid;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotEmpty;
+import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static com.tamanna.challenge.interview.calendar.configurations.OpenApiConfiguration.SECURITY_SCHEMA_NAME;
 import static com.tamanna.challenge.interview.calendar.configurations.WebSecurityConfiguration.HAS_INTERVIEWER_CANDIDATE_ROLE;
 import static com.tamanna.challenge.interview.calendar.controllers.ControllerConstants.*;
 import static com.tamanna.challenge.interview.calendar.controllers.ControllerUtils.buildResponse;
+import static com.tamanna.challenge.interview.calendar.controllers.ControllerUtils.decodeCursor;
+import static com.tamanna.challenge.interview.calendar.controllers.ControllerUtils.encodeCursor;
 import static com.tamanna.challenge.interview.calendar.controllers.ControllerUtils.listToString;
 
 /**
@@ -48,6 +71,7 @@ import static com.tamanna.challenge.interview.calendar.controllers.ControllerUti
 public class MeetingController {
     private final ModelMapper modelMapper;
     private final MeetingService meetingService;
+    private final AsyncBookingService asyncBookingService;
 
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Query Meeting for Candidate",
@@ -68,16 +92,68 @@ public class MeetingController {
                     ),
             })
     public ResponseEntity<BaseResponse<List<AvailableMeetingDTO>>> query(@Min(value = 1, message = INVALID_ID_MESSAGE) @RequestParam(CANDIDATE_ID_REQ_PARAM) long candidateId,
-                                                                         @RequestParam(value = INTERVIEWER_ID_REQ_PARAM, required = false) List<Long> interviewerIdList) throws ServiceException {
-        MDCLogging.putObjectMDC("queryMeeting{candidateId[%s],interviewerId:[%s]}", candidateId, listToString(interviewerIdList));
-        List<AvailableMeeting> availableMeetings = this.meetingService.queryMeeting(candidateId, Optional.ofNullable(interviewerIdList).orElseGet(ArrayList::new));
-        return buildResponse(mapListEntityDTO(availableMeetings), availableMeetings.isEmpty() ? HttpStatus.NO_CONTENT : HttpStatus.OK);
+                                                                         @RequestParam(value = INTERVIEWER_ID_REQ_PARAM, required = false) List<Long> interviewerIdList,
+                                                                         @Min(value = 1, message = INVALID_LIMIT_MESSAGE) @RequestParam(value = LIMIT_PARAM, required = false) Integer limit,
+                                                                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) @RequestParam(value = FROM_PARAM, required = false) LocalDateTime from,
+                                                                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) @RequestParam(value = TO_PARAM, required = false) LocalDateTime to,
+                                                                         @RequestParam(value = CURSOR_PARAM, required = false) String cursor,
+                                                                         @Min(value = 1, message = INVALID_MIN_INTERVIEWERS_MESSAGE) @RequestParam(value = MIN_INTERVIEWERS_PARAM, defaultValue = MIN_INTERVIEWERS_DEFAULT) int minInterviewers) throws ServiceException {
+        MDCLogging.putObjectMDC("queryMeeting{candidateId[%s],interviewerId:[%s],limit[%s],from[%s],to[%s],cursor[%s],minInterviewers[%s]}",
+                candidateId, listToString(interviewerIdList), limit, from, to, cursor, minInterviewers);
+        MeetingQuery meetingQuery = MeetingQuery
+                .builder()
+                .candidateId(candidateId)
+                .interviewerIdList(Optional.ofNullable(interviewerIdList).orElseGet(ArrayList::new))
+                .from(from)
+                .to(to)
+                .afterSlot(decodeCursor(cursor))
+                .limit(Optional.ofNullable(limit).orElse(Integer.MAX_VALUE))
+                .minInterviewers(minInterviewers)
+                .build();
+        List<AvailableMeeting> availableMeetings = this.meetingService.queryMeeting(meetingQuery);
+
+        //a full page means there may be more slots after the last one returned
+        String nextCursor = null;
+        if (limit != null && availableMeetings.size() == limit) {
+            nextCursor = encodeCursor(SlotBitmap.toEpochHour(availableMeetings.get(availableMeetings.size() - 1).getCandidateSchedule()));
+        }
+        return buildResponse(mapListEntityDTO(availableMeetings), availableMeetings.isEmpty() ? HttpStatus.NO_CONTENT : HttpStatus.OK, nextCursor);
+    }
+
+    @PostMapping(path = "/query-batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Query Meetings for many Candidates",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful Get, each candidate with the status its own query would answer with"),
+                    @ApiResponse(responseCode = "400",
+                            description = "Bad Request",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = BaseResponse.class))
+                    ),
+                    @ApiResponse(responseCode = "500",
+                            description = "Internal Server Error",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = BaseResponse.class))
+                    ),
+            })
+    public ResponseEntity<BaseResponse<Map<Long, MeetingQueryResultDTO>>> queryBatch(@Valid @RequestBody MeetingBatchQueryDTO meetingBatchQueryDTO) throws ServiceException {
+        MDCLogging.putObjectMDC("queryMeetingBatch{candidateId[%s],interviewerId:[%s]}",
+                listToString(meetingBatchQueryDTO.getCandidateIdList()), listToString(meetingBatchQueryDTO.getInterviewerIdList()));
+        Map<Long, MeetingQueryResult> meetingQueryResultMap = this.meetingService.queryMeetingBatch(meetingBatchQueryDTO.getCandidateIdList(),
+                Optional.ofNullable(meetingBatchQueryDTO.getInterviewerIdList()).orElseGet(ArrayList::new),
+                meetingBatchQueryDTO.getMinInterviewers());
+
+        Map<Long, MeetingQueryResultDTO> responseMap = new LinkedHashMap<>();
+        meetingQueryResultMap.forEach((candidateId, meetingQueryResult) -> responseMap.put(candidateId, mapEntityDTO(meetingQueryResult)));
+        return buildResponse(responseMap, HttpStatus.OK);
     }
 
     @PostMapping(path = "/book/{scheduleId}", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Book a Meeting with Candidate Schedule",
             responses = {
                     @ApiResponse(responseCode = "201", description = "Successful Create"),
+                    @ApiResponse(responseCode = "202", description = "Queued, when async booking is enabled, the result is polled from the Location header"),
                     @ApiResponse(responseCode = "304",
                             description = "Not Modified",
                             content = @Content(
@@ -90,6 +166,12 @@ public class MeetingController {
                                     mediaType = MediaType.APPLICATION_JSON_VALUE,
                                     schema = @Schema(implementation = BaseResponse.class))
                     ),
+                    @ApiResponse(responseCode = "409",
+                            description = "Conflict",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = BaseResponse.class))
+                    ),
                     @ApiResponse(responseCode = "500",
                             description = "Internal Server Error",
                             content = @Content(
@@ -97,14 +179,162 @@ public class MeetingController {
                                     schema = @Schema(implementation = BaseResponse.class))
                     ),
             })
-    public ResponseEntity<BaseResponse<BookingDTO>> book(@Min(value = 1, message = INVALID_SCHEDULE_ID_MESSAGE) @PathVariable(SCHEDULE_ID_PATH_VARIABLE) long scheduleId,
+    public ResponseEntity<? extends BaseResponse<?>> book(@Min(value = 1, message = INVALID_SCHEDULE_ID_MESSAGE) @PathVariable(SCHEDULE_ID_PATH_VARIABLE) long scheduleId,
                                                          @Min(value = 1, message = INVALID_ID_MESSAGE) @RequestParam(CANDIDATE_ID_REQ_PARAM) long candidateId,
-                                                         @NotEmpty @RequestParam(INTERVIEWER_ID_REQ_PARAM) List<Long> interviewerIdList) throws ServiceException {
-        MDCLogging.putObjectMDC("bookMeeting{scheduleId[%s],candidateId[%s],interviewerId:[%s]}", scheduleId, candidateId, listToString(interviewerIdList));
-        Booking booking = this.meetingService.bookMeeting(scheduleId, candidateId, interviewerIdList);
+                                                         @NotEmpty @RequestParam(INTERVIEWER_ID_REQ_PARAM) List<Long> interviewerIdList,
+                                                         @RequestParam(value = HOLD_ID_REQ_PARAM, required = false) String holdId) throws ServiceException {
+        MDCLogging.putObjectMDC("bookMeeting{scheduleId[%s],candidateId[%s],interviewerId:[%s],holdId[%s]}", scheduleId, candidateId, listToString(interviewerIdList), holdId);
+        if (asyncBookingService.isEnabled()) {
+            AsyncBooking asyncBooking = asyncBookingService.submit(BookingRequest
+                    .builder()
+                    .scheduleId(scheduleId)
+                    .candidateId(candidateId)
+                    .interviewerIdList(interviewerIdList)
+                    .holdId(holdId)
+                    .build());
+            AsyncBookingDTO asyncBookingDTO = mapEntityDTO(asyncBooking);
+            return ResponseEntity
+                    .accepted()
+                    .location(URI.create(asyncBookingDTO.getStatusUrl()))
+                    .body(buildResponse(asyncBookingDTO, HttpStatus.ACCEPTED).getBody());
+        }
+        Booking booking = this.meetingService.bookMeeting(scheduleId, candidateId, interviewerIdList, holdId);
         return buildResponse(mapEntityDTO(booking), HttpStatus.CREATED);
     }
 
+    @GetMapping(path = "/book/status/{requestId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get the result of a queued Booking",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful Get, result.status is 202 while still queued"),
+                    @ApiResponse(responseCode = "404",
+                            description = "Not Found",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = BaseResponse.class))
+                    ),
+                    @ApiResponse(responseCode = "500",
+                            description = "Internal Server Error",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = BaseResponse.class))
+                    ),
+            })
+    public ResponseEntity<BaseResponse<AsyncBookingDTO>> bookStatus(@PathVariable(REQUEST_ID_PATH_VARIABLE) String requestId) {
+        MDCLogging.putObjectMDC("bookStatus{requestId[%s]}", requestId);
+        return this.asyncBookingService
+                .findBooking(requestId)
+                .map(asyncBooking -> buildResponse(mapEntityDTO(asyncBooking), HttpStatus.OK))
+                .orElseThrow(() -> new NotFoundException(BOOKING_REQUEST_NOT_FOUND));
+    }
+
+    @PostMapping(path = "/hold/{scheduleId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Hold a Candidate Schedule while the Meeting is confirmed",
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "Successful Create"),
+                    @ApiResponse(responseCode = "304",
+                            description = "Not Modified",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = BaseResponse.class))
+                    ),
+                    @ApiResponse(responseCode = "400",
+                            description = "Bad Request",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = BaseResponse.class))
+                    ),
+                    @ApiResponse(responseCode = "404",
+                            description = "Not Found",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = BaseResponse.class))
+                    ),
+                    @ApiResponse(responseCode = "409",
+                            description = "Conflict",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = BaseResponse.class))
+                    ),
+                    @ApiResponse(responseCode = "500",
+                            description = "Internal Server Error",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = BaseResponse.class))
+                    ),
+            })
+    public ResponseEntity<BaseResponse<SlotHoldDTO>> hold(@Min(value = 1, message = INVALID_SCHEDULE_ID_MESSAGE) @PathVariable(SCHEDULE_ID_PATH_VARIABLE) long scheduleId,
+                                                          @Min(value = 1, message = INVALID_ID_MESSAGE) @RequestParam(CANDIDATE_ID_REQ_PARAM) long candidateId,
+                                                          @NotEmpty @RequestParam(INTERVIEWER_ID_REQ_PARAM) List<Long> interviewerIdList) throws ServiceException {
+        MDCLogging.putObjectMDC("holdMeeting{scheduleId[%s],candidateId[%s],interviewerId:[%s]}", scheduleId, candidateId, listToString(interviewerIdList));
+        SlotHold slotHold = this.meetingService.holdMeeting(scheduleId, candidateId, interviewerIdList);
+        return buildResponse(mapEntityDTO(slotHold), HttpStatus.CREATED);
+    }
+
+    @DeleteMapping(path = "/hold/{holdId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Release a held Candidate Schedule",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful Delete"),
+                    @ApiResponse(responseCode = "404",
+                            description = "Not Found",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = BaseResponse.class))
+                    ),
+                    @ApiResponse(responseCode = "500",
+                            description = "Internal Server Error",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = BaseResponse.class))
+                    ),
+            })
+    public ResponseEntity<BaseResponse<SlotHoldDTO>> releaseHold(@PathVariable(HOLD_ID_PATH_VARIABLE) String holdId) throws ServiceException {
+        MDCLogging.putObjectMDC("releaseHold{holdId[%s]}", holdId);
+        return this.meetingService
+                .releaseHold(holdId)
+                .map(slotHold -> buildResponse(mapEntityDTO(slotHold), HttpStatus.OK))
+                .orElseThrow(() -> new NotFoundException(HOLD_NOT_FOUND));
+    }
+
+    @PostMapping(path = "/book-batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Book many Meetings in one transaction",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Processed, each result has its own status"),
+                    @ApiResponse(responseCode = "400",
+                            description = "Bad Request",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = BaseResponse.class))
+                    ),
+                    @ApiResponse(responseCode = "409",
+                            description = "Conflict",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = BaseResponse.class))
+                    ),
+                    @ApiResponse(responseCode = "500",
+                            description = "Internal Server Error",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = BaseResponse.class))
+                    ),
+            })
+    public ResponseEntity<BaseResponse<List<BookingResultDTO>>> bookBatch(@Valid @RequestBody MeetingBatchBookingDTO meetingBatchBookingDTO) throws ServiceException {
+        MDCLogging.putObjectMDC("bookMeetingBatch{size[%s]}", meetingBatchBookingDTO.getBookingList().size());
+        List<BookingRequest> bookingRequestList = meetingBatchBookingDTO
+                .getBookingList()
+                .stream()
+                .map(meetingBookingDTO -> BookingRequest
+                        .builder()
+                        .scheduleId(meetingBookingDTO.getScheduleId())
+                        .candidateId(meetingBookingDTO.getCandidateId())
+                        .interviewerIdList(meetingBookingDTO.getInterviewerIdList())
+                        .holdId(meetingBookingDTO.getHoldId())
+                        .build())
+                .toList();
+        List<BookingResult> bookingResultList = this.meetingService.bookMeetingBatch(bookingRequestList);
+        return buildResponse(bookingResultList.stream().map(this::mapEntityDTO).toList(), HttpStatus.OK);
+    }
+
     @GetMapping(path = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Get Booked Meeting",
             responses = {
@@ -155,6 +385,12 @@ public class MeetingController {
                                     mediaType = MediaType.APPLICATION_JSON_VALUE,
                                     schema = @Schema(implementation = BaseResponse.class))
                     ),
+                    @ApiResponse(responseCode = "409",
+                            description = "Conflict",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = BaseResponse.class))
+                    ),
                     @ApiResponse(responseCode = "500",
                             description = "Internal Server Error",
                             content = @Content(
@@ -171,6 +407,61 @@ public class MeetingController {
         return modelMapper.map(entity, BookingDTO.class);
     }
 
+    BookingResultDTO mapEntityDTO(BookingResult entity) {
+        BookingResultDTO dto = new BookingResultDTO();
+        dto.setScheduleId(entity.getRequest().getScheduleId());
+        dto.setCandidateId(entity.getRequest().getCandidateId());
+        dto.setInterviewerIdList(entity.getRequest().getInterviewerIdList());
+        dto.setMessage(entity.getMessage());
+        switch (entity.getStatus()) {
+            case BOOKED -> {
+                dto.setStatus(HttpStatus.CREATED.value());
+                dto.setBooking(mapEntityDTO(entity.getBooking()));
+            }
+            case NOT_FOUND -> dto.setStatus(HttpStatus.NOT_FOUND.value());
+            case NOT_MODIFIED -> dto.setStatus(HttpStatus.NOT_MODIFIED.value());
+            case INVALID_HOLD -> dto.setStatus(HttpStatus.BAD_REQUEST.value());
+            case HELD, CONFLICT -> dto.setStatus(HttpStatus.CONFLICT.value());
+            case PENDING -> dto.setStatus(HttpStatus.ACCEPTED.value());
+            case FAILED -> dto.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+        }
+        return dto;
+    }
+
+    AsyncBookingDTO mapEntityDTO(AsyncBooking entity) {
+        AsyncBookingDTO dto = new AsyncBookingDTO();
+        dto.setId(entity.getId());
+        dto.setStatusUrl(ServletUriComponentsBuilder
+                .fromCurrentContextPath()
+                .path("/meetings/book/status/{requestId}")
+                .buildAndExpand(entity.getId())
+                .toUriString());
+        dto.setResult(mapEntityDTO(entity.getResult()));
+        return dto;
+    }
+
+    SlotHoldDTO mapEntityDTO(SlotHold entity) {
+        SlotHoldDTO dto = new SlotHoldDTO();
+        dto.setId(entity.getId());
+        dto.setScheduleId(entity.getScheduleId());
+        dto.setCandidateId(entity.getCandidateId());
+        dto.setInterviewerIdList(entity.getInterviewerIdList());
+        dto.setExpiresAt(entity.getExpiresAt());
+        return dto;
+    }
+
+    MeetingQueryResultDTO mapEntityDTO(MeetingQueryResult entity) {
+        MeetingQueryResultDTO dto = new MeetingQueryResultDTO();
+        dto.setMessage(entity.getMessage());
+        dto.setAvailableMeetingList(mapListEntityDTO(entity.getAvailableMeetingList()));
+        if (!entity.isFound()) {
+            dto.setStatus(HttpStatus.NOT_FOUND.value());
+        } else {
+            dto.setStatus(entity.getAvailableMeetingList().isEmpty() ? HttpStatus.NO_CONTENT.value() : HttpStatus.OK.value());
+        }
+        return dto;
+    }
+
     List<AvailableMeetingDTO> mapListEntityDTO(List<AvailableMeeting> entityList) {
         return modelMapper.map(entityList, new TypeToken<List<AvailableMeetingDTO>>() {
         }.getType());
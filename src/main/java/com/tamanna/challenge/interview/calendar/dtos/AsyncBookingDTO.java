@@ -0,0 +1,14 @@
+package com.tamanna.challenge.interview.calendar.dtos;
+
+import lombok.Data;
+
+/**
+ * @author tlferreira
+ */
+@Data
+public class AsyncBookingDTO {
+    private String id;
+    //polled until result.status is no longer 202
+    private String statusUrl;
+    private BookingResultDTO result;
+}
@@ -14,4 +14,7 @@ public class BaseResponse <T> {
     private String message;
     @JsonInclude(JsonInclude.Include.NON_NULL)
     private T response;
+    //opaque, only present when there may be more results
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
 }
@@ -0,0 +1,19 @@
+package com.tamanna.challenge.interview.calendar.dtos;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * @author tlferreira
+ */
+@Data
+public class BookingEventDTO {
+    private long bookingId;
+    private long scheduleId;
+    private long candidateId;
+    private List<Long> interviewerIdList;
+    private LocalDate day;
+    private int hour;
+}
@@ -0,0 +1,22 @@
+package com.tamanna.challenge.interview.calendar.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * @author tlferreira
+ */
+@Data
+public class BookingResultDTO {
+    private long scheduleId;
+    private long candidateId;
+    private List<Long> interviewerIdList;
+    //same status the single booking endpoint would answer with
+    private int status;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String message;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private BookingDTO booking;
+}
@@ -0,0 +1,19 @@
+package com.tamanna.challenge.interview.calendar.dtos;
+
+import lombok.Data;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * @author tlferreira
+ */
+@Data
+public class MeetingBatchBookingDTO {
+    //booked in one transaction, so the size is capped
+    @NotEmpty(message = "bookingList must not be empty")
+    @Size(max = 1000, message = "bookingList must not have more than 1000 bookings")
+    private List<@Valid MeetingBookingDTO> bookingList;
+}
@@ -0,0 +1,20 @@
+package com.tamanna.challenge.interview.calendar.dtos;
+
+import lombok.Data;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author tlferreira
+ */
+@Data
+public class MeetingBatchQueryDTO {
+    @NotEmpty(message = "candidateIdList must not be empty")
+    private List<Long> candidateIdList;
+    private List<Long> interviewerIdList = new ArrayList<>();
+    @Min(value = 1, message = "Invalid minInterviewers, must be greater than 0")
+    private int minInterviewers = 1;
+}
@@ -0,0 +1,21 @@
+package com.tamanna.challenge.interview.calendar.dtos;
+
+import lombok.Data;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import java.util.List;
+
+/**
+ * @author tlferreira
+ */
+@Data
+public class MeetingBookingDTO {
+    @Min(value = 1, message = "Invalid scheduleId")
+    private long scheduleId;
+    @Min(value = 1, message = "Invalid Id")
+    private long candidateId;
+    @NotEmpty(message = "interviewerIdList must not be empty")
+    private List<Long> interviewerIdList;
+    private String holdId;
+}
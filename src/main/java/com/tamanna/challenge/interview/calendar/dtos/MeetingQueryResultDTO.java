@@ -0,0 +1,18 @@
+package com.tamanna.challenge.interview.calendar.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * @author tlferreira
+ */
+@Data
+public class MeetingQueryResultDTO {
+    //same status the single query endpoint would answer with
+    private int status;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String message;
+    private List<AvailableMeetingDTO> availableMeetingList;
+}
@@ -0,0 +1,22 @@
+package com.tamanna.challenge.interview.calendar.dtos;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.tamanna.challenge.interview.calendar.entities.enums.OutboxEventType;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * @author tlferreira
+ */
+@Data
+public class OutboxEventDTO {
+    //increasing, consumers can use it to drop events they have already seen
+    private long id;
+    private OutboxEventType eventType;
+    private long aggregateId;
+    private LocalDateTime creationDate;
+    //BookingEventDTO or ScheduleEventDTO, already serialized
+    @JsonRawValue
+    private String payload;
+}
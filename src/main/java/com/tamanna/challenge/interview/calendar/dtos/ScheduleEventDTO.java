@@ -0,0 +1,16 @@
+package com.tamanna.challenge.interview.calendar.dtos;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * @author tlferreira
+ */
+@Data
+public class ScheduleEventDTO {
+    private long scheduleId;
+    private long personId;
+    private LocalDate day;
+    private int hour;
+}
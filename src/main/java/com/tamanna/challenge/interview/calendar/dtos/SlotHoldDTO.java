@@ -0,0 +1,18 @@
+package com.tamanna.challenge.interview.calendar.dtos;
+
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * @author tlferreira
+ */
+@Data
+public class SlotHoldDTO {
+    private String id;
+    private long scheduleId;
+    private long candidateId;
+    private List<Long> interviewerIdList;
+    private Instant expiresAt;
+}
@@ -0,0 +1,34 @@
+package com.tamanna.challenge.interview.calendar.entities;
+
+import com.tamanna.challenge.interview.calendar.entities.enums.BookingStatus;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * @author tlferreira
+ */
+//a queued single booking, the result is set once by the partition writer
+@Getter
+public class AsyncBooking {
+    private final String id;
+    private final BookingRequest request;
+    private volatile BookingResult result;
+    private volatile Instant completedAt;
+
+    public AsyncBooking(String id, BookingRequest request) {
+        this.id = id;
+        this.request = request;
+        this.result = BookingResult.failed(request, BookingStatus.PENDING, null);
+    }
+
+    //the result is published before completedAt, so a poll that sees it done also sees the result
+    public void complete(BookingResult result) {
+        this.result = result;
+        this.completedAt = Instant.now();
+    }
+
+    public boolean isDone() {
+        return completedAt != null;
+    }
+}
@@ -0,0 +1,23 @@
+package com.tamanna.challenge.interview.calendar.entities;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author tlferreira
+ */
+@Getter
+@Builder
+@ToString
+public class BookingRequest {
+    private long scheduleId;
+    private long candidateId;
+    @Builder.Default
+    private List<Long> interviewerIdList = new ArrayList<>();
+    //optional, the hold converted by this booking
+    private String holdId;
+}
@@ -0,0 +1,29 @@
+package com.tamanna.challenge.interview.calendar.entities;
+
+import com.tamanna.challenge.interview.calendar.entities.enums.BookingStatus;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Booking;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * @author tlferreira
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class BookingResult {
+    private BookingRequest request;
+    private BookingStatus status;
+    private String message;
+    //only present when booked
+    private Booking booking;
+
+    public static BookingResult booked(BookingRequest request, Booking booking) {
+        return new BookingResult(request, BookingStatus.BOOKED, null, booking);
+    }
+
+    public static BookingResult failed(BookingRequest request, BookingStatus status, String message) {
+        return new BookingResult(request, status, message, null);
+    }
+}
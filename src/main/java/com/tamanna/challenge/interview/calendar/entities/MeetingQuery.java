@@ -0,0 +1,32 @@
+package com.tamanna.challenge.interview.calendar.entities;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author tlferreira
+ */
+@Getter
+@Builder
+@ToString
+public class MeetingQuery {
+    private long candidateId;
+    @Builder.Default
+    private List<Long> interviewerIdList = new ArrayList<>();
+    //inclusive
+    private LocalDateTime from;
+    //exclusive
+    private LocalDateTime to;
+    //epoch-hour of the last slot already returned to the client
+    private Long afterSlot;
+    @Builder.Default
+    private int limit = Integer.MAX_VALUE;
+    //slots with fewer free interviewers are not returned
+    @Builder.Default
+    private int minInterviewers = 1;
+}
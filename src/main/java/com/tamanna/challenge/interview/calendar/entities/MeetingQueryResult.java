@@ -0,0 +1,32 @@
+package com.tamanna.challenge.interview.calendar.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author tlferreira
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class MeetingQueryResult {
+    private List<AvailableMeeting> availableMeetingList;
+    //only present when the candidate could not be queried
+    private String message;
+
+    public static MeetingQueryResult found(List<AvailableMeeting> availableMeetingList) {
+        return new MeetingQueryResult(availableMeetingList, null);
+    }
+
+    public static MeetingQueryResult notFound(String message) {
+        return new MeetingQueryResult(new ArrayList<>(), message);
+    }
+
+    public boolean isFound() {
+        return message == null;
+    }
+}
@@ -0,0 +1,101 @@
+package com.tamanna.challenge.interview.calendar.entities;
+
+import com.tamanna.challenge.interview.calendar.entities.jpa.AbstractPerson;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Schedule;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * @author tlferreira
+ */
+//immutable snapshot of a person's free slots, changes produce a new instance with a higher version
+@Getter
+@ToString(onlyExplicitlyIncluded = true)
+public class PersonAvailability<T extends AbstractPerson> {
+    @ToString.Include
+    private final T person;
+    @ToString.Include
+    private final long version;
+    private final SlotBitmap freeSlots;
+    //epoch-hour -> detached copy of the free schedule
+    private final NavigableMap<Long, Schedule> freeScheduleBySlot;
+
+    private PersonAvailability(T person, long version, NavigableMap<Long, Schedule> freeScheduleBySlot) {
+        this.person = person;
+        this.version = version;
+        this.freeScheduleBySlot = Collections.unmodifiableNavigableMap(freeScheduleBySlot);
+        this.freeSlots = SlotBitmap.of(freeScheduleBySlot.values());
+    }
+
+    //only keeps free schedules starting after afterSlot
+    public static <T extends AbstractPerson> PersonAvailability<T> of(T person, long version, long afterSlot) {
+        return of(person, version, afterSlot, person.getScheduleList());
+    }
+
+    //same as above, but with schedules loaded apart from the person entity
+    public static <T extends AbstractPerson> PersonAvailability<T> of(T person, long version, long afterSlot, List<Schedule> scheduleList) {
+        NavigableMap<Long, Schedule> freeScheduleBySlot = new TreeMap<>();
+        Optional
+                .ofNullable(scheduleList)
+                .orElseGet(List::of)
+                .stream()
+                .filter(schedule -> schedule.getOwnedBooking() == null && schedule.getParentBooking() == null)
+                .filter(schedule -> SlotBitmap.toEpochHour(schedule) > afterSlot)
+                .forEach(schedule -> freeScheduleBySlot.put(SlotBitmap.toEpochHour(schedule), snapshot(schedule)));
+        return new PersonAvailability<>(person, version, freeScheduleBySlot);
+    }
+
+    public PersonAvailability<T> withFreeSchedule(Schedule schedule, long version) {
+        NavigableMap<Long, Schedule> updated = new TreeMap<>(freeScheduleBySlot);
+        updated.put(SlotBitmap.toEpochHour(schedule), snapshot(schedule));
+        return new PersonAvailability<>(person, version, updated);
+    }
+
+    public PersonAvailability<T> withoutFreeSchedule(Schedule schedule, long version) {
+        NavigableMap<Long, Schedule> updated = new TreeMap<>(freeScheduleBySlot);
+        updated.remove(SlotBitmap.toEpochHour(schedule));
+        return new PersonAvailability<>(person, version, updated);
+    }
+
+    public PersonAvailability<T> withPerson(T person, long version) {
+        return new PersonAvailability<>(person, version, new TreeMap<>(freeScheduleBySlot));
+    }
+
+    public Optional<Schedule> getFreeSchedule(long epochHour) {
+        return Optional.ofNullable(freeScheduleBySlot.get(epochHour));
+    }
+
+    //sorted by slot
+    public List<Schedule> getFreeScheduleList() {
+        return new ArrayList<>(freeScheduleBySlot.values());
+    }
+
+    //sorted by slot, both bounds exclusive
+    public List<Schedule> getFreeScheduleList(long afterSlot, long beforeSlot) {
+        if (afterSlot >= beforeSlot) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(freeScheduleBySlot.subMap(afterSlot, false, beforeSlot, false).values());
+    }
+
+    public boolean hasFreeScheduleAfter(long epochHour) {
+        return freeScheduleBySlot.higherKey(epochHour) != null;
+    }
+
+    public boolean isEmpty() {
+        return freeScheduleBySlot.isEmpty();
+    }
+
+    //the cache must not share instances with a persistence context, they would change before commit
+    private static Schedule snapshot(Schedule schedule) {
+        return new Schedule(schedule.getId(), schedule.getDay(), schedule.getHour(), schedule.getCreationDate(),
+                schedule.getUpdateDate(), schedule.getVersion(), schedule.getPerson(), null, null);
+    }
+}
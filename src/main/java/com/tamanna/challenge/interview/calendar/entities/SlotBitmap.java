@@ -0,0 +1,177 @@
+package com.tamanna.challenge.interview.calendar.entities;
+
+import com.tamanna.challenge.interview.calendar.entities.jpa.Schedule;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * @author tlferreira
+ */
+//one bit per epoch-hour, words only cover the range between the first and last slot
+public class SlotBitmap {
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+    private static final int HOURS_PER_DAY = 24;
+
+    private long firstWord;
+    private long[] words;
+
+    public SlotBitmap() {
+        this(0, new long[0]);
+    }
+
+    private SlotBitmap(long firstWord, long[] words) {
+        this.firstWord = firstWord;
+        this.words = words;
+    }
+
+    public static long toEpochHour(LocalDate day, int hour) {
+        return day.toEpochDay() * HOURS_PER_DAY + hour;
+    }
+
+    public static long toEpochHour(Schedule schedule) {
+        return toEpochHour(schedule.getDay(), schedule.getHour());
+    }
+
+    //first epoch-hour whose slot starts at or after dateTime
+    public static long ceilEpochHour(LocalDateTime dateTime) {
+        long epochHour = toEpochHour(dateTime.toLocalDate(), dateTime.getHour());
+        return dateTime.equals(dateTime.truncatedTo(ChronoUnit.HOURS)) ? epochHour : epochHour + 1;
+    }
+
+    public static LocalDateTime toDateTime(long epochHour) {
+        return LocalDate.ofEpochDay(Math.floorDiv(epochHour, HOURS_PER_DAY)).atTime((int) Math.floorMod(epochHour, HOURS_PER_DAY), 0);
+    }
+
+    public static SlotBitmap of(Collection<Schedule> scheduleList) {
+        SlotBitmap bitmap = new SlotBitmap();
+        if (scheduleList != null) {
+            scheduleList.forEach(schedule -> bitmap.set(toEpochHour(schedule)));
+        }
+        return bitmap;
+    }
+
+    //slots set in at least minCount of the bitmaps, counted bit by bit over the common word range
+    public static SlotBitmap atLeast(List<SlotBitmap> bitmapList, int minCount) {
+        long start = Long.MAX_VALUE;
+        long end = Long.MIN_VALUE;
+        for (SlotBitmap bitmap : bitmapList) {
+            if (bitmap.words.length > 0) {
+                start = Math.min(start, bitmap.firstWord);
+                end = Math.max(end, bitmap.firstWord + bitmap.words.length);
+            }
+        }
+        if (bitmapList.size() < minCount || start >= end) {
+            return new SlotBitmap();
+        }
+
+        int[] counts = new int[(int) (end - start) << ADDRESS_BITS_PER_WORD];
+        for (SlotBitmap bitmap : bitmapList) {
+            for (int i = 0; i < bitmap.words.length; i++) {
+                long word = bitmap.words[i];
+                int offset = (int) (bitmap.firstWord + i - start) << ADDRESS_BITS_PER_WORD;
+                while (word != 0) {
+                    counts[offset + Long.numberOfTrailingZeros(word)]++;
+                    word &= word - 1;
+                }
+            }
+        }
+
+        long[] result = new long[(int) (end - start)];
+        for (int bit = 0; bit < counts.length; bit++) {
+            if (counts[bit] >= minCount) {
+                result[bit >> ADDRESS_BITS_PER_WORD] |= 1L << bit;
+            }
+        }
+        return new SlotBitmap(start, result);
+    }
+
+    public void set(long epochHour) {
+        long wordIndex = wordIndex(epochHour);
+        ensureCapacity(wordIndex);
+        words[(int) (wordIndex - firstWord)] |= bitMask(epochHour);
+    }
+
+    public void clear(long epochHour) {
+        long wordIndex = wordIndex(epochHour);
+        if (containsWord(wordIndex)) {
+            words[(int) (wordIndex - firstWord)] &= ~bitMask(epochHour);
+        }
+    }
+
+    public boolean get(long epochHour) {
+        long wordIndex = wordIndex(epochHour);
+        return containsWord(wordIndex) && (words[(int) (wordIndex - firstWord)] & bitMask(epochHour)) != 0;
+    }
+
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public SlotBitmap and(SlotBitmap other) {
+        long start = Math.max(this.firstWord, other.firstWord);
+        long end = Math.min(this.firstWord + this.words.length, other.firstWord + other.words.length);
+        if (start >= end) {
+            return new SlotBitmap();
+        }
+
+        long[] result = new long[(int) (end - start)];
+        for (long wordIndex = start; wordIndex < end; wordIndex++) {
+            result[(int) (wordIndex - start)] = this.words[(int) (wordIndex - this.firstWord)]
+                    & other.words[(int) (wordIndex - other.firstWord)];
+        }
+        return new SlotBitmap(start, result);
+    }
+
+    public void forEach(LongConsumer consumer) {
+        for (int i = 0; i < words.length; i++) {
+            long word = words[i];
+            while (word != 0) {
+                int bit = Long.numberOfTrailingZeros(word);
+                consumer.accept(((firstWord + i) << ADDRESS_BITS_PER_WORD) + bit);
+                word &= word - 1;
+            }
+        }
+    }
+
+    public SlotBitmap copy() {
+        return new SlotBitmap(firstWord, Arrays.copyOf(words, words.length));
+    }
+
+    private boolean containsWord(long wordIndex) {
+        return wordIndex >= firstWord && wordIndex < firstWord + words.length;
+    }
+
+    private void ensureCapacity(long wordIndex) {
+        if (words.length == 0) {
+            firstWord = wordIndex;
+            words = new long[1];
+        } else if (wordIndex < firstWord) {
+            long[] grown = new long[(int) (firstWord + words.length - wordIndex)];
+            System.arraycopy(words, 0, grown, (int) (firstWord - wordIndex), words.length);
+            firstWord = wordIndex;
+            words = grown;
+        } else if (wordIndex >= firstWord + words.length) {
+            int length = (int) Math.max(wordIndex - firstWord + 1, words.length * 2L);
+            words = Arrays.copyOf(words, length);
+        }
+    }
+
+    private static long wordIndex(long epochHour) {
+        return epochHour >> ADDRESS_BITS_PER_WORD;
+    }
+
+    private static long bitMask(long epochHour) {
+        return 1L << (epochHour & ((1 << ADDRESS_BITS_PER_WORD) - 1));
+    }
+}
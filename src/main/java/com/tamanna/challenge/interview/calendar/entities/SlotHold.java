@@ -0,0 +1,49 @@
+package com.tamanna.challenge.interview.calendar.entities;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author tlferreira
+ */
+//a candidate schedule and the interviewers at the same slot, kept out of other queries and bookings until it expires
+@Getter
+@Builder
+@ToString
+public class SlotHold implements Delayed {
+    private String id;
+    private long scheduleId;
+    private long candidateId;
+    @Builder.Default
+    private List<Long> interviewerIdList = new ArrayList<>();
+    private long epochHour;
+    private Instant expiresAt;
+
+    public boolean isExpired() {
+        return !Instant.now().isBefore(expiresAt);
+    }
+
+    public List<Long> getPersonIdList() {
+        List<Long> personIdList = new ArrayList<>(interviewerIdList);
+        personIdList.add(candidateId);
+        return personIdList;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(Duration.between(Instant.now(), expiresAt));
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+        return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+    }
+}
@@ -0,0 +1,17 @@
+package com.tamanna.challenge.interview.calendar.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * @author tlferreira
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class SlotMatch {
+    private long candidateScheduleId;
+    private long interviewerId;
+    private long interviewerScheduleId;
+}
@@ -0,0 +1,22 @@
+package com.tamanna.challenge.interview.calendar.entities.enums;
+
+/**
+ * @author tlferreira
+ */
+public enum BookingStatus {
+    BOOKED,
+    //candidate schedule missing, already booked or in the past
+    NOT_FOUND,
+    //not all interviewers free at the candidate slot
+    NOT_MODIFIED,
+    //slot held by someone else
+    HELD,
+    //the hold given is expired or was taken for another schedule, candidate or slot
+    INVALID_HOLD,
+    //queued, not processed yet
+    PENDING,
+    //kept conflicting with other writes
+    CONFLICT,
+    //the batch it was processed in failed
+    FAILED
+}
@@ -0,0 +1,12 @@
+package com.tamanna.challenge.interview.calendar.entities.enums;
+
+/**
+ * @author tlferreira
+ */
+public enum OutboxEventType {
+    MEETING_BOOKED,
+    MEETING_CANCELLED,
+    SCHEDULE_ADDED,
+    SCHEDULE_UPDATED,
+    SCHEDULE_DELETED
+}
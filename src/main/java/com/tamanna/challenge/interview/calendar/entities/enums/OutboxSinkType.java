@@ -0,0 +1,9 @@
+package com.tamanna.challenge.interview.calendar.entities.enums;
+
+/**
+ * @author tlferreira
+ */
+public enum OutboxSinkType {
+    MEMORY,
+    FILE
+}
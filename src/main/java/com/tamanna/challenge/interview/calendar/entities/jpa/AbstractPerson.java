@@ -24,7 +24,9 @@ import java.util.List;
         discriminatorType = DiscriminatorType.STRING)
 public abstract class AbstractPerson {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    //pooled ids keep inserts batched, IDENTITY disables JDBC batching
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "person_seq")
+    @SequenceGenerator(name = "person_seq", sequenceName = "person_seq", allocationSize = 50)
     private long id;
 
     private String firstName;
@@ -20,7 +20,8 @@ import java.util.List;
 @Table(name = "booking")
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_seq")
+    @SequenceGenerator(name = "booking_seq", sequenceName = "booking_seq", allocationSize = 50)
     private long id;
 
     @CreationTimestamp
@@ -31,10 +32,14 @@ public class Booking {
     @Column(name = "update_date")
     private LocalDateTime updateDate;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     @OneToMany(mappedBy = "parentBooking")
     private List<Schedule> childrenScheduleList;
 
-    @OneToOne(optional = false)
+    @OneToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn
     private Schedule ownerSchedule;
 }
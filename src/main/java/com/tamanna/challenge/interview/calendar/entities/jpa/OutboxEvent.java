@@ -0,0 +1,42 @@
+package com.tamanna.challenge.interview.calendar.entities.jpa;
+
+import com.tamanna.challenge.interview.calendar.entities.enums.OutboxEventType;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * @author tlferreira
+ */
+//written in the same transaction as the change it describes, deleted once the dispatcher hands it to the sink
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Entity
+@Table(name = "outbox_event")
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 50)
+    private long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private OutboxEventType eventType;
+
+    //booking id for meeting events, schedule id for schedule events
+    @Column(name = "aggregate_id", nullable = false)
+    private long aggregateId;
+
+    @Lob
+    @Column(name = "payload", nullable = false)
+    private String payload;
+
+    @CreationTimestamp
+    @Column(name = "creation_date")
+    private LocalDateTime creationDate;
+}
@@ -17,12 +17,14 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @ToString
 @Entity
+//indexes are created by the migrations in db/migration
 @Table(name = "schedule", uniqueConstraints = {
         @UniqueConstraint(columnNames = {"person_id", "schedule_day", "schedule_hour"})
 })
 public class Schedule {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "schedule_seq")
+    @SequenceGenerator(name = "schedule_seq", sequenceName = "schedule_seq", allocationSize = 50)
     private long id;
 
     @Column(name = "schedule_day", nullable = false)
@@ -39,14 +41,23 @@ public class Schedule {
     @Column(name = "update_date")
     private LocalDateTime updateDate;
 
-    @ManyToOne
+    //checked on every update, concurrent bookings of the same slot fail at commit
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    //links are loaded by the queries that need them, see the fetch joins in the repositories
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn
+    @ToString.Exclude
     private AbstractPerson person;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
     private Booking ownedBooking;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn
+    @ToString.Exclude
     private Booking parentBooking;
 }
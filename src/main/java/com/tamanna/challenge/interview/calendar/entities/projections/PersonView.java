@@ -0,0 +1,17 @@
+package com.tamanna.challenge.interview.calendar.entities.projections;
+
+/**
+ * @author tlferreira
+ */
+//read-only person columns for the list endpoints, selected as a tuple so no entity is managed
+public interface PersonView {
+    long getId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getEmail();
+
+    String getPhoneNumber();
+}
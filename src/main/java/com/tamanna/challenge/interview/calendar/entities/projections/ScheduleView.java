@@ -0,0 +1,17 @@
+package com.tamanna.challenge.interview.calendar.entities.projections;
+
+import java.time.LocalDate;
+
+/**
+ * @author tlferreira
+ */
+//read-only schedule columns for the list endpoints, booked is computed by the query
+public interface ScheduleView {
+    long getId();
+
+    LocalDate getDay();
+
+    int getHour();
+
+    boolean isBooked();
+}
@@ -0,0 +1,21 @@
+package com.tamanna.challenge.interview.calendar.exceptions;
+
+/**
+ * @author tlferreira
+ */
+public class ConflictException extends RuntimeException {
+    public ConflictException() {
+    }
+
+    public ConflictException(String message) {
+        super(message);
+    }
+
+    public ConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public ConflictException(Throwable cause) {
+        super(cause);
+    }
+}
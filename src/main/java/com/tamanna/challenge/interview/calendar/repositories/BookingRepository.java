@@ -3,8 +3,11 @@ package com.tamanna.challenge.interview.calendar.repositories;
 
 import com.tamanna.challenge.interview.calendar.entities.jpa.Booking;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 /**
  * @author tlferreira
@@ -12,7 +15,31 @@ import java.util.List;
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-    List<Booking> findByOwnerSchedulePersonId(long personId);
+    //bookings with their schedules and people in one statement
+    @Query("SELECT DISTINCT b FROM Booking b " +
+            "JOIN FETCH b.ownerSchedule o JOIN FETCH o.person " +
+            "LEFT JOIN FETCH b.childrenScheduleList c LEFT JOIN FETCH c.person " +
+            "WHERE b.id IN :ids")
+    List<Booking> findAllWithSchedulesByIdIn(Collection<Long> ids);
 
-    List<Booking> findByChildrenScheduleListPersonId(long personId);
+    @Query("SELECT DISTINCT b FROM Booking b " +
+            "JOIN FETCH b.ownerSchedule o JOIN FETCH o.person " +
+            "LEFT JOIN FETCH b.childrenScheduleList c LEFT JOIN FETCH c.person " +
+            "WHERE o.person.id = :candidateId")
+    List<Booking> findAllWithSchedulesByCandidateId(long candidateId);
+
+    //filtered through a subquery, so every interviewer of the booking is fetched and not only the requested one
+    @Query("SELECT DISTINCT b FROM Booking b " +
+            "JOIN FETCH b.ownerSchedule o JOIN FETCH o.person " +
+            "LEFT JOIN FETCH b.childrenScheduleList c LEFT JOIN FETCH c.person " +
+            "WHERE b.id IN (SELECT i.parentBooking.id FROM Schedule i WHERE i.person.id = :interviewerId)")
+    List<Booking> findAllWithSchedulesByInterviewerId(long interviewerId);
+
+    @Query("SELECT b.id FROM Booking b WHERE b.id IN :ids")
+    List<Long> findIdsByIdIn(Collection<Long> ids);
+
+    //schedule links must be cleared first
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Booking b WHERE b.id IN :ids")
+    int deleteByIdIn(Collection<Long> ids);
 }
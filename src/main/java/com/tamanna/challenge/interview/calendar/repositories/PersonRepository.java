@@ -2,8 +2,12 @@ package com.tamanna.challenge.interview.calendar.repositories;
 
 
 import com.tamanna.challenge.interview.calendar.entities.jpa.AbstractPerson;
+import com.tamanna.challenge.interview.calendar.entities.projections.PersonView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -13,4 +17,12 @@ public interface PersonRepository<T extends AbstractPerson> extends JpaRepositor
     Optional<T> findByEmail(String email);
 
     Optional<T> findByPhoneNumber(String phoneNumber);
+
+    //closed projections select only their columns, a list result also skips the count query of a page
+    List<PersonView> findAllProjectedBy();
+
+    List<PersonView> findAllProjectedBy(Pageable pageable);
+
+    //seeks past the last id returned, a slice reads one extra row to know if there is more instead of counting
+    Slice<PersonView> findProjectedByIdGreaterThanOrderByIdAsc(long id, Pageable pageable);
 }
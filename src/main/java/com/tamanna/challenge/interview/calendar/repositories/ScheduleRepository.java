@@ -1,12 +1,19 @@
 package com.tamanna.challenge.interview.calendar.repositories;
 
 
+import com.tamanna.challenge.interview.calendar.entities.SlotMatch;
 import com.tamanna.challenge.interview.calendar.entities.jpa.Schedule;
+import com.tamanna.challenge.interview.calendar.entities.projections.ScheduleView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 /**
  * @author tlferreira
@@ -17,6 +24,127 @@ public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
     @Query("SELECT s FROM Schedule s WHERE s.person.id = :personId AND s.day = :day and s.hour = :hour")
     Optional<Schedule> findByPersonIdAndDayAndHour(long personId, LocalDate day, int hour);
 
-    @Query("SELECT s FROM Schedule s WHERE s.id = :id AND s.person.id = :personId AND s.person.class = :personType")
+    //one unique index lookup per person
+    @Query("SELECT s FROM Schedule s JOIN FETCH s.person p WHERE p.id IN :personIds AND p.class = :personType AND s.day = :day and s.hour = :hour")
+    List<Schedule> findByPersonIdInAndPersonTypeAndDayAndHour(Collection<Long> personIds, String personType, LocalDate day, int hour);
+
+    //list endpoint rows, booked is worked out here instead of loading the booking links
+    @Query("SELECT s.id AS id, s.day AS day, s.hour AS hour, " +
+            "CASE WHEN COALESCE(s.ownedBooking.id, s.parentBooking.id) IS NULL THEN false ELSE true END AS booked " +
+            "FROM Schedule s WHERE s.person.id = :personId AND s.person.class = :personType ORDER BY s.day, s.hour, s.id")
+    List<ScheduleView> findViewsByPersonIdAndPersonType(long personId, String personType);
+
+    @Query("SELECT s.id AS id, s.day AS day, s.hour AS hour, " +
+            "CASE WHEN COALESCE(s.ownedBooking.id, s.parentBooking.id) IS NULL THEN false ELSE true END AS booked " +
+            "FROM Schedule s WHERE s.person.id = :personId AND s.person.class = :personType ORDER BY s.day, s.hour, s.id")
+    Slice<ScheduleView> findViewsByPersonIdAndPersonType(long personId, String personType, Pageable pageable);
+
+    //seeks past the last slot returned, (person, day, hour) is unique so the slot alone marks the position
+    @Query("SELECT s.id AS id, s.day AS day, s.hour AS hour, " +
+            "CASE WHEN COALESCE(s.ownedBooking.id, s.parentBooking.id) IS NULL THEN false ELSE true END AS booked " +
+            "FROM Schedule s WHERE s.person.id = :personId AND s.person.class = :personType " +
+            "AND s.day >= :afterDay AND (s.day > :afterDay OR s.hour > :afterHour) " +
+            "ORDER BY s.day, s.hour, s.id")
+    Slice<ScheduleView> findViewsByPersonIdAndPersonTypeAfter(long personId, String personType, LocalDate afterDay, int afterHour, Pageable pageable);
+
+    @Query("SELECT s FROM Schedule s JOIN FETCH s.person p WHERE s.id = :id AND p.id = :personId AND p.class = :personType")
     Optional<Schedule> findByIdAndPersonIdAndPersonType(long id, long personId, String personType);
+
+    //free rows come with their person, so grouping and caching them issues no further statements
+    //free is checked as one expression, H2 takes IS NULL on an indexed link as selective and would read most rows through the booking index
+    @Query("SELECT s FROM Schedule s JOIN FETCH s.person p WHERE p.id IN :personIds " +
+            "AND s.day BETWEEN :fromDay AND :toDay " +
+            "AND COALESCE(s.ownedBooking.id, s.parentBooking.id) IS NULL " +
+            "ORDER BY s.day, s.hour")
+    List<Schedule> findFreeByPersonIdInAndDayBetween(Collection<Long> personIds, LocalDate fromDay, LocalDate toDay);
+
+    @Query("SELECT s FROM Schedule s JOIN FETCH s.person p WHERE s.id IN :ids AND p.class = :personType " +
+            "AND COALESCE(s.ownedBooking.id, s.parentBooking.id) IS NULL")
+    List<Schedule> findFreeByIdInAndPersonType(Collection<Long> ids, String personType);
+
+    @Query("SELECT s FROM Schedule s JOIN FETCH s.person p WHERE p.id IN :personIds AND p.class = :personType " +
+            "AND s.day BETWEEN :fromDay AND :toDay " +
+            "AND COALESCE(s.ownedBooking.id, s.parentBooking.id) IS NULL " +
+            "ORDER BY s.day, s.hour")
+    List<Schedule> findFreeByPersonIdInAndPersonTypeAndDayBetween(Collection<Long> personIds, String personType, LocalDate fromDay, LocalDate toDay);
+
+    @Query("SELECT s FROM Schedule s JOIN FETCH s.person p WHERE p.class = :personType " +
+            "AND s.day BETWEEN :fromDay AND :toDay " +
+            "AND COALESCE(s.ownedBooking.id, s.parentBooking.id) IS NULL " +
+            "ORDER BY s.day, s.hour")
+    List<Schedule> findFreeByPersonTypeAndDayBetween(String personType, LocalDate fromDay, LocalDate toDay);
+
+    //only read when a database match came back empty, to tell which side had nothing free
+    @Query("SELECT CASE WHEN COUNT(s) > 0 THEN true ELSE false END FROM Schedule s WHERE s.person.id IN :personIds " +
+            "AND s.day >= :afterDay AND (s.day > :afterDay OR s.hour > :afterHour) " +
+            "AND COALESCE(s.ownedBooking.id, s.parentBooking.id) IS NULL")
+    boolean existsFreeByPersonIdInAfter(Collection<Long> personIds, LocalDate afterDay, int afterHour);
+
+    @Query("SELECT s FROM Schedule s JOIN FETCH s.person WHERE s.id IN :ids")
+    List<Schedule> findWithPersonByIdIn(Collection<Long> ids);
+
+    //bookings the person takes part in as an interviewer, slots are inclusive at the start and exclusive at the end
+    @Query("SELECT DISTINCT s.parentBooking.id FROM Schedule s WHERE s.person.id = :personId AND s.parentBooking IS NOT NULL " +
+            "AND s.day BETWEEN :fromDay AND :toDay " +
+            "AND (s.day > :fromDay OR (s.day = :fromDay AND s.hour >= :fromHour)) " +
+            "AND (s.day < :toDay OR (s.day = :toDay AND s.hour < :toHour))")
+    List<Long> findParentBookingIdsByPersonIdAndSlotBetween(long personId, LocalDate fromDay, int fromHour, LocalDate toDay, int toHour);
+
+    //owner links of every booking in one statement, the version is bumped so concurrent bookings of the same rows conflict
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Schedule s SET s.ownedBooking = NULL, s.version = s.version + 1, s.updateDate = CURRENT_TIMESTAMP " +
+            "WHERE s.ownedBooking.id IN :bookingIds")
+    int clearOwnedBookings(Collection<Long> bookingIds);
+
+    //children links, apart from the owner ones so each predicate is served by its own index
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Schedule s SET s.parentBooking = NULL, s.version = s.version + 1, s.updateDate = CURRENT_TIMESTAMP " +
+            "WHERE s.parentBooking.id IN :bookingIds")
+    int clearParentBookings(Collection<Long> bookingIds);
+
+    //rows are read a page at a time until enough meetings are built, (slot, interviewer) is unique so the order is total
+    @Query("SELECT new com.tamanna.challenge.interview.calendar.entities.SlotMatch(c.id, i.person.id, i.id) " +
+            "FROM Schedule c, Schedule i " +
+            "WHERE c.person.id = :candidateId AND i.person.class = :interviewerType " +
+            "AND i.day = c.day AND i.hour = c.hour " +
+            "AND COALESCE(c.ownedBooking.id, c.parentBooking.id) IS NULL " +
+            "AND COALESCE(i.ownedBooking.id, i.parentBooking.id) IS NULL " +
+            "AND c.day BETWEEN :afterDay AND :beforeDay " +
+            "AND (c.day > :afterDay OR (c.day = :afterDay AND c.hour > :afterHour)) " +
+            "AND (c.day < :beforeDay OR (c.day = :beforeDay AND c.hour < :beforeHour)) " +
+            "ORDER BY c.day, c.hour, i.person.id")
+    Slice<SlotMatch> findFreeSlotMatches(long candidateId, String interviewerType, LocalDate afterDay, int afterHour, LocalDate beforeDay, int beforeHour, Pageable pageable);
+
+    @Query("SELECT new com.tamanna.challenge.interview.calendar.entities.SlotMatch(c.id, i.person.id, i.id) " +
+            "FROM Schedule c, Schedule i " +
+            "WHERE c.person.id = :candidateId AND i.person.id IN :interviewerIds AND i.person.class = :interviewerType " +
+            "AND i.day = c.day AND i.hour = c.hour " +
+            "AND COALESCE(c.ownedBooking.id, c.parentBooking.id) IS NULL " +
+            "AND COALESCE(i.ownedBooking.id, i.parentBooking.id) IS NULL " +
+            "AND c.day BETWEEN :afterDay AND :beforeDay " +
+            "AND (c.day > :afterDay OR (c.day = :afterDay AND c.hour > :afterHour)) " +
+            "AND (c.day < :beforeDay OR (c.day = :beforeDay AND c.hour < :beforeHour)) " +
+            "ORDER BY c.day, c.hour, i.person.id")
+    Slice<SlotMatch> findFreeSlotMatches(long candidateId, List<Long> interviewerIds, String interviewerType, LocalDate afterDay, int afterHour, LocalDate beforeDay, int beforeHour, Pageable pageable);
+
+    //every candidate of a batch in one statement, rows are grouped by candidate and ordered by slot within it
+    @Query("SELECT new com.tamanna.challenge.interview.calendar.entities.SlotMatch(c.id, i.person.id, i.id) " +
+            "FROM Schedule c, Schedule i " +
+            "WHERE c.person.id IN :candidateIds AND i.person.class = :interviewerType " +
+            "AND i.day = c.day AND i.hour = c.hour " +
+            "AND COALESCE(c.ownedBooking.id, c.parentBooking.id) IS NULL " +
+            "AND COALESCE(i.ownedBooking.id, i.parentBooking.id) IS NULL " +
+            "AND c.day >= :afterDay AND (c.day > :afterDay OR c.hour > :afterHour) " +
+            "ORDER BY c.person.id, c.day, c.hour, i.person.id")
+    List<SlotMatch> findFreeSlotMatchesByCandidateIdIn(Collection<Long> candidateIds, String interviewerType, LocalDate afterDay, int afterHour);
+
+    @Query("SELECT new com.tamanna.challenge.interview.calendar.entities.SlotMatch(c.id, i.person.id, i.id) " +
+            "FROM Schedule c, Schedule i " +
+            "WHERE c.person.id IN :candidateIds AND i.person.id IN :interviewerIds AND i.person.class = :interviewerType " +
+            "AND i.day = c.day AND i.hour = c.hour " +
+            "AND COALESCE(c.ownedBooking.id, c.parentBooking.id) IS NULL " +
+            "AND COALESCE(i.ownedBooking.id, i.parentBooking.id) IS NULL " +
+            "AND c.day >= :afterDay AND (c.day > :afterDay OR c.hour > :afterHour) " +
+            "ORDER BY c.person.id, c.day, c.hour, i.person.id")
+    List<SlotMatch> findFreeSlotMatchesByCandidateIdIn(Collection<Long> candidateIds, List<Long> interviewerIds, String interviewerType, LocalDate afterDay, int afterHour);
 }
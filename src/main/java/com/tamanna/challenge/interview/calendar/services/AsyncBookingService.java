@@ -0,0 +1,19 @@
+package com.tamanna.challenge.interview.calendar.services;
+
+import com.tamanna.challenge.interview.calendar.entities.AsyncBooking;
+import com.tamanna.challenge.interview.calendar.entities.BookingRequest;
+
+import java.util.Optional;
+
+/**
+ * @author tlferreira
+ */
+public interface AsyncBookingService {
+    boolean isEnabled();
+
+    //queued on the partition of its lowest interviewer id, a full queue is reported as a ConflictException
+    AsyncBooking submit(BookingRequest bookingRequest);
+
+    //pending, or processed within the result ttl
+    Optional<AsyncBooking> findBooking(String id);
+}
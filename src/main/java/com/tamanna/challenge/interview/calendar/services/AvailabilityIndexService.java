@@ -0,0 +1,49 @@
+package com.tamanna.challenge.interview.calendar.services;
+
+import com.tamanna.challenge.interview.calendar.entities.PersonAvailability;
+import com.tamanna.challenge.interview.calendar.entities.SlotBitmap;
+import com.tamanna.challenge.interview.calendar.entities.jpa.AbstractPerson;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Schedule;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * @author tlferreira
+ */
+public interface AvailabilityIndexService {
+    //builds and caches the availability from the loaded entity when missing
+    <T extends AbstractPerson> PersonAvailability<T> getAvailability(T person);
+
+    //same as above, built from the given schedules instead of the entity's whole scheduleList
+    //version is read with currentVersion before loading them, the result is not cached when the person changed since
+    <T extends AbstractPerson> PersonAvailability<T> getAvailability(T person, List<Schedule> scheduleList, long version);
+
+    long currentVersion(long personId);
+
+    //cache only, never touches the database
+    <T extends AbstractPerson> Optional<PersonAvailability<T>> findAvailability(long personId, Class<T> personType);
+
+    default SlotBitmap getFreeSlots(AbstractPerson person) {
+        return getAvailability(person).getFreeSlots();
+    }
+
+    //changes are applied after the current transaction commits, or immediately without one
+    void addFreeSlot(long personId, Schedule schedule);
+
+    void removeFreeSlot(long personId, Schedule schedule);
+
+    //keeps the cached slots, only replaces the person details
+    void updatePerson(AbstractPerson person);
+
+    void evict(long personId);
+
+    //interviewer ids with a free schedule at epochHour, only covers the interviewers in the cache
+    Set<Long> findFreeInterviewerIds(long epochHour);
+
+    boolean isInterviewerIndexComplete();
+
+    //every interviewer is cached, from now on the cache is kept complete by createPerson
+    void markInterviewerIndexComplete();
+}
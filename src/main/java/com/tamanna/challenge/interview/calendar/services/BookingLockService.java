@@ -0,0 +1,19 @@
+package com.tamanna.challenge.interview.calendar.services;
+
+import com.tamanna.challenge.interview.calendar.exceptions.ServiceException;
+
+import java.util.Collection;
+
+/**
+ * @author tlferreira
+ */
+public interface BookingLockService {
+    //blocks until every person is locked, a timeout is reported as a ConflictException
+    Handle lock(Collection<Long> personIdList) throws ServiceException;
+
+    interface Handle extends AutoCloseable {
+        //releases every lock taken by lock
+        @Override
+        void close();
+    }
+}
@@ -1,9 +1,19 @@
 package com.tamanna.challenge.interview.calendar.services;
 
 import com.tamanna.challenge.interview.calendar.entities.jpa.Interviewer;
+import com.tamanna.challenge.interview.calendar.exceptions.ServiceException;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 
 /**
  * @author tlferreira
  */
 public interface InterviewerService extends PersonService<Interviewer> {
+    List<Interviewer> findAvailable(LocalDate day, int hour) throws ServiceException;
+
+    //ids of interviewers with a free schedule in any of the given epoch-hours
+    Set<Long> findAvailableIds(Collection<Long> epochHourList) throws ServiceException;
 }
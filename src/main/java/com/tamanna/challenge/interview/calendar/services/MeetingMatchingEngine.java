@@ -0,0 +1,37 @@
+package com.tamanna.challenge.interview.calendar.services;
+
+import com.tamanna.challenge.interview.calendar.entities.AvailableMeeting;
+import com.tamanna.challenge.interview.calendar.entities.PersonAvailability;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Interviewer;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Schedule;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author tlferreira
+ */
+public interface MeetingMatchingEngine {
+    //candidateScheduleList must only contain free schedules, sorted by slot
+    //slots with fewer than minInterviewers free interviewers are discarded
+    List<AvailableMeeting> match(List<Schedule> candidateScheduleList, List<PersonAvailability<Interviewer>> interviewerList,
+                                 int limit, int minInterviewers);
+
+    default List<AvailableMeeting> match(List<Schedule> candidateScheduleList, List<PersonAvailability<Interviewer>> interviewerList, int limit) {
+        return match(candidateScheduleList, interviewerList, limit, 1);
+    }
+
+    default List<AvailableMeeting> match(List<Schedule> candidateScheduleList, List<PersonAvailability<Interviewer>> interviewerList) {
+        return match(candidateScheduleList, interviewerList, Integer.MAX_VALUE, 1);
+    }
+
+    //candidate id -> schedules following the same rules as candidateScheduleList, results keep the map order
+    default Map<Long, List<AvailableMeeting>> matchBatch(Map<Long, List<Schedule>> candidateScheduleMap,
+                                                         List<PersonAvailability<Interviewer>> interviewerList, int limit, int minInterviewers) {
+        Map<Long, List<AvailableMeeting>> availableMeetingMap = new LinkedHashMap<>();
+        candidateScheduleMap.forEach((candidateId, candidateScheduleList) ->
+                availableMeetingMap.put(candidateId, match(candidateScheduleList, interviewerList, limit, minInterviewers)));
+        return availableMeetingMap;
+    }
+}
@@ -1,10 +1,17 @@
 package com.tamanna.challenge.interview.calendar.services;
 
 import com.tamanna.challenge.interview.calendar.entities.AvailableMeeting;
+import com.tamanna.challenge.interview.calendar.entities.BookingRequest;
+import com.tamanna.challenge.interview.calendar.entities.BookingResult;
+import com.tamanna.challenge.interview.calendar.entities.MeetingQuery;
+import com.tamanna.challenge.interview.calendar.entities.MeetingQueryResult;
+import com.tamanna.challenge.interview.calendar.entities.SlotHold;
 import com.tamanna.challenge.interview.calendar.entities.jpa.Booking;
 import com.tamanna.challenge.interview.calendar.exceptions.ServiceException;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -13,12 +20,31 @@ import java.util.Optional;
 public interface MeetingService {
     List<AvailableMeeting> queryMeeting(long candidateId, List<Long> interviewerIdList) throws ServiceException;
 
+    List<AvailableMeeting> queryMeeting(MeetingQuery meetingQuery) throws ServiceException;
+
+    //candidate id -> available meetings, in the requested order, an unknown candidate is reported in its own result
+    Map<Long, MeetingQueryResult> queryMeetingBatch(List<Long> candidateIdList, List<Long> interviewerIdList, int minInterviewers) throws ServiceException;
+
     Booking bookMeeting(long scheduleId, long candidateId, List<Long> interviewerIdList) throws ServiceException;
 
+    //holdId may be null, a slot held by another hold is reported as a ConflictException
+    Booking bookMeeting(long scheduleId, long candidateId, List<Long> interviewerIdList, String holdId) throws ServiceException;
+
+    //one result per request, in the requested order, all bookings are stored in a single transaction
+    List<BookingResult> bookMeetingBatch(List<BookingRequest> bookingRequestList) throws ServiceException;
+
+    //keeps the slot out of queries and other bookings until it is booked, released or expires
+    SlotHold holdMeeting(long scheduleId, long candidateId, List<Long> interviewerIdList) throws ServiceException;
+
+    Optional<SlotHold> releaseHold(String holdId) throws ServiceException;
+
     Optional<Booking> getMeeting(long id) throws ServiceException;
 
     Optional<Booking> cancelMeeting(long id) throws ServiceException;
 
+    //every meeting of the interviewer starting in [from, to), from defaults to now and to to no limit
+    List<Booking> cancelInterviewerMeetings(long interviewerId, LocalDateTime from, LocalDateTime to) throws ServiceException;
+
     List<Booking> getCandidateMeetings(long candidateId) throws ServiceException;
 
     List<Booking> getInterviewerMeetings(long interviewerId) throws ServiceException;
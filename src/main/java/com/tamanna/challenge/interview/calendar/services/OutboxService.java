@@ -0,0 +1,21 @@
+package com.tamanna.challenge.interview.calendar.services;
+
+import com.tamanna.challenge.interview.calendar.entities.enums.OutboxEventType;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Booking;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Schedule;
+import com.tamanna.challenge.interview.calendar.exceptions.ServiceException;
+
+import java.util.List;
+
+/**
+ * @author tlferreira
+ */
+public interface OutboxService {
+    //joins the caller's transaction, the events are only dispatched once it commits
+    void appendBookingEvents(OutboxEventType eventType, List<Booking> bookingList);
+
+    void appendScheduleEvent(OutboxEventType eventType, Schedule schedule);
+
+    //hands the pending events to the sink in batches, returns how many were sent
+    int dispatch() throws ServiceException;
+}
@@ -0,0 +1,14 @@
+package com.tamanna.challenge.interview.calendar.services;
+
+import com.tamanna.challenge.interview.calendar.dtos.OutboxEventDTO;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * @author tlferreira
+ */
+public interface OutboxSink {
+    //events are given in order, returns how many of the first ones were accepted, the rest are sent again later
+    int send(List<OutboxEventDTO> eventList) throws IOException;
+}
@@ -1,8 +1,11 @@
 package com.tamanna.challenge.interview.calendar.services;
 
 import com.tamanna.challenge.interview.calendar.entities.jpa.Schedule;
+import com.tamanna.challenge.interview.calendar.entities.projections.ScheduleView;
 import com.tamanna.challenge.interview.calendar.exceptions.ServiceException;
 
+import org.springframework.data.domain.Slice;
+
 import java.util.List;
 import java.util.Optional;
 
@@ -12,7 +15,9 @@ import java.util.Optional;
 public interface PersonScheduleService {
     Schedule addSchedule(long personId, Schedule schedule) throws ServiceException;
 
-    List<Schedule> findAll(long personId) throws ServiceException;
+    List<ScheduleView> findAll(long personId) throws ServiceException;
+
+    Slice<ScheduleView> findAllAfter(long personId, Long afterSlot, int size) throws ServiceException;
 
     Optional<Schedule> findById(long personId, long scheduleId) throws ServiceException;
 
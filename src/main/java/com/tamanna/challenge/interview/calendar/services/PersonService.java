@@ -1,8 +1,11 @@
 package com.tamanna.challenge.interview.calendar.services;
 
 import com.tamanna.challenge.interview.calendar.entities.jpa.AbstractPerson;
+import com.tamanna.challenge.interview.calendar.entities.projections.PersonView;
 import com.tamanna.challenge.interview.calendar.exceptions.ServiceException;
 
+import org.springframework.data.domain.Slice;
+
 import java.util.List;
 import java.util.Optional;
 
@@ -12,9 +15,11 @@ import java.util.Optional;
 public interface PersonService<T extends AbstractPerson> {
     T createPerson(T person) throws ServiceException;
 
-    List<T> findAllPageable(int page, int size) throws ServiceException;
+    List<PersonView> findAllPageable(int page, int size) throws ServiceException;
+
+    List<PersonView> findAll() throws ServiceException;
 
-    List<T> findAll() throws ServiceException;
+    Slice<PersonView> findAllAfter(long afterId, int size) throws ServiceException;
 
     List<T> findAll(List<Long> ids) throws ServiceException;
 
@@ -0,0 +1,26 @@
+package com.tamanna.challenge.interview.calendar.services;
+
+import com.tamanna.challenge.interview.calendar.entities.SlotHold;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * @author tlferreira
+ */
+public interface SlotHoldService {
+    //all or nothing, a slot already held by another hold is reported as a ConflictException
+    SlotHold hold(long scheduleId, long candidateId, List<Long> interviewerIdList, long epochHour);
+
+    Optional<SlotHold> findHold(String holdId);
+
+    //the live hold of the person at the slot, if any
+    Optional<SlotHold> findHold(long personId, long epochHour);
+
+    boolean isHeld(long personId, long epochHour);
+
+    Optional<SlotHold> release(String holdId);
+
+    //distinct slots with at least one live hold
+    int heldSlotCount();
+}
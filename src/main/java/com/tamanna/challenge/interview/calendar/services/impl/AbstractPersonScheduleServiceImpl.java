@@ -1,16 +1,25 @@
 package com.tamanna.challenge.interview.calendar.services.impl;
 
+import com.tamanna.challenge.interview.calendar.entities.SlotBitmap;
+import com.tamanna.challenge.interview.calendar.entities.enums.OutboxEventType;
 import com.tamanna.challenge.interview.calendar.entities.enums.PersonType;
 import com.tamanna.challenge.interview.calendar.entities.jpa.AbstractPerson;
 import com.tamanna.challenge.interview.calendar.entities.jpa.Schedule;
+import com.tamanna.challenge.interview.calendar.entities.projections.ScheduleView;
 import com.tamanna.challenge.interview.calendar.exceptions.NotFoundException;
 import com.tamanna.challenge.interview.calendar.exceptions.NotModifiedException;
 import com.tamanna.challenge.interview.calendar.exceptions.ServiceException;
 import com.tamanna.challenge.interview.calendar.repositories.ScheduleRepository;
+import com.tamanna.challenge.interview.calendar.services.AvailabilityIndexService;
+import com.tamanna.challenge.interview.calendar.services.OutboxService;
 import com.tamanna.challenge.interview.calendar.services.PersonScheduleService;
 import com.tamanna.challenge.interview.calendar.services.PersonService;
 import lombok.AllArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -25,7 +34,11 @@ import java.util.Optional;
 public abstract class AbstractPersonScheduleServiceImpl<T extends AbstractPerson> implements PersonScheduleService {
     private final ScheduleRepository scheduleRepository;
     private final PersonService<T> personService;
+    private final AvailabilityIndexService availabilityIndexService;
     private final PersonType personType;
+    //each change and its outbox event are written in one transaction
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxService outboxService;
 
     @Override
     public Schedule addSchedule(long personId, Schedule schedule) throws ServiceException {
@@ -43,7 +56,14 @@ public abstract class AbstractPersonScheduleServiceImpl<T extends AbstractPerson
 
             schedule.setPerson(person);
 
-            return scheduleRepository.save(schedule);
+            Schedule savedSchedule = transactionTemplate.execute(status -> {
+                Schedule saved = scheduleRepository.save(schedule);
+                outboxService.appendScheduleEvent(OutboxEventType.SCHEDULE_ADDED, saved);
+                return saved;
+            });
+            availabilityIndexService.addFreeSlot(person.getId(), savedSchedule);
+
+            return savedSchedule;
         } catch (NotFoundException | IllegalArgumentException | ServiceException e) {
             success = false;
             log.error("Unable to addSchedule {}, Exception: ", personType, e);
@@ -58,12 +78,17 @@ public abstract class AbstractPersonScheduleServiceImpl<T extends AbstractPerson
     }
 
     @Override
-    public List<Schedule> findAll(long personId) throws ServiceException {
+    public List<ScheduleView> findAll(long personId) throws ServiceException {
         log.debug("Start getSchedules All {}", personType);
         boolean success = true;
         try {
-            T person = getPerson(personId);
-            return person.getScheduleList() == null ? new ArrayList<>() : person.getScheduleList();
+            //read-only rows, neither the person nor its schedules are hydrated
+            List<ScheduleView> scheduleViewList = scheduleRepository.findViewsByPersonIdAndPersonType(personId, personType.name());
+            if (scheduleViewList.isEmpty()) {
+                //no rows may also mean no such person
+                getPerson(personId);
+            }
+            return scheduleViewList;
         } catch (NotFoundException | IllegalArgumentException | ServiceException e) {
             success = false;
             log.error("Unable to getSchedules All {}, Illegal Argument, Exception: ", personType, e);
@@ -77,6 +102,37 @@ public abstract class AbstractPersonScheduleServiceImpl<T extends AbstractPerson
         }
     }
 
+    @Override
+    public Slice<ScheduleView> findAllAfter(long personId, Long afterSlot, int size) throws ServiceException {
+        log.debug("Start getSchedules after {}", personType);
+        boolean success = true;
+        try {
+            //the unique (person, day, hour) index finds the first row, so deep pages cost the same as the first one
+            Pageable pageable = PageRequest.of(0, size);
+            Slice<ScheduleView> scheduleViewSlice;
+            if (afterSlot == null) {
+                scheduleViewSlice = scheduleRepository.findViewsByPersonIdAndPersonType(personId, personType.name(), pageable);
+            } else {
+                LocalDateTime after = SlotBitmap.toDateTime(afterSlot);
+                scheduleViewSlice = scheduleRepository.findViewsByPersonIdAndPersonTypeAfter(personId, personType.name(), after.toLocalDate(), after.getHour(), pageable);
+            }
+            if (!scheduleViewSlice.hasContent()) {
+                getPerson(personId);
+            }
+            return scheduleViewSlice;
+        } catch (NotFoundException | IllegalArgumentException | ServiceException e) {
+            success = false;
+            log.error("Unable to getSchedules after {}, Illegal Argument, Exception: ", personType, e);
+            throw e;
+        } catch (Exception e) {
+            success = false;
+            log.error("Unable to getSchedules after {}, Exception: ", personType, e);
+            throw new ServiceException("Error getSchedules after", e);
+        } finally {
+            log.debug("Finished getSchedules after {}, success: {}", personType, success);
+        }
+    }
+
     private T getPerson(long personId) throws ServiceException {
         return personService
                 .findById(personId)
@@ -110,11 +166,35 @@ public abstract class AbstractPersonScheduleServiceImpl<T extends AbstractPerson
         try {
             Optional<Schedule> scheduleOpt = scheduleRepository.findByIdAndPersonIdAndPersonType(scheduleId, personId, personType.name());
             if (scheduleOpt.isPresent()) {
+                Schedule storedSchedule = scheduleOpt.get();
+                //a moved slot would leave the booking with its people at different times
+                if (!isFree(storedSchedule)) {
+                    throw new NotModifiedException("Cannot update with booked meeting");
+                }
+                //the cache is keyed by slot, so the previous one is kept before the stored entity changes
+                Schedule previousSchedule = new Schedule();
+                previousSchedule.setDay(storedSchedule.getDay());
+                previousSchedule.setHour(storedSchedule.getHour());
+
                 schedule.setId(scheduleId);
                 validateScheduleUniqueness(personId, schedule);
-                scheduleOpt = Optional.of(this.scheduleRepository.save(schedule));
+                //changes the loaded entity, saving the request one would reset the version
+                storedSchedule.setDay(schedule.getDay());
+                storedSchedule.setHour(schedule.getHour());
+                scheduleOpt = Optional.of(transactionTemplate.execute(status -> {
+                    Schedule saved = this.scheduleRepository.save(storedSchedule);
+                    outboxService.appendScheduleEvent(OutboxEventType.SCHEDULE_UPDATED, saved);
+                    return saved;
+                }));
+
+                availabilityIndexService.removeFreeSlot(personId, previousSchedule);
+                availabilityIndexService.addFreeSlot(personId, scheduleOpt.get());
             }
             return scheduleOpt;
+        } catch (NotModifiedException e) {
+            success = false;
+            log.error("Unable to updateSchedule {}, Exception: ", personType, e);
+            throw e;
         } catch (IllegalArgumentException e) {
             success = false;
             log.error("Unable to updateSchedule {}, Illegal Argument, Exception: ", personType, e);
@@ -141,7 +221,12 @@ public abstract class AbstractPersonScheduleServiceImpl<T extends AbstractPerson
                 if (booked) {
                     throw new NotModifiedException("Cannot delete with booked meeting");
                 }
-                this.scheduleRepository.deleteById(scheduleId);
+                Schedule deletedSchedule = scheduleOpt.get();
+                transactionTemplate.executeWithoutResult(status -> {
+                    this.scheduleRepository.deleteById(scheduleId);
+                    outboxService.appendScheduleEvent(OutboxEventType.SCHEDULE_DELETED, deletedSchedule);
+                });
+                availabilityIndexService.removeFreeSlot(personId, scheduleOpt.get());
             }
             return scheduleOpt;
         } catch (NotModifiedException e) {
@@ -173,6 +258,10 @@ public abstract class AbstractPersonScheduleServiceImpl<T extends AbstractPerson
         }
     }
 
+    private boolean isFree(Schedule schedule) {
+        return schedule.getOwnedBooking() == null && schedule.getParentBooking() == null;
+    }
+
     private void validateScheduleDay(Schedule schedule) {
         LocalDateTime now = LocalDateTime.now();
         if (schedule.getDay().atTime(schedule.getHour(), 0).compareTo(now) <= 0) {
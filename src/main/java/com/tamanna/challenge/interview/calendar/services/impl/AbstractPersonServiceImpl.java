@@ -4,15 +4,16 @@ import com.google.i18n.phonenumbers.PhoneNumberUtil;
 import com.google.i18n.phonenumbers.Phonenumber;
 import com.tamanna.challenge.interview.calendar.configurations.PhoneNumberValidationKeys;
 import com.tamanna.challenge.interview.calendar.entities.jpa.AbstractPerson;
+import com.tamanna.challenge.interview.calendar.entities.projections.PersonView;
 import com.tamanna.challenge.interview.calendar.exceptions.NotModifiedException;
 import com.tamanna.challenge.interview.calendar.exceptions.ServiceException;
 import com.tamanna.challenge.interview.calendar.repositories.PersonRepository;
+import com.tamanna.challenge.interview.calendar.services.AvailabilityIndexService;
 import com.tamanna.challenge.interview.calendar.services.PersonService;
 import lombok.AllArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Slice;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -26,6 +27,7 @@ import java.util.Optional;
 public abstract class AbstractPersonServiceImpl<T extends AbstractPerson, E extends PersonRepository<T>> implements PersonService<T> {
     private final E personRepository;
     private final PhoneNumberValidationKeys phoneNumberValidationKeys;
+    private final AvailabilityIndexService availabilityIndexService;
 
     @Override
     public T createPerson(T person) throws ServiceException {
@@ -36,7 +38,10 @@ public abstract class AbstractPersonServiceImpl<T extends AbstractPerson, E exte
 
             validateEmailUniqueness(person);
 
-            return personRepository.save(person);
+            T savedPerson = personRepository.save(person);
+            //a new person has no schedules, caching it keeps the interviewer index complete
+            availabilityIndexService.getAvailability(savedPerson);
+            return savedPerson;
         } catch (IllegalArgumentException e) {
             success = false;
             log.error("Unable to createPerson, Illegal Argument, Exception: ", e);
@@ -51,14 +56,14 @@ public abstract class AbstractPersonServiceImpl<T extends AbstractPerson, E exte
     }
 
     @Override
-    public List<T> findAllPageable(int page, int size) throws ServiceException {
+    public List<PersonView> findAllPageable(int page, int size) throws ServiceException {
 
         log.debug("Start findAllPerson paginated");
         boolean success = true;
         try {
+            //read-only rows, nothing is hydrated or kept in the persistence context
             return Optional.of(this.personRepository)
-                    .map(repo -> repo.findAll(PageRequest.of(page, size)))
-                    .map(Page::getContent)
+                    .map(repo -> repo.findAllProjectedBy(PageRequest.of(page, size)))
                     .orElseGet(ArrayList::new);
         } catch (Exception e) {
             success = false;
@@ -70,12 +75,12 @@ public abstract class AbstractPersonServiceImpl<T extends AbstractPerson, E exte
     }
 
     @Override
-    public List<T> findAll() throws ServiceException {
+    public List<PersonView> findAll() throws ServiceException {
         log.debug("Start findAllPerson");
         boolean success = true;
         try {
             return Optional.of(this.personRepository)
-                    .map(JpaRepository::findAll)
+                    .map(PersonRepository::findAllProjectedBy)
                     .orElseGet(ArrayList::new);
         } catch (Exception e) {
             success = false;
@@ -86,6 +91,22 @@ public abstract class AbstractPersonServiceImpl<T extends AbstractPerson, E exte
         }
     }
 
+    @Override
+    public Slice<PersonView> findAllAfter(long afterId, int size) throws ServiceException {
+        log.debug("Start findAllPerson after");
+        boolean success = true;
+        try {
+            //the primary key finds the first row, so deep pages cost the same as the first one
+            return this.personRepository.findProjectedByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, size));
+        } catch (Exception e) {
+            success = false;
+            log.error("Unable to findAllPerson after, Exception: ", e);
+            throw new ServiceException("Error findAllPerson after", e);
+        } finally {
+            log.debug("Finished findAllPerson after, success: {}", success);
+        }
+    }
+
     @Override
     public List<T> findAll(List<Long> ids) throws ServiceException {
         log.debug("Start findAllById");
@@ -131,6 +152,8 @@ public abstract class AbstractPersonServiceImpl<T extends AbstractPerson, E exte
                 validateEmailUniqueness(person);
 
                 personOpt = Optional.of(this.personRepository.save(person));
+                //cached availability holds the previous person details
+                availabilityIndexService.updatePerson(personOpt.get());
             }
             return personOpt;
         } catch (IllegalArgumentException e) {
@@ -163,6 +186,7 @@ public abstract class AbstractPersonServiceImpl<T extends AbstractPerson, E exte
                     throw new NotModifiedException("Cannot delete with booked meeting");
                 }
                 this.personRepository.deleteById(id);
+                availabilityIndexService.evict(id);
             }
             return personOpt;
         } catch (NotModifiedException e) {
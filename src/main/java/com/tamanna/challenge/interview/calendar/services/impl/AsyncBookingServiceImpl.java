@@ -0,0 +1,169 @@
+package com.tamanna.challenge.interview.calendar.services.impl;
+
+import com.tamanna.challenge.interview.calendar.configurations.MeetingBookingKeys;
+import com.tamanna.challenge.interview.calendar.entities.AsyncBooking;
+import com.tamanna.challenge.interview.calendar.entities.BookingRequest;
+import com.tamanna.challenge.interview.calendar.entities.BookingResult;
+import com.tamanna.challenge.interview.calendar.entities.enums.BookingStatus;
+import com.tamanna.challenge.interview.calendar.exceptions.ConflictException;
+import com.tamanna.challenge.interview.calendar.services.AsyncBookingService;
+import com.tamanna.challenge.interview.calendar.services.MeetingService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * @author tlferreira
+ */
+//requests with the same lowest interviewer land on the same partition, its single writer books whatever is queued as one
+//batch, so concurrent bookings of a popular interviewer wait in memory instead of on locks and connections; requests
+//sharing any other interviewer may sit on different partitions and still meet on the person locks and versions
+@Log4j2
+@Service
+public class AsyncBookingServiceImpl implements AsyncBookingService {
+    private final MeetingService meetingService;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration resultTtl;
+
+    private final List<BlockingQueue<AsyncBooking>> partitionList = new ArrayList<>();
+    private final List<Thread> writerList = new ArrayList<>();
+    private final Map<String, AsyncBooking> bookingById = new ConcurrentHashMap<>();
+    //in completion order, expired results are dropped from the head
+    private final Queue<AsyncBooking> completedQueue = new ConcurrentLinkedQueue<>();
+
+    public AsyncBookingServiceImpl(MeetingService meetingService, MeetingBookingKeys meetingBookingKeys, MeterRegistry meterRegistry) {
+        MeetingBookingKeys.Async async = meetingBookingKeys.getAsync();
+        this.meetingService = meetingService;
+        this.enabled = async.isEnabled();
+        this.batchSize = async.getBatchSize();
+        this.resultTtl = async.getResultTtl();
+        log.info("Async booking enabled: {}, partitions: {}", enabled, async.getPartitions());
+        if (!enabled) {
+            return;
+        }
+
+        for (int partition = 0; partition < async.getPartitions(); partition++) {
+            BlockingQueue<AsyncBooking> queue = new ArrayBlockingQueue<>(async.getQueueCapacity());
+            partitionList.add(queue);
+            Thread writer = new Thread(() -> write(queue), "booking-writer-" + partition);
+            writer.setDaemon(true);
+            writerList.add(writer);
+        }
+        Gauge
+                .builder("booking.async.pending", partitionList, queues -> queues.stream().mapToInt(BlockingQueue::size).sum())
+                .description("Queued bookings not yet taken by a writer")
+                .register(meterRegistry);
+        writerList.forEach(Thread::start);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public AsyncBooking submit(BookingRequest bookingRequest) {
+        if (!enabled) {
+            throw new IllegalStateException("Async booking is disabled");
+        }
+        AsyncBooking asyncBooking = new AsyncBooking(UUID.randomUUID().toString(), bookingRequest);
+        bookingById.put(asyncBooking.getId(), asyncBooking);
+        if (!partitionList.get(partitionOf(bookingRequest)).offer(asyncBooking)) {
+            bookingById.remove(asyncBooking.getId());
+            throw new ConflictException("Booking queue full, retry later");
+        }
+        return asyncBooking;
+    }
+
+    @Override
+    public Optional<AsyncBooking> findBooking(String id) {
+        return Optional
+                .ofNullable(bookingById.get(id))
+                .filter(asyncBooking -> !isExpired(asyncBooking, Instant.now()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writerList.forEach(Thread::interrupt);
+    }
+
+    //the lowest interviewer id, so a request always maps to the same partition whatever the order of its interviewers
+    private int partitionOf(BookingRequest bookingRequest) {
+        long key = bookingRequest
+                .getInterviewerIdList()
+                .stream()
+                .mapToLong(Long::longValue)
+                .min()
+                .orElse(bookingRequest.getCandidateId());
+        return Math.floorMod(Long.hashCode(key), partitionList.size());
+    }
+
+    private void write(BlockingQueue<AsyncBooking> queue) {
+        while (!Thread.currentThread().isInterrupted()) {
+            List<AsyncBooking> batch = new ArrayList<>(batchSize);
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            process(batch);
+            purgeExpired();
+        }
+    }
+
+    //the batch is booked against one snapshot, so requests for the same slot are decided in queue order
+    private void process(List<AsyncBooking> batch) {
+        List<BookingResult> bookingResultList;
+        try {
+            bookingResultList = meetingService.bookMeetingBatch(batch.stream().map(AsyncBooking::getRequest).toList());
+        } catch (ConflictException e) {
+            bookingResultList = failAll(batch, BookingStatus.CONFLICT, e.getMessage());
+        } catch (Exception e) {
+            log.error("Unable to process {} queued bookings, Exception: ", batch.size(), e);
+            bookingResultList = failAll(batch, BookingStatus.FAILED, "Error bookingMeeting");
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).complete(bookingResultList.get(i));
+            completedQueue.add(batch.get(i));
+        }
+    }
+
+    private List<BookingResult> failAll(List<AsyncBooking> batch, BookingStatus status, String message) {
+        return batch
+                .stream()
+                .map(asyncBooking -> BookingResult.failed(asyncBooking.getRequest(), status, message))
+                .toList();
+    }
+
+    private void purgeExpired() {
+        Instant now = Instant.now();
+        AsyncBooking head;
+        while ((head = completedQueue.peek()) != null && isExpired(head, now)) {
+            if (completedQueue.remove(head)) {
+                bookingById.remove(head.getId());
+            }
+        }
+    }
+
+    private boolean isExpired(AsyncBooking asyncBooking, Instant now) {
+        return asyncBooking.isDone() && asyncBooking.getCompletedAt().plus(resultTtl).isBefore(now);
+    }
+}
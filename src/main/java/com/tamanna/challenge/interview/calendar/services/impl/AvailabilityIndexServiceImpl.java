@@ -0,0 +1,184 @@
+package com.tamanna.challenge.interview.calendar.services.impl;
+
+import com.tamanna.challenge.interview.calendar.entities.PersonAvailability;
+import com.tamanna.challenge.interview.calendar.entities.SlotBitmap;
+import com.tamanna.challenge.interview.calendar.entities.jpa.AbstractPerson;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Interviewer;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Schedule;
+import com.tamanna.challenge.interview.calendar.services.AvailabilityIndexService;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.UnaryOperator;
+
+/**
+ * @author tlferreira
+ */
+@Log4j2
+@Service
+public class AvailabilityIndexServiceImpl implements AvailabilityIndexService {
+    //entries are never changed after being published, updates replace them with a new version
+    private final Map<Long, PersonAvailability<?>> availabilityByPerson = new ConcurrentHashMap<>();
+    private static final int VERSION_STRIPES = 4096;
+
+    //bumped on every change, even without a cached entry, so a build racing with a commit is discarded
+    //people share a fixed number of counters, a collision only discards a build that could have been kept
+    private final AtomicLongArray versionByStripe = new AtomicLongArray(VERSION_STRIPES);
+    //inverted index of the cached interviewers, maintained together with availabilityByPerson
+    private final Map<Long, Set<Long>> interviewerIdsBySlot = new ConcurrentHashMap<>();
+    //slots up to this one were dropped from interviewerIdsBySlot, they can no longer be booked
+    private final AtomicLong prunedSlot = new AtomicLong();
+    private volatile boolean interviewerIndexComplete;
+
+    @Override
+    public <T extends AbstractPerson> PersonAvailability<T> getAvailability(T person) {
+        return getAvailability(person, person.getScheduleList(), currentVersion(person.getId()));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends AbstractPerson> PersonAvailability<T> getAvailability(T person, List<Schedule> scheduleList, long version) {
+        PersonAvailability<?> cached = availabilityByPerson.get(person.getId());
+        if (cached != null && person.getClass().isInstance(cached.getPerson())) {
+            return (PersonAvailability<T>) cached;
+        }
+
+        log.debug("Building availability for person {}, version {}", person.getId(), version);
+        LocalDateTime now = LocalDateTime.now();
+        PersonAvailability<T> built = PersonAvailability.of(person, version, SlotBitmap.toEpochHour(now.toLocalDate(), now.getHour()), scheduleList);
+
+        availabilityByPerson.compute(person.getId(), (id, existing) -> {
+            if (existing != null && existing.getVersion() >= version) {
+                return existing;
+            }
+            return currentVersion(id) == version ? reindex(existing, built) : existing;
+        });
+        return built;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends AbstractPerson> Optional<PersonAvailability<T>> findAvailability(long personId, Class<T> personType) {
+        return Optional
+                .ofNullable(availabilityByPerson.get(personId))
+                .filter(availability -> personType.isInstance(availability.getPerson()))
+                .map(availability -> (PersonAvailability<T>) availability);
+    }
+
+    @Override
+    public void addFreeSlot(long personId, Schedule schedule) {
+        afterCommit(personId, availability -> availability.withFreeSchedule(schedule, currentVersion(personId)));
+    }
+
+    @Override
+    public void removeFreeSlot(long personId, Schedule schedule) {
+        afterCommit(personId, availability -> availability.withoutFreeSchedule(schedule, currentVersion(personId)));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void updatePerson(AbstractPerson person) {
+        afterCommit(person.getId(), availability -> ((PersonAvailability<AbstractPerson>) availability).withPerson(person, currentVersion(person.getId())));
+    }
+
+    @Override
+    public void evict(long personId) {
+        afterCommit(personId, availability -> null);
+    }
+
+    @Override
+    public Set<Long> findFreeInterviewerIds(long epochHour) {
+        prunePastSlots();
+        Set<Long> interviewerIds = interviewerIdsBySlot.get(epochHour);
+        return interviewerIds == null ? Set.of() : Set.copyOf(interviewerIds);
+    }
+
+    @Override
+    public boolean isInterviewerIndexComplete() {
+        return interviewerIndexComplete;
+    }
+
+    @Override
+    public void markInterviewerIndexComplete() {
+        log.info("Interviewer availability index complete, {} slots", interviewerIdsBySlot.size());
+        interviewerIndexComplete = true;
+    }
+
+    //at most once per hour, on the first lookup after it starts
+    private void prunePastSlots() {
+        LocalDateTime now = LocalDateTime.now();
+        long nowSlot = SlotBitmap.toEpochHour(now.toLocalDate(), now.getHour());
+        long previous = prunedSlot.get();
+        if (previous < nowSlot && prunedSlot.compareAndSet(previous, nowSlot)) {
+            interviewerIdsBySlot.keySet().removeIf(slot -> slot <= nowSlot);
+        }
+    }
+
+    private void afterCommit(long personId, UnaryOperator<PersonAvailability<?>> update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(personId, update);
+                }
+            });
+        } else {
+            //no surrounding transaction, the repository call already committed
+            apply(personId, update);
+        }
+    }
+
+    private void apply(long personId, UnaryOperator<PersonAvailability<?>> update) {
+        availabilityByPerson.compute(personId, (id, existing) -> {
+            versionByStripe.incrementAndGet(stripe(id));
+            return existing == null ? null : reindex(existing, update.apply(existing));
+        });
+    }
+
+    //called inside compute, so changes for the same person never interleave
+    private PersonAvailability<?> reindex(PersonAvailability<?> previous, PersonAvailability<?> updated) {
+        Set<Long> previousSlots = isInterviewer(previous) ? previous.getFreeScheduleBySlot().keySet() : Set.of();
+        Set<Long> updatedSlots = isInterviewer(updated) ? updated.getFreeScheduleBySlot().keySet() : Set.of();
+        long personId = (previous != null ? previous : updated).getPerson().getId();
+
+        previousSlots
+                .stream()
+                .filter(slot -> !updatedSlots.contains(slot))
+                .forEach(slot -> interviewerIdsBySlot.computeIfPresent(slot, (key, interviewerIds) -> {
+                    interviewerIds.remove(personId);
+                    return interviewerIds.isEmpty() ? null : interviewerIds;
+                }));
+        updatedSlots
+                .stream()
+                .filter(slot -> !previousSlots.contains(slot))
+                .forEach(slot -> interviewerIdsBySlot.compute(slot, (key, interviewerIds) -> {
+                    Set<Long> updatedIds = interviewerIds == null ? ConcurrentHashMap.newKeySet() : interviewerIds;
+                    updatedIds.add(personId);
+                    return updatedIds;
+                }));
+        return updated;
+    }
+
+    private boolean isInterviewer(PersonAvailability<?> availability) {
+        return availability != null && availability.getPerson() instanceof Interviewer;
+    }
+
+    @Override
+    public long currentVersion(long personId) {
+        return versionByStripe.get(stripe(personId));
+    }
+
+    private static int stripe(long personId) {
+        return Long.hashCode(personId) & (VERSION_STRIPES - 1);
+    }
+}
@@ -0,0 +1,99 @@
+package com.tamanna.challenge.interview.calendar.services.impl;
+
+import com.tamanna.challenge.interview.calendar.entities.AvailableMeeting;
+import com.tamanna.challenge.interview.calendar.entities.PersonAvailability;
+import com.tamanna.challenge.interview.calendar.entities.SlotBitmap;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Interviewer;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Schedule;
+import com.tamanna.challenge.interview.calendar.services.MeetingMatchingEngine;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author tlferreira
+ */
+public class BitmapMatchingEngine implements MeetingMatchingEngine {
+    //candidate slots are matched in chunks so a limited query stops early
+    private static final int MIN_CHUNK_SIZE = 64;
+
+    @Override
+    public List<AvailableMeeting> match(List<Schedule> candidateScheduleList, List<PersonAvailability<Interviewer>> interviewerList,
+                                        int limit, int minInterviewers) {
+        if (interviewerList.size() < minInterviewers) {
+            return new ArrayList<>();
+        }
+
+        int chunkSize = Math.max(limit, MIN_CHUNK_SIZE);
+        List<AvailableMeeting> availableMeetingList = new ArrayList<>();
+        for (int start = 0; start < candidateScheduleList.size() && availableMeetingList.size() < limit; start += chunkSize) {
+            List<Schedule> chunk = candidateScheduleList.subList(start, Math.min(start + chunkSize, candidateScheduleList.size()));
+
+            Map<Long, List<Interviewer>> interviewersBySlot = indexBySlot(SlotBitmap.of(chunk), interviewerList, minInterviewers);
+
+            for (Schedule candidateSchedule : chunk) {
+                List<Interviewer> availableInterviewerList = interviewersBySlot.get(SlotBitmap.toEpochHour(candidateSchedule));
+                if (availableInterviewerList != null) {
+                    availableMeetingList.add(new AvailableMeeting(candidateSchedule, availableInterviewerList));
+                    if (availableMeetingList.size() >= limit) {
+                        break;
+                    }
+                }
+            }
+        }
+        return availableMeetingList;
+    }
+
+    //interviewers are scanned once for every candidate
+    @Override
+    public Map<Long, List<AvailableMeeting>> matchBatch(Map<Long, List<Schedule>> candidateScheduleMap,
+                                                        List<PersonAvailability<Interviewer>> interviewerList, int limit, int minInterviewers) {
+        SlotBitmap candidateSlots = new SlotBitmap();
+        candidateScheduleMap.values().forEach(candidateScheduleList ->
+                candidateScheduleList.forEach(schedule -> candidateSlots.set(SlotBitmap.toEpochHour(schedule))));
+        Map<Long, List<Interviewer>> interviewersBySlot = indexBySlot(candidateSlots, interviewerList, minInterviewers);
+
+        Map<Long, List<AvailableMeeting>> availableMeetingMap = new LinkedHashMap<>();
+        candidateScheduleMap.forEach((candidateId, candidateScheduleList) -> {
+            List<AvailableMeeting> availableMeetingList = new ArrayList<>();
+            for (Schedule candidateSchedule : candidateScheduleList) {
+                if (availableMeetingList.size() >= limit) {
+                    break;
+                }
+                List<Interviewer> availableInterviewerList = interviewersBySlot.get(SlotBitmap.toEpochHour(candidateSchedule));
+                if (availableInterviewerList != null) {
+                    availableMeetingList.add(new AvailableMeeting(candidateSchedule, new ArrayList<>(availableInterviewerList)));
+                }
+            }
+            availableMeetingMap.put(candidateId, availableMeetingList);
+        });
+        return availableMeetingMap;
+    }
+
+    //slots below the quorum are dropped from the bitmaps before any interviewer list is built
+    private Map<Long, List<Interviewer>> indexBySlot(SlotBitmap candidateSlots, List<PersonAvailability<Interviewer>> interviewerList, int minInterviewers) {
+        List<SlotBitmap> matchedSlotsList = interviewerList
+                .stream()
+                .map(availability -> availability.getFreeSlots().and(candidateSlots))
+                .toList();
+        if (minInterviewers > 1) {
+            SlotBitmap quorumSlots = SlotBitmap.atLeast(matchedSlotsList, minInterviewers);
+            matchedSlotsList = matchedSlotsList
+                    .stream()
+                    .map(matchedSlots -> matchedSlots.and(quorumSlots))
+                    .toList();
+        }
+
+        Map<Long, List<Interviewer>> interviewersBySlot = new HashMap<>();
+        for (int i = 0; i < interviewerList.size(); i++) {
+            Interviewer interviewer = interviewerList.get(i).getPerson();
+            matchedSlotsList
+                    .get(i)
+                    .forEach(epochHour -> interviewersBySlot.computeIfAbsent(epochHour, slot -> new ArrayList<>()).add(interviewer));
+        }
+        return interviewersBySlot;
+    }
+}
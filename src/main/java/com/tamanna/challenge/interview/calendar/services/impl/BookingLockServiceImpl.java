@@ -0,0 +1,119 @@
+package com.tamanna.challenge.interview.calendar.services.impl;
+
+import com.tamanna.challenge.interview.calendar.configurations.MeetingBookingKeys;
+import com.tamanna.challenge.interview.calendar.exceptions.ConflictException;
+import com.tamanna.challenge.interview.calendar.exceptions.ServiceException;
+import com.tamanna.challenge.interview.calendar.services.BookingLockService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * @author tlferreira
+ */
+//people are hashed onto a fixed array of locks, bookings sharing a person are serialised and the others run in parallel
+@Log4j2
+@Service
+public class BookingLockServiceImpl implements BookingLockService {
+    private static final Handle NO_LOCK = () -> {
+    };
+
+    private final boolean enabled;
+    private final long timeoutNanos;
+    private final ReentrantLock[] stripes;
+
+    private final Timer waitTimer;
+    private final Counter contendedCounter;
+    private final Counter timeoutCounter;
+
+    public BookingLockServiceImpl(MeetingBookingKeys meetingBookingKeys, MeterRegistry meterRegistry) {
+        MeetingBookingKeys.Lock lockKeys = meetingBookingKeys.getLock();
+        this.enabled = lockKeys.isEnabled();
+        this.timeoutNanos = lockKeys.getTimeout().toNanos();
+
+        int stripeCount = 1;
+        while (stripeCount < lockKeys.getStripes()) {
+            stripeCount <<= 1;
+        }
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        log.info("Booking locks enabled: {}, stripes: {}", enabled, stripeCount);
+
+        this.waitTimer = Timer
+                .builder("booking.lock.wait")
+                .description("Time waiting for the booking locks of the people involved")
+                .register(meterRegistry);
+        this.contendedCounter = Counter
+                .builder("booking.lock.contended")
+                .description("Booking lock stripes already held by another booking")
+                .register(meterRegistry);
+        this.timeoutCounter = Counter
+                .builder("booking.lock.timeout")
+                .description("Bookings that gave up waiting for a lock")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Handle lock(Collection<Long> personIdList) throws ServiceException {
+        if (!enabled) {
+            return NO_LOCK;
+        }
+
+        //ascending stripe order on every path, so two bookings never wait on each other in a cycle
+        int[] stripeIndexes = personIdList
+                .stream()
+                .mapToInt(this::stripeIndex)
+                .distinct()
+                .sorted()
+                .toArray();
+
+        List<ReentrantLock> acquiredList = new ArrayList<>(stripeIndexes.length);
+        long start = System.nanoTime();
+        long deadline = start + timeoutNanos;
+        try {
+            for (int stripeIndex : stripeIndexes) {
+                ReentrantLock stripe = stripes[stripeIndex];
+                if (!stripe.tryLock()) {
+                    contendedCounter.increment();
+                    if (!stripe.tryLock(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                        timeoutCounter.increment();
+                        throw new ConflictException("Timed out waiting for a concurrent booking of the same people");
+                    }
+                }
+                acquiredList.add(stripe);
+            }
+        } catch (InterruptedException e) {
+            release(acquiredList);
+            Thread.currentThread().interrupt();
+            throw new ServiceException("Interrupted while waiting for booking lock", e);
+        } catch (RuntimeException e) {
+            release(acquiredList);
+            throw e;
+        } finally {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return () -> release(acquiredList);
+    }
+
+    private int stripeIndex(long personId) {
+        //sequential ids are spread before masking
+        int hash = Long.hashCode(personId * 0x9E3779B97F4A7C15L);
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+
+    private void release(List<ReentrantLock> acquiredList) {
+        for (int i = acquiredList.size() - 1; i >= 0; i--) {
+            acquiredList.get(i).unlock();
+        }
+    }
+}
@@ -3,10 +3,13 @@ package com.tamanna.challenge.interview.calendar.services.impl;
 import com.tamanna.challenge.interview.calendar.entities.jpa.Candidate;
 import com.tamanna.challenge.interview.calendar.entities.enums.PersonType;
 import com.tamanna.challenge.interview.calendar.repositories.ScheduleRepository;
+import com.tamanna.challenge.interview.calendar.services.AvailabilityIndexService;
 import com.tamanna.challenge.interview.calendar.services.CandidateScheduleService;
 import com.tamanna.challenge.interview.calendar.services.CandidateService;
+import com.tamanna.challenge.interview.calendar.services.OutboxService;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * @author tlferreira
@@ -14,7 +17,7 @@ import org.springframework.stereotype.Service;
 @Log4j2
 @Service
 public class CandidateScheduleServiceImpl extends AbstractPersonScheduleServiceImpl<Candidate> implements CandidateScheduleService {
-    public CandidateScheduleServiceImpl(ScheduleRepository scheduleRepository, CandidateService candidateService) {
-        super(scheduleRepository, candidateService, PersonType.CANDIDATE);
+    public CandidateScheduleServiceImpl(ScheduleRepository scheduleRepository, CandidateService candidateService, AvailabilityIndexService availabilityIndexService, TransactionTemplate transactionTemplate, OutboxService outboxService) {
+        super(scheduleRepository, candidateService, availabilityIndexService, PersonType.CANDIDATE, transactionTemplate, outboxService);
     }
 }
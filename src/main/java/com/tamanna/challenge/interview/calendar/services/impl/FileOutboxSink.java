@@ -0,0 +1,36 @@
+package com.tamanna.challenge.interview.calendar.services.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tamanna.challenge.interview.calendar.dtos.OutboxEventDTO;
+import com.tamanna.challenge.interview.calendar.services.OutboxSink;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author tlferreira
+ */
+//one JSON document per line, a batch is appended with a single write
+public class FileOutboxSink implements OutboxSink {
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    public FileOutboxSink(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public int send(List<OutboxEventDTO> eventList) throws IOException {
+        List<String> lineList = new ArrayList<>(eventList.size());
+        for (OutboxEventDTO event : eventList) {
+            lineList.add(objectMapper.writeValueAsString(event));
+        }
+        Files.write(path, lineList, StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        return eventList.size();
+    }
+}
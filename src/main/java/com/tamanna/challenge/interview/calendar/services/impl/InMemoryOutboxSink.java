@@ -0,0 +1,45 @@
+package com.tamanna.challenge.interview.calendar.services.impl;
+
+import com.tamanna.challenge.interview.calendar.dtos.OutboxEventDTO;
+import com.tamanna.challenge.interview.calendar.services.OutboxSink;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * @author tlferreira
+ */
+//bounded, once full the events wait in the outbox table until consumers catch up
+//the queue is only drained by consumers in the same process, queued events are lost on restart
+public class InMemoryOutboxSink implements OutboxSink {
+    private final BlockingQueue<OutboxEventDTO> queue;
+
+    public InMemoryOutboxSink(int capacity) {
+        this.queue = new LinkedBlockingQueue<>(capacity);
+    }
+
+    @Override
+    public int send(List<OutboxEventDTO> eventList) {
+        int sent = 0;
+        for (OutboxEventDTO event : eventList) {
+            if (!queue.offer(event)) {
+                break;
+            }
+            sent++;
+        }
+        return sent;
+    }
+
+    //for in-process consumers, never blocks
+    public List<OutboxEventDTO> poll(int maxEvents) {
+        List<OutboxEventDTO> eventList = new ArrayList<>();
+        queue.drainTo(eventList, maxEvents);
+        return eventList;
+    }
+
+    public int size() {
+        return queue.size();
+    }
+}
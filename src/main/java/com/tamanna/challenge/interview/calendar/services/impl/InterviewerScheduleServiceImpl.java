@@ -3,10 +3,13 @@ package com.tamanna.challenge.interview.calendar.services.impl;
 import com.tamanna.challenge.interview.calendar.entities.enums.PersonType;
 import com.tamanna.challenge.interview.calendar.entities.jpa.Interviewer;
 import com.tamanna.challenge.interview.calendar.repositories.ScheduleRepository;
+import com.tamanna.challenge.interview.calendar.services.AvailabilityIndexService;
 import com.tamanna.challenge.interview.calendar.services.InterviewerScheduleService;
 import com.tamanna.challenge.interview.calendar.services.InterviewerService;
+import com.tamanna.challenge.interview.calendar.services.OutboxService;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * @author tlferreira
@@ -14,7 +17,7 @@ import org.springframework.stereotype.Service;
 @Log4j2
 @Service
 public class InterviewerScheduleServiceImpl extends AbstractPersonScheduleServiceImpl<Interviewer> implements InterviewerScheduleService {
-    public InterviewerScheduleServiceImpl(ScheduleRepository scheduleRepository, InterviewerService interviewerService) {
-        super(scheduleRepository, interviewerService, PersonType.INTERVIEWER);
+    public InterviewerScheduleServiceImpl(ScheduleRepository scheduleRepository, InterviewerService interviewerService, AvailabilityIndexService availabilityIndexService, TransactionTemplate transactionTemplate, OutboxService outboxService) {
+        super(scheduleRepository, interviewerService, availabilityIndexService, PersonType.INTERVIEWER, transactionTemplate, outboxService);
     }
 }
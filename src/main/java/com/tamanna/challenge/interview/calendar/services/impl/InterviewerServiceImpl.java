@@ -1,19 +1,163 @@
 package com.tamanna.challenge.interview.calendar.services.impl;
 
 import com.tamanna.challenge.interview.calendar.configurations.PhoneNumberValidationKeys;
+import com.tamanna.challenge.interview.calendar.entities.PersonAvailability;
+import com.tamanna.challenge.interview.calendar.entities.SlotBitmap;
+import com.tamanna.challenge.interview.calendar.entities.enums.PersonType;
 import com.tamanna.challenge.interview.calendar.entities.jpa.Interviewer;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Schedule;
+import com.tamanna.challenge.interview.calendar.entities.projections.PersonView;
+import com.tamanna.challenge.interview.calendar.exceptions.ServiceException;
 import com.tamanna.challenge.interview.calendar.repositories.InterviewerRepository;
+import com.tamanna.challenge.interview.calendar.repositories.ScheduleRepository;
+import com.tamanna.challenge.interview.calendar.services.AvailabilityIndexService;
 import com.tamanna.challenge.interview.calendar.services.InterviewerService;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
 /**
  * @author tlferreira
  */
 @Log4j2
 @Service
 public class InterviewerServiceImpl extends AbstractPersonServiceImpl<Interviewer, InterviewerRepository> implements InterviewerService {
-    public InterviewerServiceImpl(InterviewerRepository personRepository, PhoneNumberValidationKeys phoneNumberValidationKeys) {
-        super(personRepository, phoneNumberValidationKeys);
+    private static final LocalDate MAX_DAY = LocalDate.of(9999, 12, 31);
+    private static final int MAX_INDEX_ATTEMPTS = 3;
+
+    private final AvailabilityIndexService availabilityIndexService;
+    private final ScheduleRepository scheduleRepository;
+    private final InterviewerRepository interviewerRepository;
+
+    public InterviewerServiceImpl(InterviewerRepository personRepository, PhoneNumberValidationKeys phoneNumberValidationKeys,
+                                  AvailabilityIndexService availabilityIndexService, ScheduleRepository scheduleRepository) {
+        super(personRepository, phoneNumberValidationKeys, availabilityIndexService);
+        this.availabilityIndexService = availabilityIndexService;
+        this.scheduleRepository = scheduleRepository;
+        this.interviewerRepository = personRepository;
+    }
+
+    @Override
+    public List<Interviewer> findAvailable(LocalDate day, int hour) throws ServiceException {
+        log.debug("Start findAvailable");
+        boolean success = true;
+        try {
+            ensureIndexComplete();
+
+            List<Interviewer> interviewerList = new ArrayList<>();
+            List<Long> missingIdList = new ArrayList<>();
+            for (Long interviewerId : new TreeSet<>(availabilityIndexService.findFreeInterviewerIds(SlotBitmap.toEpochHour(day, hour)))) {
+                availabilityIndexService
+                        .findAvailability(interviewerId, Interviewer.class)
+                        .map(PersonAvailability::getPerson)
+                        .ifPresentOrElse(interviewerList::add, () -> missingIdList.add(interviewerId));
+            }
+            //only when a cache entry was dropped between the index lookup and now
+            if (!missingIdList.isEmpty()) {
+                interviewerList.addAll(findAll(missingIdList));
+            }
+            return interviewerList;
+        } catch (Exception e) {
+            success = false;
+            log.error("Unable to findAvailable, Exception: ", e);
+            throw new ServiceException("Error findAvailable", e);
+        } finally {
+            log.debug("Finished findAvailable, success: {}", success);
+        }
+    }
+
+    @Override
+    public Set<Long> findAvailableIds(Collection<Long> epochHourList) throws ServiceException {
+        log.debug("Start findAvailableIds");
+        boolean success = true;
+        try {
+            ensureIndexComplete();
+
+            Set<Long> interviewerIds = new TreeSet<>();
+            epochHourList.forEach(epochHour -> interviewerIds.addAll(availabilityIndexService.findFreeInterviewerIds(epochHour)));
+            return interviewerIds;
+        } catch (Exception e) {
+            success = false;
+            log.error("Unable to findAvailableIds, Exception: ", e);
+            throw new ServiceException("Error findAvailableIds", e);
+        } finally {
+            log.debug("Finished findAvailableIds, success: {}", success);
+        }
+    }
+
+    //built before requests are served, so the first lookup only reads the index
+    @EventListener(ApplicationReadyEvent.class)
+    public void populateIndex() {
+        try {
+            ensureIndexComplete();
+        } catch (Exception e) {
+            log.error("Unable to populate interviewer availability index, Exception: ", e);
+        }
+    }
+
+    //loads every interviewer once, afterwards the index is maintained incrementally, lookups only build it when the
+    //startup population failed or was left incomplete
+    private synchronized void ensureIndexComplete() throws ServiceException {
+        if (availabilityIndexService.isInterviewerIndexComplete()) {
+            return;
+        }
+        log.debug("Populating interviewer availability index");
+        List<Long> pendingIdList = indexInterviewers(null);
+        //interviewers changed while being loaded are not cached, complete only once every one of them is
+        for (int attempt = 1; !pendingIdList.isEmpty() && attempt < MAX_INDEX_ATTEMPTS; attempt++) {
+            log.debug("Reloading {} interviewers changed while being indexed", pendingIdList.size());
+            pendingIdList = indexInterviewers(pendingIdList);
+        }
+        if (pendingIdList.isEmpty()) {
+            availabilityIndexService.markInterviewerIndexComplete();
+        } else {
+            log.warn("Interviewer availability index left incomplete, {} interviewers kept changing", pendingIdList.size());
+        }
+    }
+
+    //null loads every interviewer, returns the ids loaded but left out of the cache
+    private List<Long> indexInterviewers(List<Long> interviewerIdList) {
+        //versions are read before anything is loaded, an interviewer changed meanwhile is not cached from this load
+        Map<Long, Long> versionById = new HashMap<>();
+        List<Long> idList = interviewerIdList != null
+                ? interviewerIdList
+                : interviewerRepository.findAllProjectedBy().stream().map(PersonView::getId).toList();
+        idList.forEach(interviewerId -> versionById.put(interviewerId, availabilityIndexService.currentVersion(interviewerId)));
+
+        //the cache keeps the entities, so they are loaded here rather than through the list views
+        List<Interviewer> interviewerList = interviewerIdList != null
+                ? interviewerRepository.findAllById(interviewerIdList)
+                : interviewerRepository.findAll();
+        //one range query for every upcoming free row instead of each interviewer's whole history
+        List<Schedule> scheduleList = interviewerIdList != null
+                ? scheduleRepository.findFreeByPersonIdInAndPersonTypeAndDayBetween(interviewerIdList, PersonType.INTERVIEWER.name(), LocalDate.now(), MAX_DAY)
+                : scheduleRepository.findFreeByPersonTypeAndDayBetween(PersonType.INTERVIEWER.name(), LocalDate.now(), MAX_DAY);
+        Map<Long, List<Schedule>> scheduleMap = scheduleList
+                .stream()
+                .collect(Collectors.groupingBy(schedule -> schedule.getPerson().getId()));
+
+        List<Long> pendingIdList = new ArrayList<>();
+        for (Interviewer interviewer : interviewerList) {
+            //created after the versions were read, createPerson caches them
+            if (!versionById.containsKey(interviewer.getId())) {
+                continue;
+            }
+            availabilityIndexService.getAvailability(interviewer, scheduleMap.getOrDefault(interviewer.getId(), List.of()), versionById.get(interviewer.getId()));
+            if (availabilityIndexService.findAvailability(interviewer.getId(), Interviewer.class).isEmpty()) {
+                pendingIdList.add(interviewer.getId());
+            }
+        }
+        return pendingIdList;
     }
 }
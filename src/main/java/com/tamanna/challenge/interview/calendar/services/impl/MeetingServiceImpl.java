@@ -1,27 +1,59 @@
 package com.tamanna.challenge.interview.calendar.services.impl;
 
+import com.tamanna.challenge.interview.calendar.configurations.MeetingBookingKeys;
+import com.tamanna.challenge.interview.calendar.configurations.MeetingMatchingKeys;
 import com.tamanna.challenge.interview.calendar.entities.AvailableMeeting;
+import com.tamanna.challenge.interview.calendar.entities.BookingRequest;
+import com.tamanna.challenge.interview.calendar.entities.BookingResult;
+import com.tamanna.challenge.interview.calendar.entities.MeetingQuery;
+import com.tamanna.challenge.interview.calendar.entities.MeetingQueryResult;
+import com.tamanna.challenge.interview.calendar.entities.PersonAvailability;
+import com.tamanna.challenge.interview.calendar.entities.SlotBitmap;
+import com.tamanna.challenge.interview.calendar.entities.SlotHold;
+import com.tamanna.challenge.interview.calendar.entities.SlotMatch;
+import com.tamanna.challenge.interview.calendar.entities.enums.BookingStatus;
+import com.tamanna.challenge.interview.calendar.entities.enums.MatchingSource;
+import com.tamanna.challenge.interview.calendar.entities.enums.OutboxEventType;
+import com.tamanna.challenge.interview.calendar.entities.enums.PersonType;
 import com.tamanna.challenge.interview.calendar.entities.jpa.*;
+import com.tamanna.challenge.interview.calendar.exceptions.ConflictException;
 import com.tamanna.challenge.interview.calendar.exceptions.NotFoundException;
 import com.tamanna.challenge.interview.calendar.exceptions.NotModifiedException;
 import com.tamanna.challenge.interview.calendar.exceptions.ServiceException;
 import com.tamanna.challenge.interview.calendar.repositories.BookingRepository;
 import com.tamanna.challenge.interview.calendar.repositories.ScheduleRepository;
+import com.tamanna.challenge.interview.calendar.services.AvailabilityIndexService;
+import com.tamanna.challenge.interview.calendar.services.BookingLockService;
 import com.tamanna.challenge.interview.calendar.services.CandidateService;
 import com.tamanna.challenge.interview.calendar.services.InterviewerService;
+import com.tamanna.challenge.interview.calendar.services.MeetingMatchingEngine;
 import com.tamanna.challenge.interview.calendar.services.MeetingService;
+import com.tamanna.challenge.interview.calendar.services.OutboxService;
+import com.tamanna.challenge.interview.calendar.services.SlotHoldService;
 import lombok.AllArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.function.Predicate;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
-import static com.tamanna.challenge.interview.calendar.services.ServiceUtils.listPersonToIdString;
 import static com.tamanna.challenge.interview.calendar.services.ServiceUtils.listToString;
 
 /**
@@ -31,21 +63,78 @@ import static com.tamanna.challenge.interview.calendar.services.ServiceUtils.lis
 @AllArgsConstructor
 @Service
 public class MeetingServiceImpl implements MeetingService {
+    //beforeDay used when the query has no upper bound, hour 24 keeps the whole day in range
+    private static final LocalDate MAX_DAY = LocalDate.of(9999, 12, 31);
+    private static final String INVALID_HOLD_MESSAGE = "Hold expired or taken for another meeting";
+
     private final InterviewerService interviewerService;
     private final CandidateService candidateService;
 
     private final BookingRepository bookingRepository;
     private final ScheduleRepository scheduleRepository;
 
+    private final AvailabilityIndexService availabilityIndexService;
+    private final MeetingMatchingEngine meetingMatchingEngine;
+    private final MeetingMatchingKeys meetingMatchingKeys;
+    private final MeetingBookingKeys meetingBookingKeys;
+    private final TransactionTemplate transactionTemplate;
+    private final BookingLockService bookingLockService;
+    private final SlotHoldService slotHoldService;
+    private final OutboxService outboxService;
+
     @Override
     public List<AvailableMeeting> queryMeeting(long candidateId, List<Long> interviewerIdList) throws ServiceException {
+        return queryMeeting(MeetingQuery
+                .builder()
+                .candidateId(candidateId)
+                .interviewerIdList(interviewerIdList)
+                .build());
+    }
+
+    @Override
+    public List<AvailableMeeting> queryMeeting(MeetingQuery meetingQuery) throws ServiceException {
         log.debug("Start queryMeeting");
         boolean success = true;
         try {
-            List<Schedule> candidateScheduleList = getCandidateSchedules(candidateId);
-            List<Interviewer> interviewerList = getInterviewers(interviewerIdList);
+            if (meetingQuery.getLimit() < 1) {
+                throw new IllegalArgumentException("Invalid limit, must be greater than 0");
+            }
+            if (meetingQuery.getMinInterviewers() < 1) {
+                throw new IllegalArgumentException("Invalid minInterviewers, must be greater than 0");
+            }
+
+            //slots are exclusive on both ends
+            long nowSlot = getNowSlot();
+            long afterSlot = getAfterSlot(meetingQuery, nowSlot);
+            long beforeSlot = meetingQuery.getTo() == null ? Long.MAX_VALUE : SlotBitmap.ceilEpochHour(meetingQuery.getTo());
+
+            //slots held by others are dropped after the match, so it is asked for enough extra slots to still fill the limit
+            int matchLimit = (int) Math.min(Integer.MAX_VALUE, (long) meetingQuery.getLimit() + slotHoldService.heldSlotCount());
+            if (meetingMatchingKeys.getSource() == MatchingSource.DATABASE) {
+                return excludeHeld(meetingQuery.getCandidateId(), queryMeetingInDatabase(meetingQuery, afterSlot, beforeSlot, matchLimit), meetingQuery);
+            }
+
+            PersonAvailability<Candidate> candidateAvailability = getCandidateAvailability(meetingQuery.getCandidateId(), nowSlot, afterSlot, beforeSlot);
+
+            //an empty window is not an error, the client may have paged past the last slot
+            List<Schedule> candidateScheduleList = candidateAvailability.getFreeScheduleList(afterSlot, beforeSlot);
+            if (candidateScheduleList.isEmpty()) {
+                return new ArrayList<>();
+            }
+            List<Long> interviewerIdList = meetingQuery.getInterviewerIdList();
+            if (interviewerIdList.isEmpty()) {
+                //only interviewers free in at least one of the candidate slots take part in the match
+                interviewerIdList = new ArrayList<>(interviewerService.findAvailableIds(candidateScheduleList
+                        .stream()
+                        .map(SlotBitmap::toEpochHour)
+                        .toList()));
+                if (interviewerIdList.isEmpty()) {
+                    return new ArrayList<>();
+                }
+            }
+            List<PersonAvailability<Interviewer>> interviewerList = getInterviewerAvailabilities(interviewerIdList, afterSlot, beforeSlot);
 
-            return getAvailableInterviewerList(candidateScheduleList, interviewerList);
+            return excludeHeld(meetingQuery.getCandidateId(), meetingMatchingEngine.match(candidateScheduleList, interviewerList, matchLimit, meetingQuery.getMinInterviewers()), meetingQuery);
         } catch (NotFoundException | IllegalArgumentException | ServiceException e) {
             success = false;
             log.error("Unable to queryMeeting, Exception: ", e);
@@ -60,43 +149,92 @@ public class MeetingServiceImpl implements MeetingService {
     }
 
     @Override
-    public Booking bookMeeting(long scheduleId, long candidateId, List<Long> interviewerIdList) throws ServiceException {
-        log.debug("Start bookMeeting");
+    public Map<Long, MeetingQueryResult> queryMeetingBatch(List<Long> candidateIdList, List<Long> interviewerIdList, int minInterviewers) throws ServiceException {
+        log.debug("Start queryMeetingBatch");
         boolean success = true;
         try {
-            log.debug("Going to get to check if meeting is available");
-            List<AvailableMeeting> availableMeetings = queryMeeting(candidateId, interviewerIdList);
-
-            AvailableMeeting availableMeeting = availableMeetings
-                    .stream()
-                    .filter(meeting -> meeting.getCandidateSchedule().getId() == scheduleId)
-                    .findFirst()
-                    .orElseThrow(() -> new NotFoundException("Unable to find available meeting"));
-
-            if (availableMeeting.getInterviewerList().size() < interviewerIdList.size()) {
-                throw new NotModifiedException(String.format("Not all Interviewers are available, Requested:[%s], Available:[%s]",
-                        listToString(interviewerIdList),
-                        listPersonToIdString(availableMeeting.getInterviewerList())));
+            if (minInterviewers < 1) {
+                throw new IllegalArgumentException("Invalid minInterviewers, must be greater than 0");
+            }
+            List<Long> distinctCandidateIdList = candidateIdList.stream().distinct().toList();
+            long nowSlot = getNowSlot();
+
+            Set<Long> foundIdSet = new HashSet<>();
+            Map<Long, List<AvailableMeeting>> matchedMap;
+            if (meetingMatchingKeys.getSource() == MatchingSource.DATABASE) {
+                candidateService.findAll(distinctCandidateIdList).forEach(candidate -> foundIdSet.add(candidate.getId()));
+                matchedMap = queryMeetingBatchInDatabase(new ArrayList<>(foundIdSet), interviewerIdList, minInterviewers, nowSlot);
+            } else {
+                Map<Long, List<Schedule>> candidateScheduleMap = new LinkedHashMap<>();
+                for (PersonAvailability<Candidate> candidateAvailability : getCandidateAvailabilities(distinctCandidateIdList)) {
+                    candidateScheduleMap.put(candidateAvailability.getPerson().getId(), candidateAvailability.getFreeScheduleList(nowSlot, Long.MAX_VALUE));
+                }
+                foundIdSet.addAll(candidateScheduleMap.keySet());
+
+                List<Long> matchInterviewerIdList = interviewerIdList;
+                if (matchInterviewerIdList.isEmpty()) {
+                    matchInterviewerIdList = new ArrayList<>(interviewerService.findAvailableIds(candidateScheduleMap
+                            .values()
+                            .stream()
+                            .flatMap(List::stream)
+                            .map(SlotBitmap::toEpochHour)
+                            .distinct()
+                            .toList()));
+                }
+
+                matchedMap = matchInterviewerIdList.isEmpty() || candidateScheduleMap.isEmpty()
+                        ? Map.of()
+                        : meetingMatchingEngine.matchBatch(candidateScheduleMap, getInterviewerAvailabilities(matchInterviewerIdList, getNowSlot(), Long.MAX_VALUE), Integer.MAX_VALUE, minInterviewers);
             }
 
+            //an unknown candidate only fails its own result
+            MeetingQuery meetingQuery = MeetingQuery
+                    .builder()
+                    .minInterviewers(minInterviewers)
+                    .build();
+            Map<Long, MeetingQueryResult> meetingQueryResultMap = new LinkedHashMap<>();
+            for (Long candidateId : distinctCandidateIdList) {
+                meetingQueryResultMap.put(candidateId, foundIdSet.contains(candidateId)
+                        ? MeetingQueryResult.found(excludeHeld(candidateId, matchedMap.getOrDefault(candidateId, new ArrayList<>()), meetingQuery))
+                        : MeetingQueryResult.notFound("Unable to find candidate"));
+            }
+            return meetingQueryResultMap;
+        } catch (NotFoundException | IllegalArgumentException | ServiceException e) {
+            success = false;
+            log.error("Unable to queryMeetingBatch, Exception: ", e);
+            throw e;
+        } catch (Exception e) {
+            success = false;
+            log.error("Unable to queryMeetingBatch, Exception: ", e);
+            throw new ServiceException("Error queryMeetingBatch", e);
+        } finally {
+            log.debug("Finished queryMeetingBatch, success: {}", success);
+        }
+    }
 
-            Booking booking = new Booking();
-
-            booking.setOwnerSchedule(availableMeeting.getCandidateSchedule());
-            booking.setChildrenScheduleList(getInterviewersSchedules(availableMeeting));
-
-            Booking savedBooking = bookingRepository.save(booking);
-
-            List<Schedule> schedulesToSave = new ArrayList<>(savedBooking.getChildrenScheduleList());
-            schedulesToSave.forEach(schedule -> schedule.setParentBooking(savedBooking));
-
-            savedBooking.getOwnerSchedule().setOwnedBooking(savedBooking);
-            schedulesToSave.add(savedBooking.getOwnerSchedule());
-
-            scheduleRepository.saveAll(schedulesToSave);
+    @Override
+    public Booking bookMeeting(long scheduleId, long candidateId, List<Long> interviewerIdList) throws ServiceException {
+        return bookMeeting(scheduleId, candidateId, interviewerIdList, null);
+    }
 
-            return savedBooking;
-        } catch (NotFoundException | NotModifiedException | IllegalArgumentException | ServiceException e) {
+    @Override
+    public Booking bookMeeting(long scheduleId, long candidateId, List<Long> interviewerIdList, String holdId) throws ServiceException {
+        log.debug("Start bookMeeting");
+        boolean success = true;
+        try {
+            List<Long> personIdList = new ArrayList<>(interviewerIdList);
+            personIdList.add(candidateId);
+            //held until the transaction commits, so the next booking of the same people sees it
+            try (BookingLockService.Handle ignored = bookingLockService.lock(personIdList)) {
+                SlotHold slotHold = holdId == null ? null : findOwnHold(holdId, scheduleId, candidateId);
+                Booking booking = executeWithRetry("bookMeeting", () -> doBookMeeting(scheduleId, candidateId, interviewerIdList, slotHold));
+                //the hold is converted into the booking
+                if (slotHold != null) {
+                    slotHoldService.release(slotHold.getId());
+                }
+                return booking;
+            }
+        } catch (NotFoundException | NotModifiedException | ConflictException | IllegalArgumentException | ServiceException e) {
             success = false;
             log.error("Unable to bookMeeting, Exception: ", e);
             throw e;
@@ -109,13 +247,95 @@ public class MeetingServiceImpl implements MeetingService {
         }
     }
 
+    @Override
+    public List<BookingResult> bookMeetingBatch(List<BookingRequest> bookingRequestList) throws ServiceException {
+        log.debug("Start bookMeetingBatch");
+        boolean success = true;
+        try {
+            if (bookingRequestList.isEmpty()) {
+                return new ArrayList<>();
+            }
+            Set<Long> personIdSet = new HashSet<>();
+            bookingRequestList.forEach(bookingRequest -> {
+                personIdSet.add(bookingRequest.getCandidateId());
+                personIdSet.addAll(bookingRequest.getInterviewerIdList());
+            });
+            try (BookingLockService.Handle ignored = bookingLockService.lock(personIdSet)) {
+                List<BookingResult> bookingResultList;
+                try {
+                    bookingResultList = executeWithRetry("bookMeetingBatch", () -> doBookMeetingBatch(bookingRequestList));
+                } catch (ConflictException e) {
+                    log.warn("Conflicting batch of {} bookings, booking them one at a time", bookingRequestList.size());
+                    bookingResultList = bookEachMeeting(bookingRequestList);
+                }
+                bookingResultList
+                        .stream()
+                        .filter(bookingResult -> bookingResult.getStatus() == BookingStatus.BOOKED && bookingResult.getRequest().getHoldId() != null)
+                        .forEach(bookingResult -> slotHoldService.release(bookingResult.getRequest().getHoldId()));
+                return bookingResultList;
+            }
+        } catch (ConflictException | IllegalArgumentException | ServiceException e) {
+            success = false;
+            log.error("Unable to bookMeetingBatch, Exception: ", e);
+            throw e;
+        } catch (Exception e) {
+            success = false;
+            log.error("Unable to bookMeetingBatch, Exception: ", e);
+            throw new ServiceException("Error bookMeetingBatch", e);
+        } finally {
+            log.debug("Finished bookMeetingBatch, success: {}", success);
+        }
+    }
+
+    @Override
+    public SlotHold holdMeeting(long scheduleId, long candidateId, List<Long> interviewerIdList) throws ServiceException {
+        log.debug("Start holdMeeting");
+        boolean success = true;
+        try {
+            List<Long> personIdList = new ArrayList<>(interviewerIdList);
+            personIdList.add(candidateId);
+            //no booking of the same people can start between the availability check and the hold
+            try (BookingLockService.Handle ignored = bookingLockService.lock(personIdList)) {
+                Booking booking = newBooking(scheduleId, candidateId, interviewerIdList, null);
+                return slotHoldService.hold(scheduleId, candidateId, interviewerIdList, SlotBitmap.toEpochHour(booking.getOwnerSchedule()));
+            }
+        } catch (NotFoundException | NotModifiedException | ConflictException | IllegalArgumentException | ServiceException e) {
+            success = false;
+            log.error("Unable to holdMeeting, Exception: ", e);
+            throw e;
+        } catch (Exception e) {
+            success = false;
+            log.error("Unable to holdMeeting, Exception: ", e);
+            throw new ServiceException("Error holdMeeting", e);
+        } finally {
+            log.debug("Finished holdMeeting, success: {}", success);
+        }
+    }
+
+    @Override
+    public Optional<SlotHold> releaseHold(String holdId) throws ServiceException {
+        log.debug("Start releaseHold");
+        boolean success = true;
+        try {
+            return slotHoldService.release(holdId);
+        } catch (Exception e) {
+            success = false;
+            log.error("Unable to releaseHold, Exception: ", e);
+            throw new ServiceException("Error releaseHold", e);
+        } finally {
+            log.debug("Finished releaseHold, success: {}", success);
+        }
+    }
+
     @Override
     public Optional<Booking> getMeeting(long id) throws ServiceException {
         log.debug("Start getMeeting");
         boolean success = true;
         try {
             return bookingRepository
-                    .findById(id);
+                    .findAllWithSchedulesByIdIn(List.of(id))
+                    .stream()
+                    .findFirst();
         } catch (NotFoundException | IllegalArgumentException e) {
             success = false;
             log.error("Unable to getMeeting, Exception: ", e);
@@ -134,17 +354,19 @@ public class MeetingServiceImpl implements MeetingService {
         log.debug("Start cancelMeeting");
         boolean success = true;
         try {
-            Optional<Booking> bookingOpt = bookingRepository.findById(id);
-            if (bookingOpt.isPresent()) {
-                Booking booking = bookingOpt.get();
-
-                booking.getOwnerSchedule().setOwnedBooking(null);
-                booking.getChildrenScheduleList().forEach(schedule -> schedule.setParentBooking(null));
+            //children and people are fetched with the booking, they are read outside of any transaction
+            Optional<Booking> bookingOpt = bookingRepository.findAllWithSchedulesByIdIn(List.of(id)).stream().findFirst();
+            if (bookingOpt.isEmpty()) {
+                return bookingOpt;
+            }
 
-                bookingRepository.delete(booking);
+            List<Long> personIdList = new ArrayList<>();
+            personIdList.add(bookingOpt.get().getOwnerSchedule().getPerson().getId());
+            bookingOpt.get().getChildrenScheduleList().forEach(schedule -> personIdList.add(schedule.getPerson().getId()));
+            try (BookingLockService.Handle ignored = bookingLockService.lock(personIdList)) {
+                return executeWithRetry("cancelMeeting", () -> cancelBookings(List.of(bookingOpt.get())).stream().findFirst());
             }
-            return bookingOpt;
-        } catch (NotFoundException | IllegalArgumentException e) {
+        } catch (NotFoundException | ConflictException | IllegalArgumentException | ServiceException e) {
             success = false;
             log.error("Unable to cancelMeeting, Exception: ", e);
             throw e;
@@ -157,6 +379,52 @@ public class MeetingServiceImpl implements MeetingService {
         }
     }
 
+    @Override
+    public List<Booking> cancelInterviewerMeetings(long interviewerId, LocalDateTime from, LocalDateTime to) throws ServiceException {
+        log.debug("Start cancelInterviewerMeetings");
+        boolean success = true;
+        try {
+            interviewerService
+                    .findById(interviewerId)
+                    .orElseThrow(() -> new NotFoundException("Unable to find interviewer"));
+
+            //slots are inclusive at the start and exclusive at the end
+            LocalDateTime fromSlot = SlotBitmap.toDateTime(from == null ? getNowSlot() + 1 : SlotBitmap.ceilEpochHour(from));
+            LocalDate toDay = MAX_DAY;
+            int toHour = 24;
+            if (to != null) {
+                LocalDateTime toSlot = SlotBitmap.toDateTime(SlotBitmap.ceilEpochHour(to));
+                toDay = toSlot.toLocalDate();
+                toHour = toSlot.getHour();
+            }
+            if (!fromSlot.toLocalDate().isBefore(toDay) && (!fromSlot.toLocalDate().equals(toDay) || fromSlot.getHour() >= toHour)) {
+                return new ArrayList<>();
+            }
+
+            List<Long> bookingIdList = scheduleRepository.findParentBookingIdsByPersonIdAndSlotBetween(interviewerId, fromSlot.toLocalDate(), fromSlot.getHour(), toDay, toHour);
+            if (bookingIdList.isEmpty()) {
+                return new ArrayList<>();
+            }
+            List<Booking> bookingList = bookingRepository.findAllWithSchedulesByIdIn(bookingIdList);
+
+            Set<Long> personIdSet = new HashSet<>();
+            bookingList.forEach(booking -> getBookingSchedules(booking).forEach(schedule -> personIdSet.add(schedule.getPerson().getId())));
+            try (BookingLockService.Handle ignored = bookingLockService.lock(personIdSet)) {
+                return executeWithRetry("cancelInterviewerMeetings", () -> cancelBookings(bookingList));
+            }
+        } catch (NotFoundException | ConflictException | IllegalArgumentException | ServiceException e) {
+            success = false;
+            log.error("Unable to cancelInterviewerMeetings, Exception: ", e);
+            throw e;
+        } catch (Exception e) {
+            success = false;
+            log.error("Unable to cancelInterviewerMeetings, Exception: ", e);
+            throw new ServiceException("Error cancelInterviewerMeetings", e);
+        } finally {
+            log.debug("Finished cancelInterviewerMeetings, success: {}", success);
+        }
+    }
+
     @Override
     public List<Booking> getCandidateMeetings(long candidateId) throws ServiceException {
         return getPersonMeetings(candidateId, true);
@@ -173,9 +441,9 @@ public class MeetingServiceImpl implements MeetingService {
         try {
             List<Booking> bookingList = new ArrayList<>();
             if (candidate) {
-                bookingList.addAll(bookingRepository.findByOwnerSchedulePersonId(personId));
+                bookingList.addAll(bookingRepository.findAllWithSchedulesByCandidateId(personId));
             } else {
-                bookingList.addAll(bookingRepository.findByChildrenScheduleListPersonId(personId));
+                bookingList.addAll(bookingRepository.findAllWithSchedulesByInterviewerId(personId));
             }
             return bookingList;
         } catch (Exception e) {
@@ -188,95 +456,545 @@ public class MeetingServiceImpl implements MeetingService {
     }
 
 
-    private List<Schedule> getInterviewersSchedules(AvailableMeeting availableMeeting) {
-        LocalDate day = availableMeeting.getCandidateSchedule().getDay();
-        int hour = availableMeeting.getCandidateSchedule().getHour();
+    private Booking doBookMeeting(long scheduleId, long candidateId, List<Long> interviewerIdList, SlotHold slotHold) {
+        Booking booking = newBooking(scheduleId, candidateId, interviewerIdList, slotHold);
 
-        return availableMeeting
-                .getInterviewerList()
+        Booking savedBooking = bookingRepository.save(booking);
+
+        List<Schedule> schedulesToSave = new ArrayList<>(savedBooking.getChildrenScheduleList());
+        schedulesToSave.forEach(schedule -> schedule.setParentBooking(savedBooking));
+
+        savedBooking.getOwnerSchedule().setOwnedBooking(savedBooking);
+        schedulesToSave.add(savedBooking.getOwnerSchedule());
+
+        scheduleRepository.saveAll(schedulesToSave);
+        outboxService.appendBookingEvents(OutboxEventType.MEETING_BOOKED, List.of(savedBooking));
+
+        availabilityIndexService.removeFreeSlot(candidateId, savedBooking.getOwnerSchedule());
+        savedBooking.getChildrenScheduleList().forEach(schedule -> availabilityIndexService.removeFreeSlot(schedule.getPerson().getId(), schedule));
+
+        return savedBooking;
+    }
+
+    //only the requested candidate schedule and the interviewers' rows at the same slot are read, nothing is saved
+    private Booking newBooking(long scheduleId, long candidateId, List<Long> interviewerIdList, SlotHold slotHold) {
+        log.debug("Going to get to check if meeting is available");
+        Schedule ownerSchedule = scheduleRepository
+                .findByIdAndPersonIdAndPersonType(scheduleId, candidateId, PersonType.CANDIDATE.name())
+                .filter(this::isFree)
+                .filter(schedule -> SlotBitmap.toEpochHour(schedule) > getNowSlot())
+                .orElseThrow(() -> new NotFoundException("Unable to find available meeting"));
+        //the schedule may have been moved to another slot since it was held
+        if (slotHold != null && slotHold.getEpochHour() != SlotBitmap.toEpochHour(ownerSchedule)) {
+            throw new IllegalArgumentException(INVALID_HOLD_MESSAGE);
+        }
+
+        List<Long> distinctInterviewerIdList = interviewerIdList.stream().distinct().toList();
+        List<Schedule> childrenScheduleList = scheduleRepository
+                .findByPersonIdInAndPersonTypeAndDayAndHour(distinctInterviewerIdList, PersonType.INTERVIEWER.name(), ownerSchedule.getDay(), ownerSchedule.getHour())
                 .stream()
-                .map(interviewer -> filterBookedSchedules(interviewer.getScheduleList())
-                        .stream()
-                        .filter(this.getPredicateSchedule(day, hour))
-                        .findFirst())
-                .flatMap(Optional::stream)
+                .filter(this::isFree)
                 .toList();
+
+        if (childrenScheduleList.size() < distinctInterviewerIdList.size()) {
+            throw new NotModifiedException(String.format("Not all Interviewers are available, Requested:[%s], Available:[%s]",
+                    listToString(interviewerIdList),
+                    listToString(childrenScheduleList.stream().map(schedule -> schedule.getPerson().getId()).toList())));
+        }
+
+        List<Long> personIdList = new ArrayList<>(distinctInterviewerIdList);
+        personIdList.add(candidateId);
+        findOtherHold(personIdList, SlotBitmap.toEpochHour(ownerSchedule), slotHold == null ? null : slotHold.getId()).ifPresent(otherHold -> {
+            throw new ConflictException(String.format("Slot held until %s", otherHold.getExpiresAt()));
+        });
+
+        Booking booking = new Booking();
+
+        booking.setOwnerSchedule(ownerSchedule);
+        booking.setChildrenScheduleList(new ArrayList<>(childrenScheduleList));
+        return booking;
+    }
+
+    //a hold only lets through, and is only released by, the booking it was taken for
+    private SlotHold findOwnHold(String holdId, long scheduleId, long candidateId) {
+        return slotHoldService
+                .findHold(holdId)
+                .filter(slotHold -> slotHold.getScheduleId() == scheduleId && slotHold.getCandidateId() == candidateId)
+                .orElseThrow(() -> new IllegalArgumentException(INVALID_HOLD_MESSAGE));
     }
 
-    private List<AvailableMeeting> getAvailableInterviewerList(List<Schedule> candidateScheduleList, List<Interviewer> interviewerList) {
-        List<AvailableMeeting> availableInterviewerList = new ArrayList<>();
-        for (Schedule candidateSchedule : candidateScheduleList) {
-            LocalDate day = candidateSchedule.getDay();
-            int hour = candidateSchedule.getHour();
+    //a live hold on any of the people at the slot, other than the caller's own
+    private Optional<SlotHold> findOtherHold(List<Long> personIdList, long epochHour, String holdId) {
+        return personIdList
+                .stream()
+                .map(personId -> slotHoldService.findHold(personId, epochHour))
+                .flatMap(Optional::stream)
+                .filter(slotHold -> !slotHold.getId().equals(holdId))
+                .findFirst();
+    }
 
-            List<Interviewer> filteredInterviewerList = interviewerList
+    //every request is checked against one snapshot read with two queries, rows taken by a request are removed from it
+    //so later requests in the batch see them as booked, all rows are written at commit as JDBC batches
+    private List<BookingResult> doBookMeetingBatch(List<BookingRequest> bookingRequestList) {
+        long nowSlot = getNowSlot();
+        Map<Long, Schedule> candidateScheduleById = scheduleRepository
+                .findFreeByIdInAndPersonType(bookingRequestList.stream().map(BookingRequest::getScheduleId).distinct().toList(), PersonType.CANDIDATE.name())
+                .stream()
+                .filter(schedule -> SlotBitmap.toEpochHour(schedule) > nowSlot)
+                .collect(Collectors.toMap(Schedule::getId, Function.identity()));
+
+        //epoch-hour -> interviewer id -> free schedule
+        Map<Long, Map<Long, Schedule>> interviewerScheduleMap = new HashMap<>();
+        if (!candidateScheduleById.isEmpty()) {
+            LocalDate fromDay = candidateScheduleById.values().stream().map(Schedule::getDay).min(LocalDate::compareTo).orElseThrow();
+            LocalDate toDay = candidateScheduleById.values().stream().map(Schedule::getDay).max(LocalDate::compareTo).orElseThrow();
+            List<Long> interviewerIdList = bookingRequestList.stream().flatMap(bookingRequest -> bookingRequest.getInterviewerIdList().stream()).distinct().toList();
+            scheduleRepository
+                    .findFreeByPersonIdInAndPersonTypeAndDayBetween(interviewerIdList, PersonType.INTERVIEWER.name(), fromDay, toDay)
+                    .forEach(schedule -> interviewerScheduleMap
+                            .computeIfAbsent(SlotBitmap.toEpochHour(schedule), slot -> new HashMap<>())
+                            .put(schedule.getPerson().getId(), schedule));
+        }
+
+        List<BookingResult> bookingResultList = new ArrayList<>();
+        List<Booking> bookingList = new ArrayList<>();
+        for (BookingRequest bookingRequest : bookingRequestList) {
+            Schedule ownerSchedule = candidateScheduleById.get(bookingRequest.getScheduleId());
+            if (ownerSchedule == null || ownerSchedule.getPerson().getId() != bookingRequest.getCandidateId()) {
+                bookingResultList.add(BookingResult.failed(bookingRequest, BookingStatus.NOT_FOUND, "Unable to find available meeting"));
+                continue;
+            }
+
+            Map<Long, Schedule> freeScheduleMap = interviewerScheduleMap.getOrDefault(SlotBitmap.toEpochHour(ownerSchedule), Map.of());
+            List<Long> distinctInterviewerIdList = bookingRequest.getInterviewerIdList().stream().distinct().toList();
+            List<Schedule> childrenScheduleList = distinctInterviewerIdList
                     .stream()
-                    .filter(interviewer -> filterBookedSchedules(interviewer.getScheduleList())
-                            .stream()
-                            .anyMatch(this.getPredicateSchedule(day, hour)))
+                    .map(freeScheduleMap::get)
+                    .filter(Objects::nonNull)
                     .toList();
+            if (childrenScheduleList.size() < distinctInterviewerIdList.size()) {
+                bookingResultList.add(BookingResult.failed(bookingRequest, BookingStatus.NOT_MODIFIED, String.format("Not all Interviewers are available, Requested:[%s], Available:[%s]",
+                        listToString(bookingRequest.getInterviewerIdList()),
+                        listToString(childrenScheduleList.stream().map(schedule -> schedule.getPerson().getId()).toList()))));
+                continue;
+            }
 
-            if (!filteredInterviewerList.isEmpty()) {
-                availableInterviewerList.add(new AvailableMeeting(candidateSchedule, filteredInterviewerList));
+            long slot = SlotBitmap.toEpochHour(ownerSchedule);
+            if (bookingRequest.getHoldId() != null && slotHoldService
+                    .findHold(bookingRequest.getHoldId())
+                    .filter(slotHold -> slotHold.getScheduleId() == ownerSchedule.getId() && slotHold.getCandidateId() == bookingRequest.getCandidateId() && slotHold.getEpochHour() == slot)
+                    .isEmpty()) {
+                bookingResultList.add(BookingResult.failed(bookingRequest, BookingStatus.INVALID_HOLD, INVALID_HOLD_MESSAGE));
+                continue;
             }
+
+            List<Long> personIdList = new ArrayList<>(distinctInterviewerIdList);
+            personIdList.add(bookingRequest.getCandidateId());
+            Optional<SlotHold> otherHold = findOtherHold(personIdList, slot, bookingRequest.getHoldId());
+            if (otherHold.isPresent()) {
+                bookingResultList.add(BookingResult.failed(bookingRequest, BookingStatus.HELD, String.format("Slot held until %s", otherHold.get().getExpiresAt())));
+                continue;
+            }
+
+            candidateScheduleById.remove(ownerSchedule.getId());
+            distinctInterviewerIdList.forEach(freeScheduleMap::remove);
+
+            Booking booking = new Booking();
+            booking.setOwnerSchedule(ownerSchedule);
+            booking.setChildrenScheduleList(new ArrayList<>(childrenScheduleList));
+            bookingList.add(booking);
+            bookingResultList.add(BookingResult.booked(bookingRequest, booking));
         }
-        return availableInterviewerList;
+
+        if (bookingList.isEmpty()) {
+            return bookingResultList;
+        }
+
+        bookingRepository.saveAll(bookingList);
+
+        List<Schedule> schedulesToSave = new ArrayList<>();
+        for (Booking booking : bookingList) {
+            booking.getChildrenScheduleList().forEach(schedule -> schedule.setParentBooking(booking));
+            schedulesToSave.addAll(booking.getChildrenScheduleList());
+            booking.getOwnerSchedule().setOwnedBooking(booking);
+            schedulesToSave.add(booking.getOwnerSchedule());
+        }
+        scheduleRepository.saveAll(schedulesToSave);
+        outboxService.appendBookingEvents(OutboxEventType.MEETING_BOOKED, bookingList);
+
+        schedulesToSave.forEach(schedule -> availabilityIndexService.removeFreeSlot(schedule.getPerson().getId(), schedule));
+
+        return bookingResultList;
+    }
+
+    //the write that conflicted does not tell which request it came from, so each is retried alone and only the ones
+    //still conflicting fail, in request order so earlier requests keep their precedence on a shared slot
+    private List<BookingResult> bookEachMeeting(List<BookingRequest> bookingRequestList) throws ServiceException {
+        List<BookingResult> bookingResultList = new ArrayList<>();
+        for (BookingRequest bookingRequest : bookingRequestList) {
+            try {
+                bookingResultList.addAll(executeWithRetry("bookMeetingBatch", () -> doBookMeetingBatch(List.of(bookingRequest))));
+            } catch (ConflictException e) {
+                bookingResultList.add(BookingResult.failed(bookingRequest, BookingStatus.CONFLICT, e.getMessage()));
+            }
+        }
+        return bookingResultList;
     }
 
-    private Predicate<Schedule> getPredicateSchedule(LocalDate day, int hour) {
-        return schedule -> schedule.getDay().equals(day) && schedule.getHour() == hour;
+    private boolean isFree(Schedule schedule) {
+        return schedule.getOwnedBooking() == null && schedule.getParentBooking() == null;
     }
 
-    private List<Schedule> getCandidateSchedules(long candidateId) throws ServiceException {
-        Candidate candidate = candidateService
+    //two updates clear the schedule links and one delete removes the bookings, whatever their number
+    private List<Booking> cancelBookings(List<Booking> loadedBookingList) {
+        //read under the person locks, bookings cancelled since they were loaded are left out
+        Set<Long> existingIdSet = new HashSet<>(bookingRepository.findIdsByIdIn(loadedBookingList.stream().map(Booking::getId).toList()));
+        List<Booking> bookingList = loadedBookingList
+                .stream()
+                .filter(booking -> existingIdSet.contains(booking.getId()))
+                .toList();
+        if (bookingList.isEmpty()) {
+            return bookingList;
+        }
+
+        List<Long> bookingIdList = bookingList.stream().map(Booking::getId).toList();
+        scheduleRepository.clearOwnedBookings(bookingIdList);
+        scheduleRepository.clearParentBookings(bookingIdList);
+        bookingRepository.deleteByIdIn(bookingIdList);
+        outboxService.appendBookingEvents(OutboxEventType.MEETING_CANCELLED, bookingList);
+
+        //the loaded bookings are detached by the bulk statements, only their copies are updated for the response
+        for (Booking booking : bookingList) {
+            booking.getOwnerSchedule().setOwnedBooking(null);
+            booking.getChildrenScheduleList().forEach(schedule -> schedule.setParentBooking(null));
+            getBookingSchedules(booking).forEach(schedule -> availabilityIndexService.addFreeSlot(schedule.getPerson().getId(), schedule));
+        }
+        return bookingList;
+    }
+
+    private List<Schedule> getBookingSchedules(Booking booking) {
+        List<Schedule> scheduleList = new ArrayList<>(booking.getChildrenScheduleList());
+        scheduleList.add(booking.getOwnerSchedule());
+        return scheduleList;
+    }
+
+    //each attempt runs in its own transaction, conflicting writes roll it back and the whole operation is retried
+    private <T> T executeWithRetry(String operation, BookingOperation<T> bookingOperation) throws ServiceException {
+        MeetingBookingKeys.Retry retry = meetingBookingKeys.getRetry();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    try {
+                        return bookingOperation.execute();
+                    } catch (ServiceException e) {
+                        throw new ServiceRuntimeException(e);
+                    }
+                });
+            } catch (ServiceRuntimeException e) {
+                throw e.getCause();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= retry.getMaxAttempts()) {
+                    throw new ConflictException(String.format("Unable to %s, conflicting update after %d attempts", operation, attempt), e);
+                }
+                log.warn("Conflicting update on {}, attempt {} of {}", operation, attempt, retry.getMaxAttempts());
+                backoff(retry.getBackoff().toMillis(), attempt);
+            }
+        }
+    }
+
+    private void backoff(long backoffMillis, int attempt) throws ServiceException {
+        long delay = (backoffMillis << (attempt - 1)) + ThreadLocalRandom.current().nextLong(backoffMillis + 1);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceException("Interrupted while waiting to retry", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface BookingOperation<T> {
+        T execute() throws ServiceException;
+    }
+
+    //carries the checked exception out of the transaction callback, the transaction is still rolled back
+    private static class ServiceRuntimeException extends RuntimeException {
+        ServiceRuntimeException(ServiceException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized ServiceException getCause() {
+            return (ServiceException) super.getCause();
+        }
+    }
+
+    private long getNowSlot() {
+        LocalDateTime now = LocalDateTime.now();
+        return SlotBitmap.toEpochHour(now.toLocalDate(), now.getHour());
+    }
+
+    private long getAfterSlot(MeetingQuery meetingQuery, long nowSlot) {
+        long afterSlot = nowSlot;
+        if (meetingQuery.getFrom() != null) {
+            afterSlot = Math.max(afterSlot, SlotBitmap.ceilEpochHour(meetingQuery.getFrom()) - 1);
+        }
+        if (meetingQuery.getAfterSlot() != null) {
+            afterSlot = Math.max(afterSlot, meetingQuery.getAfterSlot());
+        }
+        return afterSlot;
+    }
+
+    private List<AvailableMeeting> queryMeetingInDatabase(MeetingQuery meetingQuery, long afterSlot, long beforeSlot, int limit) throws ServiceException {
+        long candidateId = meetingQuery.getCandidateId();
+        List<Long> interviewerIdList = meetingQuery.getInterviewerIdList();
+        candidateService
                 .findById(candidateId)
                 .orElseThrow(() -> new NotFoundException("Unable to find candidate"));
 
-        LocalDateTime now = LocalDateTime.now();
+        String interviewerType = PersonType.INTERVIEWER.name();
+        LocalDateTime after = SlotBitmap.toDateTime(afterSlot);
+        LocalDate beforeDay = MAX_DAY;
+        int beforeHour = 24;
+        if (beforeSlot != Long.MAX_VALUE) {
+            LocalDateTime before = SlotBitmap.toDateTime(beforeSlot);
+            beforeDay = before.toLocalDate();
+            beforeHour = before.getHour();
+        }
 
-        List<Schedule> schedules = Optional
-                .of(candidate)
-                .filter(c -> c.getScheduleList() != null && !c.getScheduleList().isEmpty())
-                .map(AbstractPerson::getScheduleList)
-                .map(this::filterBookedSchedules)
-                .orElseThrow(() -> new ServiceException("Candidate without schedules"));
+        //rows are ordered by slot, so each candidate schedule is a contiguous run, possibly split across pages
+        List<AvailableMeeting> availableMeetingList = new ArrayList<>();
+        AvailableMeeting current = null;
+        Pageable pageable = PageRequest.of(0, meetingMatchingKeys.getPageSize());
+        while (pageable.isPaged()) {
+            Slice<SlotMatch> slotMatchSlice = interviewerIdList.isEmpty()
+                    ? scheduleRepository.findFreeSlotMatches(candidateId, interviewerType, after.toLocalDate(), after.getHour(), beforeDay, beforeHour, pageable)
+                    : scheduleRepository.findFreeSlotMatches(candidateId, interviewerIdList, interviewerType, after.toLocalDate(), after.getHour(), beforeDay, beforeHour, pageable);
+            List<SlotMatch> slotMatchList = slotMatchSlice.getContent();
+            if (slotMatchList.isEmpty()) {
+                break;
+            }
 
-        schedules = schedules
+            Map<Long, Schedule> candidateScheduleById = scheduleRepository
+                    .findWithPersonByIdIn(slotMatchList.stream().map(SlotMatch::getCandidateScheduleId).distinct().toList())
+                    .stream()
+                    .collect(Collectors.toMap(Schedule::getId, Function.identity()));
+            Map<Long, Interviewer> interviewerById = interviewerService
+                    .findAll(slotMatchList.stream().map(SlotMatch::getInterviewerId).distinct().toList())
+                    .stream()
+                    .collect(Collectors.toMap(Interviewer::getId, Function.identity()));
+
+            for (SlotMatch slotMatch : slotMatchList) {
+                if (current == null || current.getCandidateSchedule().getId() != slotMatch.getCandidateScheduleId()) {
+                    dropBelowQuorum(availableMeetingList, meetingQuery.getMinInterviewers());
+                    if (availableMeetingList.size() >= limit) {
+                        return availableMeetingList;
+                    }
+                    current = new AvailableMeeting(candidateScheduleById.get(slotMatch.getCandidateScheduleId()), new ArrayList<>());
+                    availableMeetingList.add(current);
+                }
+                current.getInterviewerList().add(interviewerById.get(slotMatch.getInterviewerId()));
+            }
+            //the runs before the last one are complete, the next page is only read when they are not enough
+            if (availableMeetingList.size() > limit) {
+                return new ArrayList<>(availableMeetingList.subList(0, limit));
+            }
+            pageable = slotMatchSlice.nextPageable();
+        }
+        dropBelowQuorum(availableMeetingList, meetingQuery.getMinInterviewers());
+        //same errors as the JAVA source, which checks both sides before matching
+        if (availableMeetingList.isEmpty() && beforeSlot == Long.MAX_VALUE) {
+            LocalDateTime now = SlotBitmap.toDateTime(getNowSlot());
+            if (!scheduleRepository.existsFreeByPersonIdInAfter(List.of(candidateId), now.toLocalDate(), now.getHour())) {
+                throw new ServiceException("Candidate without valid schedule");
+            }
+            if (!interviewerIdList.isEmpty() && !scheduleRepository.existsFreeByPersonIdInAfter(interviewerIdList, now.toLocalDate(), now.getHour())) {
+                throw new ServiceException("No available interviewer");
+            }
+        }
+        return availableMeetingList;
+    }
+
+    //candidate id -> meetings of the candidates given, one statement for the whole batch
+    private Map<Long, List<AvailableMeeting>> queryMeetingBatchInDatabase(List<Long> candidateIdList, List<Long> interviewerIdList, int minInterviewers, long afterSlot) throws ServiceException {
+        Map<Long, List<AvailableMeeting>> availableMeetingMap = new HashMap<>();
+        if (candidateIdList.isEmpty()) {
+            return availableMeetingMap;
+        }
+        String interviewerType = PersonType.INTERVIEWER.name();
+        LocalDateTime after = SlotBitmap.toDateTime(afterSlot);
+        List<SlotMatch> slotMatchList = interviewerIdList.isEmpty()
+                ? scheduleRepository.findFreeSlotMatchesByCandidateIdIn(candidateIdList, interviewerType, after.toLocalDate(), after.getHour())
+                : scheduleRepository.findFreeSlotMatchesByCandidateIdIn(candidateIdList, interviewerIdList, interviewerType, after.toLocalDate(), after.getHour());
+        if (slotMatchList.isEmpty()) {
+            return availableMeetingMap;
+        }
+
+        Map<Long, Schedule> candidateScheduleById = scheduleRepository
+                .findWithPersonByIdIn(slotMatchList.stream().map(SlotMatch::getCandidateScheduleId).distinct().toList())
                 .stream()
-                .filter(schedule -> schedule.getDay().atTime(schedule.getHour(), 0).compareTo(now) > 0)
-                .toList();
+                .collect(Collectors.toMap(Schedule::getId, Function.identity()));
+        Map<Long, Interviewer> interviewerById = interviewerService
+                .findAll(slotMatchList.stream().map(SlotMatch::getInterviewerId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(Interviewer::getId, Function.identity()));
+
+        //rows are grouped by candidate, so each candidate schedule is a contiguous run and the last of its candidate's list
+        List<AvailableMeeting> candidateMeetingList = null;
+        AvailableMeeting current = null;
+        for (SlotMatch slotMatch : slotMatchList) {
+            if (current == null || current.getCandidateSchedule().getId() != slotMatch.getCandidateScheduleId()) {
+                if (candidateMeetingList != null) {
+                    dropBelowQuorum(candidateMeetingList, minInterviewers);
+                }
+                Schedule candidateSchedule = candidateScheduleById.get(slotMatch.getCandidateScheduleId());
+                candidateMeetingList = availableMeetingMap.computeIfAbsent(candidateSchedule.getPerson().getId(), candidateId -> new ArrayList<>());
+                current = new AvailableMeeting(candidateSchedule, new ArrayList<>());
+                candidateMeetingList.add(current);
+            }
+            current.getInterviewerList().add(interviewerById.get(slotMatch.getInterviewerId()));
+        }
+        dropBelowQuorum(candidateMeetingList, minInterviewers);
+        return availableMeetingMap;
+    }
+
+    //only the last run can still be below the quorum
+    private void dropBelowQuorum(List<AvailableMeeting> availableMeetingList, int minInterviewers) {
+        if (!availableMeetingList.isEmpty() && availableMeetingList.get(availableMeetingList.size() - 1).getInterviewerList().size() < minInterviewers) {
+            availableMeetingList.remove(availableMeetingList.size() - 1);
+        }
+    }
 
-        if(schedules.isEmpty()){
+    //held interviewers are removed from each meeting, meetings with the candidate slot held or below the quorum are dropped
+    private List<AvailableMeeting> excludeHeld(long candidateId, List<AvailableMeeting> availableMeetingList, MeetingQuery meetingQuery) {
+        if (slotHoldService.heldSlotCount() == 0) {
+            return availableMeetingList;
+        }
+        List<AvailableMeeting> freeMeetingList = new ArrayList<>();
+        for (AvailableMeeting availableMeeting : availableMeetingList) {
+            if (freeMeetingList.size() >= meetingQuery.getLimit()) {
+                break;
+            }
+            long slot = SlotBitmap.toEpochHour(availableMeeting.getCandidateSchedule());
+            if (slotHoldService.isHeld(candidateId, slot)) {
+                continue;
+            }
+            List<Interviewer> interviewerList = availableMeeting
+                    .getInterviewerList()
+                    .stream()
+                    .filter(interviewer -> !slotHoldService.isHeld(interviewer.getId(), slot))
+                    .toList();
+            if (interviewerList.size() >= meetingQuery.getMinInterviewers()) {
+                freeMeetingList.add(new AvailableMeeting(availableMeeting.getCandidateSchedule(), new ArrayList<>(interviewerList)));
+            }
+        }
+        return freeMeetingList;
+    }
+
+    private PersonAvailability<Candidate> getCandidateAvailability(long candidateId, long nowSlot, long afterSlot, long beforeSlot) throws ServiceException {
+        Optional<PersonAvailability<Candidate>> cached = availabilityIndexService.findAvailability(candidateId, Candidate.class);
+        Candidate candidate = null;
+        Map<Long, Long> versionById = Map.of();
+        if (cached.isEmpty()) {
+            versionById = readVersions(List.of(candidateId));
+            candidate = candidateService
+                    .findById(candidateId)
+                    .orElseThrow(() -> new NotFoundException("Unable to find candidate"));
+            if (beforeSlot != Long.MAX_VALUE) {
+                //only sees the window, an empty one is not an error
+                return loadWindowAvailabilities(List.of(candidate), afterSlot, beforeSlot).get(0);
+            }
+        }
+
+        PersonAvailability<Candidate> candidateAvailability = cached.isPresent() ? cached.get() : loadAvailabilities(List.of(candidate), versionById).get(0);
+        if (!candidateAvailability.hasFreeScheduleAfter(nowSlot)) {
             throw new ServiceException("Candidate without valid schedule");
         }
+        return candidateAvailability;
+    }
+
+    private List<PersonAvailability<Candidate>> getCandidateAvailabilities(List<Long> candidateIdList) throws ServiceException {
+        List<PersonAvailability<Candidate>> candidateList = new ArrayList<>();
 
-        return schedules;
+        List<Long> missingIdList = new ArrayList<>();
+        for (Long candidateId : candidateIdList) {
+            availabilityIndexService
+                    .findAvailability(candidateId, Candidate.class)
+                    .ifPresentOrElse(candidateList::add, () -> missingIdList.add(candidateId));
+        }
+        //unknown candidates are left out, the caller reports them
+        if (!missingIdList.isEmpty()) {
+            Map<Long, Long> versionById = readVersions(missingIdList);
+            List<Candidate> loadedList = candidateService.findAll(missingIdList);
+            candidateList.addAll(loadAvailabilities(loadedList, versionById));
+        }
+        return candidateList;
     }
 
-    private List<Interviewer> getInterviewers(List<Long> interviewerIdList) throws ServiceException {
-        List<Interviewer> interviewerList = new ArrayList<>();
+    private List<PersonAvailability<Interviewer>> getInterviewerAvailabilities(List<Long> interviewerIdList, long afterSlot, long beforeSlot) throws ServiceException {
+        List<PersonAvailability<Interviewer>> interviewerList = new ArrayList<>();
 
-        if(interviewerIdList.isEmpty()){
-            log.debug("No interviewerIdList, going to fetch all");
-            interviewerList.addAll(interviewerService.findAll());
-        } else {
-            interviewerList.addAll(interviewerService.findAll(interviewerIdList));
+        //only interviewers missing from the cache are loaded
+        List<Long> missingIdList = new ArrayList<>();
+        for (Long interviewerId : interviewerIdList) {
+            availabilityIndexService
+                    .findAvailability(interviewerId, Interviewer.class)
+                    .ifPresentOrElse(interviewerList::add, () -> missingIdList.add(interviewerId));
+        }
+        boolean windowOnly = false;
+        if (!missingIdList.isEmpty()) {
+            Map<Long, Long> versionById = readVersions(missingIdList);
+            List<Interviewer> loadedList = interviewerService.findAll(missingIdList);
+            windowOnly = beforeSlot != Long.MAX_VALUE;
+            interviewerList.addAll(windowOnly ? loadWindowAvailabilities(loadedList, afterSlot, beforeSlot) : loadAvailabilities(loadedList, versionById));
         }
 
-        interviewerList = interviewerList
+        List<PersonAvailability<Interviewer>> availableInterviewerList = interviewerList
                 .stream()
-                .filter(interviewer -> interviewer.getScheduleList() != null && !interviewer.getScheduleList().isEmpty())
+                .filter(availability -> !availability.isEmpty())
                 .toList();
-        if (interviewerList.isEmpty()) {
+        //a window load cannot tell whether the interviewers are free after the window
+        if (availableInterviewerList.isEmpty() && !windowOnly) {
             throw new ServiceException("No available interviewer");
         }
-        return interviewerList;
+        return availableInterviewerList;
+    }
+
+    //read before the people and their rows are loaded, a change committed in between keeps the load out of the cache
+    private Map<Long, Long> readVersions(List<Long> personIdList) {
+        Map<Long, Long> versionById = new HashMap<>();
+        personIdList.forEach(personId -> versionById.put(personId, availabilityIndexService.currentVersion(personId)));
+        return versionById;
+    }
+
+    //people missing from the cache, their upcoming free rows are read with one range query and cached
+    private <T extends AbstractPerson> List<PersonAvailability<T>> loadAvailabilities(List<T> personList, Map<Long, Long> versionById) {
+        Map<Long, List<Schedule>> scheduleMap = findFreeSchedules(personList, getNowSlot(), Long.MAX_VALUE);
+        return personList
+                .stream()
+                .map(person -> availabilityIndexService.getAvailability(person, scheduleMap.getOrDefault(person.getId(), List.of()), versionById.get(person.getId())))
+                .toList();
     }
 
-    private List<Schedule> filterBookedSchedules(List<Schedule> schedules) {
-        return schedules == null ? new ArrayList<>() : schedules
+    //with a bounded window only the rows inside it are read, so the result is not cached
+    private <T extends AbstractPerson> List<PersonAvailability<T>> loadWindowAvailabilities(List<T> personList, long afterSlot, long beforeSlot) {
+        Map<Long, List<Schedule>> scheduleMap = findFreeSchedules(personList, afterSlot, beforeSlot);
+        return personList
                 .stream()
-                .filter(schedule -> schedule.getOwnedBooking() == null && schedule.getParentBooking() == null)
+                .map(person -> PersonAvailability.of(person, 0, afterSlot, scheduleMap.getOrDefault(person.getId(), List.of())))
                 .toList();
     }
+
+    private Map<Long, List<Schedule>> findFreeSchedules(List<? extends AbstractPerson> personList, long afterSlot, long beforeSlot) {
+        if (personList.isEmpty()) {
+            return Map.of();
+        }
+        //slots are exclusive, days are inclusive
+        LocalDate fromDay = SlotBitmap.toDateTime(afterSlot + 1).toLocalDate();
+        LocalDate toDay = beforeSlot == Long.MAX_VALUE ? MAX_DAY : SlotBitmap.toDateTime(beforeSlot - 1).toLocalDate();
+        return scheduleRepository
+                .findFreeByPersonIdInAndDayBetween(personList.stream().map(AbstractPerson::getId).toList(), fromDay, toDay)
+                .stream()
+                .collect(Collectors.groupingBy(schedule -> schedule.getPerson().getId()));
+    }
 }
@@ -0,0 +1,131 @@
+package com.tamanna.challenge.interview.calendar.services.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tamanna.challenge.interview.calendar.configurations.OutboxKeys;
+import com.tamanna.challenge.interview.calendar.dtos.BookingEventDTO;
+import com.tamanna.challenge.interview.calendar.dtos.OutboxEventDTO;
+import com.tamanna.challenge.interview.calendar.dtos.ScheduleEventDTO;
+import com.tamanna.challenge.interview.calendar.entities.enums.OutboxEventType;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Booking;
+import com.tamanna.challenge.interview.calendar.entities.jpa.OutboxEvent;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Schedule;
+import com.tamanna.challenge.interview.calendar.exceptions.ServiceException;
+import com.tamanna.challenge.interview.calendar.repositories.OutboxEventRepository;
+import com.tamanna.challenge.interview.calendar.services.OutboxService;
+import com.tamanna.challenge.interview.calendar.services.OutboxSink;
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author tlferreira
+ */
+//at-least-once, a crash between the sink and the delete sends the batch again on the next run
+@Log4j2
+@AllArgsConstructor
+@Service
+public class OutboxServiceImpl implements OutboxService {
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink outboxSink;
+    private final OutboxKeys outboxKeys;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void appendBookingEvents(OutboxEventType eventType, List<Booking> bookingList) {
+        List<OutboxEvent> eventList = new ArrayList<>(bookingList.size());
+        for (Booking booking : bookingList) {
+            BookingEventDTO bookingEvent = new BookingEventDTO();
+            bookingEvent.setBookingId(booking.getId());
+            bookingEvent.setScheduleId(booking.getOwnerSchedule().getId());
+            bookingEvent.setCandidateId(booking.getOwnerSchedule().getPerson().getId());
+            bookingEvent.setInterviewerIdList(booking.getChildrenScheduleList().stream().map(schedule -> schedule.getPerson().getId()).toList());
+            bookingEvent.setDay(booking.getOwnerSchedule().getDay());
+            bookingEvent.setHour(booking.getOwnerSchedule().getHour());
+            eventList.add(newEvent(eventType, booking.getId(), bookingEvent));
+        }
+        outboxEventRepository.saveAll(eventList);
+    }
+
+    @Override
+    public void appendScheduleEvent(OutboxEventType eventType, Schedule schedule) {
+        ScheduleEventDTO scheduleEvent = new ScheduleEventDTO();
+        scheduleEvent.setScheduleId(schedule.getId());
+        scheduleEvent.setPersonId(schedule.getPerson().getId());
+        scheduleEvent.setDay(schedule.getDay());
+        scheduleEvent.setHour(schedule.getHour());
+        outboxEventRepository.save(newEvent(eventType, schedule.getId(), scheduleEvent));
+    }
+
+    //synchronized so a manual run and the scheduled one never send the same batch twice
+    @Override
+    public synchronized int dispatch() throws ServiceException {
+        //polled every interval, an idle run is only logged at trace
+        log.trace("Start dispatch");
+        boolean success = true;
+        int dispatched = 0;
+        try {
+            int batchSize = outboxKeys.getDispatch().getBatchSize();
+            //events committed late with a lower id are still picked up, nothing is skipped by a cursor
+            while (true) {
+                List<OutboxEvent> eventList = outboxEventRepository.findOldest(PageRequest.of(0, batchSize));
+                if (eventList.isEmpty()) {
+                    return dispatched;
+                }
+                int sent = outboxSink.send(eventList.stream().map(this::mapEntityDTO).toList());
+                if (sent > 0) {
+                    List<Long> sentIdList = eventList.subList(0, sent).stream().map(OutboxEvent::getId).toList();
+                    transactionTemplate.executeWithoutResult(status -> outboxEventRepository.deleteByIdIn(sentIdList));
+                    dispatched += sent;
+                }
+                //a partial batch means the table is drained or the sink is full
+                if (sent < batchSize) {
+                    if (sent < eventList.size()) {
+                        log.warn("Outbox sink full, {} events left for the next run", eventList.size() - sent);
+                    }
+                    return dispatched;
+                }
+            }
+        } catch (Exception e) {
+            success = false;
+            log.error("Unable to dispatch, Exception: ", e);
+            throw new ServiceException("Error dispatch", e);
+        } finally {
+            if (dispatched > 0 || !success) {
+                log.debug("Finished dispatch, dispatched: {}, success: {}", dispatched, success);
+            } else {
+                log.trace("Finished dispatch, dispatched: {}, success: {}", dispatched, success);
+            }
+        }
+    }
+
+    private OutboxEvent newEvent(OutboxEventType eventType, long aggregateId, Object payload) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setEventType(eventType);
+        outboxEvent.setAggregateId(aggregateId);
+        try {
+            outboxEvent.setPayload(objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            //rolls back the change the event describes
+            throw new UncheckedIOException(e);
+        }
+        return outboxEvent;
+    }
+
+    private OutboxEventDTO mapEntityDTO(OutboxEvent outboxEvent) {
+        OutboxEventDTO outboxEventDTO = new OutboxEventDTO();
+        outboxEventDTO.setId(outboxEvent.getId());
+        outboxEventDTO.setEventType(outboxEvent.getEventType());
+        outboxEventDTO.setAggregateId(outboxEvent.getAggregateId());
+        outboxEventDTO.setCreationDate(outboxEvent.getCreationDate());
+        outboxEventDTO.setPayload(outboxEvent.getPayload());
+        return outboxEventDTO;
+    }
+}
@@ -0,0 +1,134 @@
+package com.tamanna.challenge.interview.calendar.services.impl;
+
+import com.tamanna.challenge.interview.calendar.entities.AvailableMeeting;
+import com.tamanna.challenge.interview.calendar.entities.PersonAvailability;
+import com.tamanna.challenge.interview.calendar.entities.SlotBitmap;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Interviewer;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Schedule;
+import com.tamanna.challenge.interview.calendar.services.MeetingMatchingEngine;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author tlferreira
+ */
+//availabilities are immutable snapshots, so worker threads never touch the caller's persistence context
+@Log4j2
+public class ParallelMatchingEngine implements MeetingMatchingEngine, AutoCloseable {
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final MeetingMatchingEngine delegate;
+    private final ForkJoinPool forkJoinPool;
+    private final int cutoff;
+
+    public ParallelMatchingEngine(MeetingMatchingEngine delegate, int parallelism, int cutoff) {
+        this.delegate = delegate;
+        this.cutoff = Math.max(1, cutoff);
+        this.forkJoinPool = new ForkJoinPool(parallelism, ParallelMatchingEngine::newWorkerThread, null, false,
+                0, parallelism, 1, pool -> true, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public List<AvailableMeeting> match(List<Schedule> candidateScheduleList, List<PersonAvailability<Interviewer>> interviewerList,
+                                        int limit, int minInterviewers) {
+        if (interviewerList.size() <= cutoff) {
+            return delegate.match(candidateScheduleList, interviewerList, limit, minInterviewers);
+        }
+        if (interviewerList.size() < minInterviewers) {
+            return new ArrayList<>();
+        }
+
+        //chunks are merged by slot, so every chunk must produce the same slot order
+        List<Schedule> sortedCandidateScheduleList = candidateScheduleList
+                .stream()
+                .sorted(Comparator.comparingLong(SlotBitmap::toEpochHour))
+                .toList();
+        log.debug("Matching {} interviewers in parallel, cutoff {}", interviewerList.size(), cutoff);
+        if (minInterviewers <= 1) {
+            return forkJoinPool.invoke(new MatchingTask(sortedCandidateScheduleList, interviewerList, limit));
+        }
+
+        //a chunk only sees part of the interviewers, so the quorum and the limit can only be applied after merging
+        return forkJoinPool
+                .invoke(new MatchingTask(sortedCandidateScheduleList, interviewerList, Integer.MAX_VALUE))
+                .stream()
+                .filter(availableMeeting -> availableMeeting.getInterviewerList().size() >= minInterviewers)
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public void close() {
+        forkJoinPool.shutdown();
+    }
+
+    //the first limit slots of the union are always within the first limit slots of each side
+    static List<AvailableMeeting> mergeBySlot(List<AvailableMeeting> left, List<AvailableMeeting> right, int limit) {
+        List<AvailableMeeting> merged = new ArrayList<>(Math.min(limit, left.size() + right.size()));
+        int l = 0;
+        int r = 0;
+        while (l < left.size() && r < right.size() && merged.size() < limit) {
+            AvailableMeeting leftMeeting = left.get(l);
+            AvailableMeeting rightMeeting = right.get(r);
+            long leftSlot = SlotBitmap.toEpochHour(leftMeeting.getCandidateSchedule());
+            long rightSlot = SlotBitmap.toEpochHour(rightMeeting.getCandidateSchedule());
+
+            if (leftSlot < rightSlot) {
+                merged.add(leftMeeting);
+                l++;
+            } else if (rightSlot < leftSlot) {
+                merged.add(rightMeeting);
+                r++;
+            } else {
+                List<Interviewer> interviewerList = new ArrayList<>(leftMeeting.getInterviewerList());
+                interviewerList.addAll(rightMeeting.getInterviewerList());
+                merged.add(new AvailableMeeting(leftMeeting.getCandidateSchedule(), interviewerList));
+                l++;
+                r++;
+            }
+        }
+        merged.addAll(left.subList(l, Math.min(left.size(), l + limit - merged.size())));
+        merged.addAll(right.subList(r, Math.min(right.size(), r + limit - merged.size())));
+        return merged;
+    }
+
+    private static ForkJoinWorkerThread newWorkerThread(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("meeting-matching-" + thread.getPoolIndex());
+        return thread;
+    }
+
+    private class MatchingTask extends RecursiveTask<List<AvailableMeeting>> {
+        private final transient List<Schedule> candidateScheduleList;
+        private final transient List<PersonAvailability<Interviewer>> interviewerList;
+        private final int limit;
+
+        MatchingTask(List<Schedule> candidateScheduleList, List<PersonAvailability<Interviewer>> interviewerList, int limit) {
+            this.candidateScheduleList = candidateScheduleList;
+            this.interviewerList = interviewerList;
+            this.limit = limit;
+        }
+
+        @Override
+        protected List<AvailableMeeting> compute() {
+            if (interviewerList.size() <= cutoff) {
+                return delegate.match(candidateScheduleList, interviewerList, limit);
+            }
+
+            int middle = interviewerList.size() / 2;
+            MatchingTask left = new MatchingTask(candidateScheduleList, interviewerList.subList(0, middle), limit);
+            MatchingTask right = new MatchingTask(candidateScheduleList, interviewerList.subList(middle, interviewerList.size()), limit);
+
+            left.fork();
+            List<AvailableMeeting> rightResult = right.compute();
+            return mergeBySlot(left.join(), rightResult, limit);
+        }
+    }
+}
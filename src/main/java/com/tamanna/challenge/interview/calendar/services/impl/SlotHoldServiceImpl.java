@@ -0,0 +1,126 @@
+package com.tamanna.challenge.interview.calendar.services.impl;
+
+import com.tamanna.challenge.interview.calendar.configurations.MeetingBookingKeys;
+import com.tamanna.challenge.interview.calendar.entities.SlotHold;
+import com.tamanna.challenge.interview.calendar.exceptions.ConflictException;
+import com.tamanna.challenge.interview.calendar.services.SlotHoldService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+
+/**
+ * @author tlferreira
+ */
+//holds live in memory, expired ones are drained from the delay queue on the next call instead of by a timer thread
+@Log4j2
+@Service
+public class SlotHoldServiceImpl implements SlotHoldService {
+    private final Duration ttl;
+
+    private final Map<String, SlotHold> holdById = new ConcurrentHashMap<>();
+    //epoch-hour -> person id -> hold
+    private final Map<Long, Map<Long, SlotHold>> holdBySlot = new ConcurrentHashMap<>();
+    private final DelayQueue<SlotHold> expiryQueue = new DelayQueue<>();
+
+    public SlotHoldServiceImpl(MeetingBookingKeys meetingBookingKeys, MeterRegistry meterRegistry) {
+        this.ttl = meetingBookingKeys.getHold().getTtl();
+        Gauge
+                .builder("booking.hold.active", holdById, Map::size)
+                .description("Slot holds not yet booked, released or expired")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized SlotHold hold(long scheduleId, long candidateId, List<Long> interviewerIdList, long epochHour) {
+        purgeExpired();
+        SlotHold slotHold = SlotHold
+                .builder()
+                .id(UUID.randomUUID().toString())
+                .scheduleId(scheduleId)
+                .candidateId(candidateId)
+                .interviewerIdList(interviewerIdList.stream().distinct().toList())
+                .epochHour(epochHour)
+                .expiresAt(Instant.now().plus(ttl))
+                .build();
+
+        Map<Long, SlotHold> slotHolds = holdBySlot.computeIfAbsent(epochHour, slot -> new ConcurrentHashMap<>());
+        for (Long personId : slotHold.getPersonIdList()) {
+            SlotHold current = slotHolds.get(personId);
+            if (current != null && !current.isExpired()) {
+                throw new ConflictException(String.format("Slot already held until %s", current.getExpiresAt()));
+            }
+        }
+        slotHold.getPersonIdList().forEach(personId -> slotHolds.put(personId, slotHold));
+        holdById.put(slotHold.getId(), slotHold);
+        expiryQueue.add(slotHold);
+        return slotHold;
+    }
+
+    @Override
+    public Optional<SlotHold> findHold(String holdId) {
+        return Optional
+                .ofNullable(holdById.get(holdId))
+                .filter(slotHold -> !slotHold.isExpired());
+    }
+
+    @Override
+    public Optional<SlotHold> findHold(long personId, long epochHour) {
+        Map<Long, SlotHold> slotHolds = holdBySlot.get(epochHour);
+        return Optional
+                .ofNullable(slotHolds == null ? null : slotHolds.get(personId))
+                .filter(slotHold -> !slotHold.isExpired());
+    }
+
+    @Override
+    public boolean isHeld(long personId, long epochHour) {
+        return findHold(personId, epochHour).isPresent();
+    }
+
+    @Override
+    public synchronized Optional<SlotHold> release(String holdId) {
+        purgeExpired();
+        SlotHold slotHold = holdById.get(holdId);
+        if (slotHold == null) {
+            return Optional.empty();
+        }
+        expiryQueue.remove(slotHold);
+        remove(slotHold);
+        return Optional.of(slotHold);
+    }
+
+    //drained first, expired holds would widen every query's limit and keep excludeHeld off its shortcut
+    @Override
+    public synchronized int heldSlotCount() {
+        purgeExpired();
+        return holdBySlot.size();
+    }
+
+    private void purgeExpired() {
+        SlotHold expired;
+        while ((expired = expiryQueue.poll()) != null) {
+            log.debug("Slot hold expired: {}", expired.getId());
+            remove(expired);
+        }
+    }
+
+    private void remove(SlotHold slotHold) {
+        holdById.remove(slotHold.getId());
+        Map<Long, SlotHold> slotHolds = holdBySlot.get(slotHold.getEpochHour());
+        if (slotHolds != null) {
+            slotHold.getPersonIdList().forEach(personId -> slotHolds.remove(personId, slotHold));
+            if (slotHolds.isEmpty()) {
+                holdBySlot.remove(slotHold.getEpochHour());
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.tamanna.challenge.interview.calendar.services.impl;
+
+import com.tamanna.challenge.interview.calendar.entities.AvailableMeeting;
+import com.tamanna.challenge.interview.calendar.entities.PersonAvailability;
+import com.tamanna.challenge.interview.calendar.entities.SlotBitmap;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Interviewer;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Schedule;
+import com.tamanna.challenge.interview.calendar.services.MeetingMatchingEngine;
+
+import java.util.*;
+
+/**
+ * @author tlferreira
+ */
+public class SortedMergeMatchingEngine implements MeetingMatchingEngine {
+    private static final int CANDIDATE = -1;
+
+    @Override
+    public List<AvailableMeeting> match(List<Schedule> candidateScheduleList, List<PersonAvailability<Interviewer>> interviewerList,
+                                        int limit, int minInterviewers) {
+        PriorityQueue<SlotCursor> queue = new PriorityQueue<>(interviewerList.size() + 1,
+                Comparator.comparingLong(SlotCursor::epochHour).thenComparingInt(SlotCursor::getParticipant));
+
+        SlotCursor candidateCursor = new SlotCursor(CANDIDATE, candidateScheduleList);
+        if (!candidateCursor.hasCurrent()) {
+            return new ArrayList<>();
+        }
+        queue.add(candidateCursor);
+
+        for (int i = 0; i < interviewerList.size(); i++) {
+            SlotCursor cursor = new SlotCursor(i, interviewerList.get(i).getFreeScheduleList());
+            if (cursor.hasCurrent()) {
+                queue.add(cursor);
+            }
+        }
+
+        int quorum = Math.max(1, minInterviewers);
+        int[] participants = new int[interviewerList.size()];
+        List<AvailableMeeting> availableMeetingList = new ArrayList<>();
+        //once the candidate runs out of slots, or fewer interviewers than the quorum are left, nothing else can match
+        while (candidateCursor.hasCurrent() && queue.size() - 1 >= quorum && availableMeetingList.size() < limit) {
+            long epochHour = queue.element().epochHour();
+
+            Schedule candidateSchedule = null;
+            int count = 0;
+            while (!queue.isEmpty() && queue.element().epochHour() == epochHour) {
+                SlotCursor cursor = queue.remove();
+                if (cursor.getParticipant() == CANDIDATE) {
+                    candidateSchedule = cursor.current();
+                } else {
+                    participants[count++] = cursor.getParticipant();
+                }
+
+                cursor.advance();
+                if (cursor.hasCurrent()) {
+                    queue.add(cursor);
+                }
+            }
+
+            //the interviewer list is only built once the slot reaches the quorum
+            if (candidateSchedule != null && count >= quorum) {
+                List<Interviewer> availableInterviewerList = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    availableInterviewerList.add(interviewerList.get(participants[i]).getPerson());
+                }
+                availableMeetingList.add(new AvailableMeeting(candidateSchedule, availableInterviewerList));
+            }
+        }
+        return availableMeetingList;
+    }
+
+    private static class SlotCursor {
+        private final int participant;
+        private final Schedule[] schedules;
+        private final long[] epochHours;
+        private int position;
+
+        SlotCursor(int participant, List<Schedule> scheduleList) {
+            this.participant = participant;
+            this.schedules = scheduleList
+                    .stream()
+                    .sorted(Comparator.comparingLong(SlotBitmap::toEpochHour))
+                    .toArray(Schedule[]::new);
+            this.epochHours = Arrays
+                    .stream(schedules)
+                    .mapToLong(SlotBitmap::toEpochHour)
+                    .toArray();
+        }
+
+        int getParticipant() {
+            return participant;
+        }
+
+        boolean hasCurrent() {
+            return position < schedules.length;
+        }
+
+        Schedule current() {
+            return schedules[position];
+        }
+
+        long epochHour() {
+            return epochHours[position];
+        }
+
+        void advance() {
+            position++;
+        }
+    }
+}
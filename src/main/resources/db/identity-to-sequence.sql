@@ -0,0 +1,18 @@
+-- Moves a database created with IDENTITY ids to the pooled sequences, run once before starting the new version.
+-- Each sequence restarts past the current max id plus the allocation size (50), so no generated id reuses an existing one.
+
+CREATE SEQUENCE IF NOT EXISTS person_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS schedule_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS booking_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS outbox_event_seq START WITH 1 INCREMENT BY 50;
+
+ALTER SEQUENCE person_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 100 FROM person);
+ALTER SEQUENCE schedule_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 100 FROM schedule);
+ALTER SEQUENCE booking_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 100 FROM booking);
+ALTER SEQUENCE outbox_event_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 100 FROM outbox_event);
+
+-- ids are now assigned by Hibernate, the columns no longer generate them
+ALTER TABLE person ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE schedule ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE booking ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE outbox_event ALTER COLUMN id DROP IDENTITY;
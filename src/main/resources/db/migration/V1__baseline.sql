@@ -0,0 +1,59 @@
+-- Schema as generated by Hibernate before migrations were introduced, constraint names are kept so databases baselined at this version match it.
+
+CREATE SEQUENCE booking_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE outbox_event_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE person_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE schedule_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE booking (
+    id BIGINT NOT NULL,
+    creation_date TIMESTAMP,
+    update_date TIMESTAMP,
+    version BIGINT NOT NULL,
+    owner_schedule_id BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE outbox_event (
+    id BIGINT NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    creation_date TIMESTAMP,
+    event_type VARCHAR(255) NOT NULL,
+    payload CLOB NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE person (
+    person_type VARCHAR(31) NOT NULL,
+    id BIGINT NOT NULL,
+    creation_date TIMESTAMP,
+    email VARCHAR(255),
+    first_name VARCHAR(255),
+    last_name VARCHAR(255),
+    phone_number VARCHAR(255),
+    update_date TIMESTAMP,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE schedule (
+    id BIGINT NOT NULL,
+    creation_date TIMESTAMP,
+    schedule_day DATE NOT NULL,
+    schedule_hour INTEGER NOT NULL,
+    update_date TIMESTAMP,
+    version BIGINT NOT NULL,
+    owned_booking_id BIGINT,
+    parent_booking_id BIGINT,
+    person_id BIGINT,
+    PRIMARY KEY (id)
+);
+
+ALTER TABLE booking ADD CONSTRAINT UK_nu4wh1m430v4wed83xs46897 UNIQUE (owner_schedule_id);
+ALTER TABLE person ADD CONSTRAINT UK_fwmwi44u55bo4rvwsv0cln012 UNIQUE (email);
+ALTER TABLE person ADD CONSTRAINT UK_2ldqhx89sy06ya51rrnndhwmc UNIQUE (phone_number);
+CREATE INDEX idx_schedule_day_hour ON schedule (schedule_day, schedule_hour);
+ALTER TABLE schedule ADD CONSTRAINT UK6mhb4mfalm4y88cjbwm43pwaf UNIQUE (person_id, schedule_day, schedule_hour);
+ALTER TABLE booking ADD CONSTRAINT FKt2jyvjwxpogbkkursd8pqi544 FOREIGN KEY (owner_schedule_id) REFERENCES schedule;
+ALTER TABLE schedule ADD CONSTRAINT FKbb7pi1r5bv0yxgqh2dae3j7je FOREIGN KEY (owned_booking_id) REFERENCES booking;
+ALTER TABLE schedule ADD CONSTRAINT FKnpvhuayn52fanryyqni82m2xh FOREIGN KEY (parent_booking_id) REFERENCES booking;
+ALTER TABLE schedule ADD CONSTRAINT FK1a66og66fjg2trplqyqccvoib FOREIGN KEY (person_id) REFERENCES person;
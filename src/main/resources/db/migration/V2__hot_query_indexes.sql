@@ -0,0 +1,17 @@
+-- Indexes for the predicates of the meeting queries, checked by QueryPlanIntegrationTests.
+
+-- slot lookups across people (matching, interviewer index, free rows by day), the person id is read from the index
+DROP INDEX idx_schedule_day_hour;
+CREATE INDEX idx_schedule_slot_person ON schedule (schedule_day, schedule_hour, person_id);
+
+-- the foreign keys are added again after their index, so databases that index foreign keys on their own reuse it
+ALTER TABLE schedule DROP CONSTRAINT FKbb7pi1r5bv0yxgqh2dae3j7je;
+ALTER TABLE schedule DROP CONSTRAINT FKnpvhuayn52fanryyqni82m2xh;
+
+-- candidate schedule of a booking, cancellations clear it
+CREATE INDEX idx_schedule_owned_booking ON schedule (owned_booking_id);
+-- interviewer schedules of a booking, fetched with every booking read and cleared by cancellations
+CREATE INDEX idx_schedule_parent_booking ON schedule (parent_booking_id);
+
+ALTER TABLE schedule ADD CONSTRAINT FKbb7pi1r5bv0yxgqh2dae3j7je FOREIGN KEY (owned_booking_id) REFERENCES booking;
+ALTER TABLE schedule ADD CONSTRAINT FKnpvhuayn52fanryyqni82m2xh FOREIGN KEY (parent_booking_id) REFERENCES booking;
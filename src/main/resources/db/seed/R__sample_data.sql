@@ -0,0 +1,20 @@
+-- SAMPLE DATA, rerun after the migrations whenever this file changes
+INSERT INTO person (id, person_type, first_name, last_name, email, phone_number, update_date, creation_date) VALUES (1L, 'INTERVIEWER', 'Pedro', 'Vareta', 'pv@mail.com', '+351-910-000-000', CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP());
+INSERT INTO person (id, person_type, first_name, last_name, email, phone_number, update_date, creation_date) VALUES (2L, 'INTERVIEWER', 'Alberto', 'Mendes', 'am@mail.com', '+351-910-000-001', CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP());
+
+INSERT INTO person (id, person_type, first_name, last_name, email, phone_number, update_date, creation_date) VALUES (3L, 'CANDIDATE', 'Tadeu', 'Ferreira', 'tf@mail.com', '+351-910-000-002', CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP());
+
+INSERT INTO schedule (id, person_id, schedule_day, schedule_hour, version, update_date, creation_date) VALUES (1L, 1L, DATEADD('DAY',1, CURRENT_DATE), 12, 0, CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP());
+INSERT INTO schedule (id, person_id, schedule_day, schedule_hour, version, update_date, creation_date) VALUES (2L, 1L, DATEADD('DAY',3, CURRENT_DATE), 18, 0, CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP());
+
+INSERT INTO schedule (id, person_id, schedule_day, schedule_hour, version, update_date, creation_date) VALUES (3L, 2L, DATEADD('DAY',2, CURRENT_DATE), 11, 0, CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP());
+INSERT INTO schedule (id, person_id, schedule_day, schedule_hour, version, update_date, creation_date) VALUES (4L, 2L, DATEADD('DAY',3, CURRENT_DATE), 18, 0, CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP());
+
+INSERT INTO schedule (id, person_id, schedule_day, schedule_hour, version, update_date, creation_date) VALUES (5L, 3L, DATEADD('DAY',3, CURRENT_DATE), 12, 0, CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP());
+INSERT INTO schedule (id, person_id, schedule_day, schedule_hour, version, update_date, creation_date) VALUES (6L, 3L, DATEADD('DAY',2, CURRENT_DATE), 11, 0, CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP());
+INSERT INTO schedule (id, person_id, schedule_day, schedule_hour, version, update_date, creation_date) VALUES (7L, 3L, DATEADD('DAY',3, CURRENT_DATE), 18, 0, CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP());
+INSERT INTO schedule (id, person_id, schedule_day, schedule_hour, version, update_date, creation_date) VALUES (8L, 3L, DATEADD('DAY',4, CURRENT_DATE), 9, 0, CURRENT_TIMESTAMP(), CURRENT_TIMESTAMP());
+
+-- ids are pooled by 50, restarting above the allocation size keeps generated ids clear of the ones above
+ALTER SEQUENCE person_seq RESTART WITH 100;
+ALTER SEQUENCE schedule_seq RESTART WITH 100;
@@ -1,11 +1,14 @@
 package com.tamanna.challenge.interview.calendar;
 
+import com.tamanna.challenge.interview.calendar.entities.jpa.AbstractPerson;
 import com.tamanna.challenge.interview.calendar.entities.jpa.Candidate;
 import com.tamanna.challenge.interview.calendar.entities.jpa.Interviewer;
 import com.tamanna.challenge.interview.calendar.entities.jpa.Schedule;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * @author tlferreira
@@ -67,6 +70,27 @@ public class DummyDataUtils {
         return person;
     }
 
+    //unique email and phone number per name, prefix and index, for tests saving many people
+    public static <T extends AbstractPerson> T getNewPerson(Supplier<T> supplier, String name, String phonePrefix, int index) {
+        T person = supplier.get();
+        person.setFirstName(name);
+        person.setLastName(Integer.toString(index));
+        person.setEmail(String.format("%s-%s-%d@mail.com", name.toLowerCase(), phonePrefix, index));
+        person.setPhoneNumber(String.format("+351-9%s-%06d", phonePrefix, index));
+        return person;
+    }
+
+    //count consecutive hours from firstHour of firstDay, carrying over to the next days
+    public static List<Schedule> getNewSchedules(AbstractPerson person, LocalDate firstDay, int firstHour, int count) {
+        List<Schedule> scheduleList = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Schedule schedule = getNewSchedule(null, (firstHour + i) % 24, firstDay.plusDays((firstHour + i) / 24));
+            schedule.setPerson(person);
+            scheduleList.add(schedule);
+        }
+        return scheduleList;
+    }
+
     public static Schedule getNewSchedule() {
         return getNewSchedule(null, null, null);
     }
@@ -0,0 +1,185 @@
+package com.tamanna.challenge.interview.calendar.controllers;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tamanna.challenge.interview.calendar.configurations.IdempotencyFilter;
+import com.tamanna.challenge.interview.calendar.configurations.IdempotencyKeys;
+import com.tamanna.challenge.interview.calendar.dtos.BaseResponse;
+import com.tamanna.challenge.interview.calendar.dtos.PersonDTO;
+import com.tamanna.challenge.interview.calendar.services.InterviewerService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.tamanna.challenge.interview.calendar.configurations.IdempotencyFilter.IDEMPOTENCY_KEY_HEADER;
+import static com.tamanna.challenge.interview.calendar.configurations.IdempotencyFilter.IDEMPOTENT_REPLAYED_HEADER;
+import static com.tamanna.challenge.interview.calendar.configurations.WebSecurityConfiguration.INTERVIEWER_ROLE;
+import static org.mockito.ArgumentMatchers.any;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * @author tlferreira
+ */
+//creates interviewers, so the context is discarded afterwards
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class IdempotencyFilterIntegrationTests {
+    private static final String BODY = "{\"firstName\":\"Dinis\",\"lastName\":\"Antunes\",\"email\":\"da@mail.com\",\"phoneNumber\":\"912345678\"}";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private IdempotencyFilter idempotencyFilter;
+
+    @SpyBean
+    private InterviewerService interviewerService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setup() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(webApplicationContext)
+                .apply(springSecurity())
+                .addFilters(idempotencyFilter)
+                .build();
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = INTERVIEWER_ROLE)
+    void createInterviewer_RetryReplayed() throws Exception {
+        MvcResult first = mockMvc.perform(createInterviewer("key-replayed", BODY)).andReturn();
+        MvcResult retry = mockMvc.perform(createInterviewer("key-replayed", BODY)).andReturn();
+
+        Assertions.assertEquals(HttpStatus.CREATED.value(), first.getResponse().getStatus());
+        Assertions.assertEquals(HttpStatus.CREATED.value(), retry.getResponse().getStatus());
+        Assertions.assertNull(first.getResponse().getHeader(IDEMPOTENT_REPLAYED_HEADER));
+        Assertions.assertEquals("true", retry.getResponse().getHeader(IDEMPOTENT_REPLAYED_HEADER));
+        Assertions.assertEquals(readId(first), readId(retry));
+        Mockito.verify(interviewerService, Mockito.times(1)).createPerson(any());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = INTERVIEWER_ROLE)
+    void createInterviewer_KeyReusedForDifferentRequest() throws Exception {
+        mockMvc.perform(createInterviewer("key-reused", BODY)).andReturn();
+        MvcResult reused = mockMvc.perform(createInterviewer("key-reused", BODY.replace("Dinis", "Diana"))).andReturn();
+
+        Assertions.assertEquals(HttpStatus.UNPROCESSABLE_ENTITY.value(), reused.getResponse().getStatus());
+    }
+
+    @Test
+    void createInterviewer_ConcurrentDuplicateWaitsForFirst() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(interviewerService).createPerson(any());
+
+        String body = BODY.replace("da@mail.com", "concurrent@mail.com").replace("912345678", "912345679");
+        CompletableFuture<MvcResult> first = CompletableFuture.supplyAsync(() -> perform(createInterviewer("key-concurrent", body)));
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<MvcResult> duplicate = CompletableFuture.supplyAsync(() -> perform(createInterviewer("key-concurrent", body)));
+        release.countDown();
+
+        Assertions.assertEquals(readId(first.get(10, TimeUnit.SECONDS)), readId(duplicate.get(10, TimeUnit.SECONDS)));
+        Assertions.assertEquals("true", duplicate.get().getResponse().getHeader(IDEMPOTENT_REPLAYED_HEADER));
+        Mockito.verify(interviewerService, Mockito.times(1)).createPerson(any());
+    }
+
+    @Test
+    void filter_InFlightEntriesKeptWhenFull() throws Exception {
+        IdempotencyKeys idempotencyKeys = new IdempotencyKeys();
+        idempotencyKeys.setMaxEntries(1);
+        IdempotencyFilter fullFilter = new IdempotencyFilter(objectMapper, idempotencyKeys);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain blockingChain = (request, response) -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            ((HttpServletResponse) response).setStatus(HttpStatus.CREATED.value());
+        };
+
+        CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(() -> filter(fullFilter, "key-running", blockingChain));
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+        //the running key is not dropped to make room, the new one is turned away
+        MockHttpServletResponse other = filter(fullFilter, "key-other", new MockFilterChain());
+        release.countDown();
+
+        Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), other.getStatus());
+        Assertions.assertEquals(HttpStatus.CREATED.value(), first.get(10, TimeUnit.SECONDS).getStatus());
+        //completed entries make room again
+        Assertions.assertEquals(HttpStatus.OK.value(), filter(fullFilter, "key-other", new MockFilterChain()).getStatus());
+    }
+
+    private MockHttpServletResponse filter(IdempotencyFilter filter, String idempotencyKey, FilterChain filterChain) {
+        MockHttpServletRequest request = new MockHttpServletRequest(HttpMethod.POST.name(), "/interviewers");
+        request.addHeader(IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, filterChain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+
+    private MvcResult perform(MockHttpServletRequestBuilder requestBuilder) {
+        try {
+            return mockMvc.perform(requestBuilder.with(user("admin").roles(INTERVIEWER_ROLE))).andReturn();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private MockHttpServletRequestBuilder createInterviewer(String idempotencyKey, String body) {
+        return post("/interviewers")
+                .with(csrf())
+                .header(IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(body);
+    }
+
+    private long readId(MvcResult result) throws Exception {
+        BaseResponse<PersonDTO> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<BaseResponse<PersonDTO>>() {
+        });
+        return response.getResponse().getId();
+    }
+}
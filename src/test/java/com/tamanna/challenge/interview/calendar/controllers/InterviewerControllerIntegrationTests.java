@@ -0,0 +1,131 @@
+package com.tamanna.challenge.interview.calendar.controllers;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tamanna.challenge.interview.calendar.dtos.BaseResponse;
+import com.tamanna.challenge.interview.calendar.dtos.PersonDTO;
+import com.tamanna.challenge.interview.calendar.entities.enums.PersonType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.tamanna.challenge.interview.calendar.configurations.WebSecurityConfiguration.INTERVIEWER_ROLE;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * @author tlferreira
+ */
+//relies on the sample data in db/seed
+@SpringBootTest
+@AutoConfigureMockMvc
+class InterviewerControllerIntegrationTests {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setup() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(webApplicationContext)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = INTERVIEWER_ROLE)
+    void listAvailableInterviewers() throws Exception {
+        MvcResult result = mockMvc
+                .perform(get("/interviewers/available")
+                        .param("day", LocalDate.now().plusDays(3).toString())
+                        .param("hour", "18")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andReturn();
+
+        Assertions.assertEquals(HttpStatus.OK.value(), result.getResponse().getStatus());
+
+        BaseResponse<List<PersonDTO>> response = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<BaseResponse<List<PersonDTO>>>() {
+        });
+        Assertions.assertEquals(List.of(1L, 2L), response.getResponse().stream().map(PersonDTO::getId).toList());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = INTERVIEWER_ROLE)
+    void listAvailableInterviewers_InvalidHour() throws Exception {
+        MvcResult result = mockMvc
+                .perform(get("/interviewers/available")
+                        .param("day", LocalDate.now().plusDays(3).toString())
+                        .param("hour", "24")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andReturn();
+
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST.value(), result.getResponse().getStatus());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = INTERVIEWER_ROLE)
+    void listInterviewers_CursorPages() throws Exception {
+        BaseResponse<List<PersonDTO>> firstPage = listInterviewers(get("/interviewers").param("size", "1"));
+        Assertions.assertEquals(1, firstPage.getResponse().size());
+        Assertions.assertNotNull(firstPage.getNextCursor());
+
+        BaseResponse<List<PersonDTO>> secondPage = listInterviewers(get("/interviewers").param("size", "1").param("after", firstPage.getNextCursor()));
+        Assertions.assertEquals(1, secondPage.getResponse().size());
+        Assertions.assertTrue(secondPage.getResponse().get(0).getId() > firstPage.getResponse().get(0).getId());
+        Assertions.assertEquals(PersonType.INTERVIEWER, secondPage.getResponse().get(0).getPersonType());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = INTERVIEWER_ROLE)
+    void listInterviewers_AfterWithoutSize() throws Exception {
+        MvcResult result = mockMvc
+                .perform(get("/interviewers")
+                        .param("after", ControllerUtils.encodeCursor(1))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andReturn();
+
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST.value(), result.getResponse().getStatus());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = INTERVIEWER_ROLE)
+    void listInterviewers_InvalidCursor() throws Exception {
+        MvcResult result = mockMvc
+                .perform(get("/interviewers")
+                        .param("size", "1")
+                        .param("after", "not-a-cursor")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andReturn();
+
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST.value(), result.getResponse().getStatus());
+    }
+
+    private BaseResponse<List<PersonDTO>> listInterviewers(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc
+                .perform(request.accept(MediaType.APPLICATION_JSON))
+                .andReturn();
+
+        Assertions.assertEquals(HttpStatus.OK.value(), result.getResponse().getStatus());
+        return objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<BaseResponse<List<PersonDTO>>>() {
+        });
+    }
+}
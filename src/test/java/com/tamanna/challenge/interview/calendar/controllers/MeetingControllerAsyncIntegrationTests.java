@@ -0,0 +1,101 @@
+package com.tamanna.challenge.interview.calendar.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.tamanna.challenge.interview.calendar.configurations.WebSecurityConfiguration.CANDIDATE_ROLE;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * @author tlferreira
+ */
+//own database, books the day+3 18h slot from the sample data
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:asyncdb",
+        "meeting.booking.async.enabled=true"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class MeetingControllerAsyncIntegrationTests {
+    private static final long SCHEDULE_ID = 7L;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setup() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(webApplicationContext)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = CANDIDATE_ROLE)
+    void book_QueuedAndPolled() throws Exception {
+        List<String> statusUrlList = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            MvcResult result = mockMvc
+                    .perform(post("/meetings/book/{scheduleId}", SCHEDULE_ID).param("candidateId", "3").param("interviewerId", "1", "2").with(csrf()))
+                    .andReturn();
+            Assertions.assertEquals(HttpStatus.ACCEPTED.value(), result.getResponse().getStatus());
+            String location = result.getResponse().getHeader(HttpHeaders.LOCATION);
+            Assertions.assertEquals(location, readResponse(result).get("statusUrl").asText());
+            statusUrlList.add(location);
+        }
+
+        //same slot twice, whatever the batching only the first one is booked
+        List<Integer> statusList = new ArrayList<>();
+        for (String statusUrl : statusUrlList) {
+            statusList.add(pollResult(statusUrl).get("status").asInt());
+        }
+        Assertions.assertEquals(List.of(HttpStatus.CREATED.value(), HttpStatus.NOT_FOUND.value()), statusList);
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = CANDIDATE_ROLE)
+    void bookStatus_NotFound() throws Exception {
+        MvcResult result = mockMvc.perform(get("/meetings/book/status/{requestId}", "unknown")).andReturn();
+        Assertions.assertEquals(HttpStatus.NOT_FOUND.value(), result.getResponse().getStatus());
+    }
+
+    private JsonNode pollResult(String statusUrl) throws Exception {
+        for (int i = 0; i < 250; i++) {
+            MvcResult result = mockMvc.perform(get(statusUrl)).andReturn();
+            Assertions.assertEquals(HttpStatus.OK.value(), result.getResponse().getStatus());
+            JsonNode bookingResult = readResponse(result).get("result");
+            if (bookingResult.get("status").asInt() != HttpStatus.ACCEPTED.value()) {
+                return bookingResult;
+            }
+            Thread.sleep(20);
+        }
+        return Assertions.fail("Booking still queued");
+    }
+
+    private JsonNode readResponse(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("response");
+    }
+}
@@ -0,0 +1,93 @@
+package com.tamanna.challenge.interview.calendar.entities;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author tlferreira
+ */
+class SlotBitmapTests {
+
+    @Test
+    void epochHourTest_RoundTrip() {
+        LocalDate day = LocalDate.of(2023, 10, 15);
+        long epochHour = SlotBitmap.toEpochHour(day, 19);
+
+        Assertions.assertEquals(day.atTime(19, 0), SlotBitmap.toDateTime(epochHour));
+    }
+
+    @Test
+    void setTest_GrowsBothWays() {
+        long base = SlotBitmap.toEpochHour(LocalDate.of(2023, 10, 15), 12);
+
+        SlotBitmap bitmap = new SlotBitmap();
+        bitmap.set(base);
+        bitmap.set(base + 24 * 30);
+        bitmap.set(base - 24 * 30);
+
+        Assertions.assertTrue(bitmap.get(base));
+        Assertions.assertTrue(bitmap.get(base + 24 * 30));
+        Assertions.assertTrue(bitmap.get(base - 24 * 30));
+        Assertions.assertFalse(bitmap.get(base + 1));
+
+        bitmap.clear(base);
+        Assertions.assertFalse(bitmap.get(base));
+        Assertions.assertTrue(bitmap.get(base + 24 * 30));
+    }
+
+    @Test
+    void andTest_OnlyCommonSlots() {
+        long base = SlotBitmap.toEpochHour(LocalDate.of(2023, 10, 15), 0);
+
+        SlotBitmap bitmapA = new SlotBitmap();
+        bitmapA.set(base + 5);
+        bitmapA.set(base + 70);
+        bitmapA.set(base + 200);
+
+        SlotBitmap bitmapB = new SlotBitmap();
+        bitmapB.set(base + 70);
+        bitmapB.set(base + 200);
+        bitmapB.set(base + 500);
+
+        List<Long> slots = new ArrayList<>();
+        bitmapA.and(bitmapB).forEach(slots::add);
+
+        Assertions.assertEquals(List.of(base + 70, base + 200), slots);
+    }
+
+    @Test
+    void andTest_DisjointRanges() {
+        SlotBitmap bitmapA = new SlotBitmap();
+        bitmapA.set(1000);
+
+        SlotBitmap bitmapB = new SlotBitmap();
+        bitmapB.set(100000);
+
+        Assertions.assertTrue(bitmapA.and(bitmapB).isEmpty());
+    }
+
+    @Test
+    void atLeastTest_CountsSlotsAcrossBitmaps() {
+        long base = SlotBitmap.toEpochHour(LocalDate.of(2023, 10, 15), 0);
+
+        SlotBitmap bitmapA = new SlotBitmap();
+        bitmapA.set(base + 5);
+        bitmapA.set(base + 70);
+        SlotBitmap bitmapB = new SlotBitmap();
+        bitmapB.set(base + 70);
+        bitmapB.set(base + 500);
+        SlotBitmap bitmapC = new SlotBitmap();
+        bitmapC.set(base + 70);
+        bitmapC.set(base + 500);
+
+        List<Long> slots = new ArrayList<>();
+        SlotBitmap.atLeast(List.of(bitmapA, bitmapB, bitmapC), 2).forEach(slots::add);
+
+        Assertions.assertEquals(List.of(base + 70, base + 500), slots);
+        Assertions.assertTrue(SlotBitmap.atLeast(List.of(bitmapA, bitmapB), 3).isEmpty());
+    }
+}
@@ -0,0 +1,121 @@
+package com.tamanna.challenge.interview.calendar.repositories;
+
+import com.tamanna.challenge.interview.calendar.entities.jpa.AbstractPerson;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Candidate;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Interviewer;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Schedule;
+import lombok.extern.log4j.Log4j2;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.tamanna.challenge.interview.calendar.DummyDataUtils.getNewPerson;
+import static com.tamanna.challenge.interview.calendar.DummyDataUtils.getNewSchedules;
+
+/**
+ * @author tlferreira
+ */
+//rows per second for bulk person and schedule creation, only run with mvn -Pstress test
+@Log4j2
+@Tag("stress")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:benchmarkdb",
+        "logging.level.com.tamanna.challenge.interview.calendar=info",
+        "outbox.dispatch.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=warn"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class BulkInsertBenchmarkTests {
+    private static final int PERSONS = Integer.getInteger("benchmark.persons", 2000);
+    private static final int SCHEDULES_PER_PERSON = Integer.getInteger("benchmark.schedules-per-person", 10);
+    private static final int INTERVIEWERS = Integer.getInteger("benchmark.interviewers", 100);
+    private static final int SCHEDULES_PER_INTERVIEWER = Integer.getInteger("benchmark.schedules-per-interviewer", 100);
+    private static final int ROUNDS = Integer.getInteger("benchmark.rounds", 5);
+    private static final Path REPORT_PATH = Path.of("target", "bulk-insert-report.txt");
+
+    @Autowired
+    private CandidateRepository candidateRepository;
+
+    @Autowired
+    private InterviewerRepository interviewerRepository;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private int personCount;
+
+    @Test
+    void saveAll_RowsPerSecond() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("persons=%d schedulesPerPerson=%d interviewers=%d schedulesPerInterviewer=%d rounds=%d, the first round is warm-up%n",
+                PERSONS, SCHEDULES_PER_PERSON, INTERVIEWERS, SCHEDULES_PER_INTERVIEWER, ROUNDS));
+
+        for (int round = 0; round < ROUNDS; round++) {
+            //persons alone, one saveAll in one transaction
+            List<Candidate> candidateList = newPersons(PERSONS, Candidate::new);
+            statistics.clear();
+            long begin = System.nanoTime();
+            transactionTemplate.executeWithoutResult(status -> candidateRepository.saveAll(candidateList));
+            String persons = rate("persons", PERSONS, System.nanoTime() - begin, statistics.getPrepareStatementCount());
+
+            //schedules of existing persons
+            List<Interviewer> interviewerList = interviewerRepository.saveAll(newPersons(INTERVIEWERS, Interviewer::new));
+            List<Schedule> scheduleList = new ArrayList<>();
+            interviewerList.forEach(interviewer -> scheduleList.addAll(getNewSchedules(interviewer, LocalDate.now().plusDays(1), 0, SCHEDULES_PER_INTERVIEWER)));
+            statistics.clear();
+            begin = System.nanoTime();
+            transactionTemplate.executeWithoutResult(status -> scheduleRepository.saveAll(scheduleList));
+            String schedules = rate("schedules", scheduleList.size(), System.nanoTime() - begin, statistics.getPrepareStatementCount());
+
+            //persons cascading their schedules
+            List<Candidate> cascadeList = newPersons(PERSONS / SCHEDULES_PER_PERSON, Candidate::new);
+            cascadeList.forEach(candidate -> candidate.setScheduleList(getNewSchedules(candidate, LocalDate.now().plusDays(1), 0, SCHEDULES_PER_PERSON)));
+            int rows = cascadeList.size() * (1 + SCHEDULES_PER_PERSON);
+            statistics.clear();
+            begin = System.nanoTime();
+            transactionTemplate.executeWithoutResult(status -> candidateRepository.saveAll(cascadeList));
+            String cascade = rate("persons+schedules", rows, System.nanoTime() - begin, statistics.getPrepareStatementCount());
+
+            report.append(String.format("round %d: %s | %s | %s%n", round, persons, schedules, cascade));
+        }
+        log.info("Bulk insert report\n{}", report);
+        Files.createDirectories(REPORT_PATH.getParent());
+        Files.writeString(REPORT_PATH, report.toString());
+
+        Assertions.assertEquals(personCount, candidateRepository.count() + interviewerRepository.count() - 3);
+    }
+
+    private String rate(String name, int rows, long elapsedNanos, long statements) {
+        return String.format("%s %.0f rows/s (%d rows, %d statements)", name, rows / (elapsedNanos / 1e9), rows, statements);
+    }
+
+    private <T extends AbstractPerson> List<T> newPersons(int count, Supplier<T> supplier) {
+        List<T> personList = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            personList.add(getNewPerson(supplier, "Benchmark", "30", personCount++));
+        }
+        return personList;
+    }
+}
@@ -0,0 +1,165 @@
+package com.tamanna.challenge.interview.calendar.repositories;
+
+import com.tamanna.challenge.interview.calendar.entities.enums.PersonType;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * @author tlferreira
+ */
+//the SQL of the hot repository queries must be served by the indexes from the migrations, a dropped index fails here
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:plandb",
+        "outbox.dispatch.enabled=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.tamanna.challenge.interview.calendar.repositories.QueryPlanIntegrationTests$CapturingStatementInspector"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanIntegrationTests {
+    private static final String SLOT_INDEX = "IDX_SCHEDULE_SLOT_PERSON";
+    private static final String OWNED_BOOKING_INDEX = "IDX_SCHEDULE_OWNED_BOOKING";
+    private static final String PARENT_BOOKING_INDEX = "IDX_SCHEDULE_PARENT_BOOKING";
+    //unique (person, day, hour) constraint from the baseline
+    private static final String PERSON_SLOT_INDEX = "UK6MHB4MFALM4Y88CJBWM43PWAF";
+    private static final String INTERVIEWER = PersonType.INTERVIEWER.name();
+    private static final LocalDate DAY_1 = LocalDate.of(2030, 1, 1);
+    private static final LocalDate DAY_2 = DAY_1.plusDays(1);
+    private static final LocalDate DAY_3 = DAY_1.plusDays(2);
+    private static final LocalDate DAY_4 = DAY_1.plusDays(3);
+    private static final LocalDate DAY_5 = DAY_1.plusDays(4);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    //100 interviewers and 100 candidates with 50 slots each, 500 bookings, so plans are chosen from real statistics
+    @BeforeAll
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO person (id, person_type, first_name, last_name, email, phone_number) " +
+                "SELECT X, CASEWHEN(X < 1100, 'INTERVIEWER', 'CANDIDATE'), 'Plan', CAST(X AS VARCHAR), CONCAT('plan-', X, '@mail.com'), CONCAT('+351-970-', X) " +
+                "FROM SYSTEM_RANGE(1000, 1199)");
+        jdbcTemplate.update("INSERT INTO schedule (id, person_id, schedule_day, schedule_hour, version) " +
+                "SELECT 100000 + X, 1000 + X / 50, DATEADD('DAY', MOD(X, 50) / 10, DATE '2030-01-01'), 8 + MOD(X, 10), 0 " +
+                "FROM SYSTEM_RANGE(0, 9999)");
+        //candidate schedule 105000 + k owns booking 200000 + k, the interviewer schedule 100000 + k at the same slot takes part in it
+        jdbcTemplate.update("INSERT INTO booking (id, owner_schedule_id, version) SELECT 200000 + X, 105000 + X, 0 FROM SYSTEM_RANGE(0, 499)");
+        jdbcTemplate.update("UPDATE schedule SET owned_booking_id = id + 95000 WHERE id BETWEEN 105000 AND 105499");
+        jdbcTemplate.update("UPDATE schedule SET parent_booking_id = id + 100000 WHERE id BETWEEN 100000 AND 100499");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void slotLookupTest_UniqueSlotConstraint() {
+        //one lookup per person
+        assertIndexUsed(PERSON_SLOT_INDEX, () -> scheduleRepository.findByPersonIdInAndPersonTypeAndDayAndHour(
+                        List.of(1000L, 1001L, 1002L), INTERVIEWER, DAY_2, 9),
+                1000L, 1001L, 1002L, INTERVIEWER, DAY_2, 9);
+    }
+
+    @Test
+    void freeSlotMatchesTest_SlotIndex() {
+        //the interviewer rows are looked up by the candidate's slot
+        assertIndexUsed(SLOT_INDEX, () -> scheduleRepository.findFreeSlotMatches(1100L, INTERVIEWER, DAY_1, 0, DAY_3, 24, PageRequest.of(0, 10)),
+                1100L, INTERVIEWER, DAY_1, DAY_3, DAY_1, DAY_1, 0, DAY_3, DAY_3, 24, 11);
+    }
+
+    @Test
+    void freeByPersonsTest_UniqueSlotConstraint() {
+        //loads the availability of people missing from the cache
+        assertIndexUsed(PERSON_SLOT_INDEX, () -> scheduleRepository.findFreeByPersonIdInAndDayBetween(List.of(1000L, 1001L, 1100L), DAY_4, DAY_5),
+                1000L, 1001L, 1100L, DAY_4, DAY_5);
+    }
+
+    @Test
+    void freeByDayRangeTest_SlotIndex() {
+        //read when the interviewer index is populated, the day range is read from the slot index already in the order asked for
+        assertIndexUsed(SLOT_INDEX, () -> scheduleRepository.findFreeByPersonTypeAndDayBetween(INTERVIEWER, DAY_4, DAY_5),
+                INTERVIEWER, DAY_4, DAY_5);
+    }
+
+    @Test
+    void schedulesAfterTest_UniqueSlotConstraint() {
+        //a deep page starts from the index instead of skipping rows
+        assertIndexUsed(PERSON_SLOT_INDEX, () -> scheduleRepository.findViewsByPersonIdAndPersonTypeAfter(1000L, INTERVIEWER, DAY_4, 12, PageRequest.of(0, 10)),
+                1000L, INTERVIEWER, DAY_4, DAY_4, 12, 11);
+    }
+
+    @Test
+    void clearOwnedBookingsTest_OwnedBookingIndex() {
+        assertIndexUsed(OWNED_BOOKING_INDEX, () -> scheduleRepository.clearOwnedBookings(List.of(200000L, 200001L)),
+                200000L, 200001L);
+    }
+
+    @Test
+    void clearParentBookingsTest_ParentBookingIndex() {
+        assertIndexUsed(PARENT_BOOKING_INDEX, () -> scheduleRepository.clearParentBookings(List.of(200000L, 200001L)),
+                200000L, 200001L);
+    }
+
+    @Test
+    void bookingsWithSchedulesTest_ParentBookingIndex() {
+        //the interviewer schedules are joined by booking
+        assertIndexUsed(PARENT_BOOKING_INDEX, () -> bookingRepository.findAllWithSchedulesByIdIn(List.of(200000L, 200001L)),
+                200000L, 200001L);
+    }
+
+    @Test
+    void interviewerBookingsTest_ParentBookingIndex() {
+        //the subquery reads the interviewer rows through the person foreign key
+        assertIndexUsed(PARENT_BOOKING_INDEX, () -> bookingRepository.findAllWithSchedulesByInterviewerId(1000L),
+                1000L);
+    }
+
+    //runs the repository call in a transaction rolled back afterwards and returns the single statement Hibernate sent
+    private String captureSql(Runnable repositoryCall) {
+        CapturingStatementInspector.SQL_LIST.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            repositoryCall.run();
+            status.setRollbackOnly();
+        });
+        Assertions.assertEquals(1, CapturingStatementInspector.SQL_LIST.size(), CapturingStatementInspector.SQL_LIST::toString);
+        return CapturingStatementInspector.SQL_LIST.get(0);
+    }
+
+    //person rows may be scanned, schedule and booking rows never
+    //the parameters are bound in the order they appear in the generated SQL
+    private void assertIndexUsed(String indexName, Runnable repositoryCall, Object... parameters) {
+        String sql = captureSql(repositoryCall);
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters));
+        Assertions.assertFalse(plan.contains("SCHEDULE.tableScan"), plan);
+        Assertions.assertFalse(plan.contains("BOOKING.tableScan"), plan);
+        Assertions.assertTrue(plan.contains("PUBLIC." + indexName), plan);
+    }
+
+    //keeps the SQL Hibernate generates for the repository queries, so the plans checked are the ones actually run
+    public static class CapturingStatementInspector implements StatementInspector {
+        private static final List<String> SQL_LIST = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL_LIST.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.tamanna.challenge.interview.calendar.repositories;
+
+import com.tamanna.challenge.interview.calendar.entities.SlotMatch;
+import com.tamanna.challenge.interview.calendar.entities.enums.PersonType;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Schedule;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * @author tlferreira
+ */
+//relies on the sample data in db/seed
+@SpringBootTest
+class ScheduleRepositoryIntegrationTests {
+    private static final long CANDIDATE_ID = 3L;
+    private static final LocalDate MAX_DAY = LocalDate.of(9999, 12, 31);
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Test
+    void findFreeSlotMatchesTest_AllInterviewers() {
+        LocalDate today = LocalDate.now();
+
+        List<SlotMatch> slotMatchList = scheduleRepository.findFreeSlotMatches(CANDIDATE_ID, PersonType.INTERVIEWER.name(), today, 0, MAX_DAY, 24, Pageable.unpaged()).getContent();
+
+        //day+2 11h with interviewer 2, day+3 18h with interviewers 1 and 2
+        Assertions.assertEquals(3, slotMatchList.size());
+        Assertions.assertEquals(List.of(2L, 1L, 2L), slotMatchList.stream().map(SlotMatch::getInterviewerId).toList());
+        Assertions.assertEquals(slotMatchList.get(1).getCandidateScheduleId(), slotMatchList.get(2).getCandidateScheduleId());
+    }
+
+    @Test
+    void findFreeSlotMatchesTest_FilteredInterviewers() {
+        LocalDate today = LocalDate.now();
+
+        List<SlotMatch> slotMatchList = scheduleRepository.findFreeSlotMatches(CANDIDATE_ID, List.of(1L), PersonType.INTERVIEWER.name(), today, 0, MAX_DAY, 24, Pageable.unpaged()).getContent();
+
+        Assertions.assertEquals(1, slotMatchList.size());
+        Assertions.assertEquals(1L, slotMatchList.get(0).getInterviewerId());
+    }
+
+    @Test
+    void findFreeSlotMatchesTest_ReadInPages() {
+        LocalDate today = LocalDate.now();
+
+        Slice<SlotMatch> first = scheduleRepository.findFreeSlotMatches(CANDIDATE_ID, PersonType.INTERVIEWER.name(), today, 0, MAX_DAY, 24, PageRequest.of(0, 2));
+        Slice<SlotMatch> second = scheduleRepository.findFreeSlotMatches(CANDIDATE_ID, PersonType.INTERVIEWER.name(), today, 0, MAX_DAY, 24, first.nextPageable());
+
+        //the day+3 18h run is split across the pages
+        Assertions.assertEquals(List.of(2L, 1L), first.getContent().stream().map(SlotMatch::getInterviewerId).toList());
+        Assertions.assertTrue(first.hasNext());
+        Assertions.assertEquals(List.of(2L), second.getContent().stream().map(SlotMatch::getInterviewerId).toList());
+        Assertions.assertFalse(second.hasNext());
+    }
+
+    @Test
+    void findFreeSlotMatchesByCandidateIdInTest_SameRowsAsSingleQuery() {
+        LocalDate today = LocalDate.now();
+
+        List<SlotMatch> slotMatchList = scheduleRepository.findFreeSlotMatchesByCandidateIdIn(List.of(CANDIDATE_ID, 99L), PersonType.INTERVIEWER.name(), today, 0);
+
+        Assertions.assertEquals(List.of(2L, 1L, 2L), slotMatchList.stream().map(SlotMatch::getInterviewerId).toList());
+        Assertions.assertEquals(List.of(1L), scheduleRepository.findFreeSlotMatchesByCandidateIdIn(List.of(CANDIDATE_ID), List.of(1L), PersonType.INTERVIEWER.name(), today, 0)
+                .stream().map(SlotMatch::getInterviewerId).toList());
+    }
+
+    @Test
+    void findFreeSlotMatchesTest_PastSlotsExcluded() {
+        LocalDate farFuture = LocalDate.now().plusYears(1);
+
+        Assertions.assertTrue(scheduleRepository.findFreeSlotMatches(CANDIDATE_ID, PersonType.INTERVIEWER.name(), farFuture, 0, MAX_DAY, 24, Pageable.unpaged()).getContent().isEmpty());
+    }
+
+    @Test
+    void findFreeSlotMatchesTest_WindowUpperBoundExclusive() {
+        LocalDate today = LocalDate.now();
+
+        //day+3 18h is excluded
+        List<SlotMatch> slotMatchList = scheduleRepository.findFreeSlotMatches(CANDIDATE_ID, PersonType.INTERVIEWER.name(), today, 0, today.plusDays(3), 18, Pageable.unpaged()).getContent();
+
+        Assertions.assertEquals(1, slotMatchList.size());
+        Assertions.assertEquals(2L, slotMatchList.get(0).getInterviewerId());
+    }
+
+    @Test
+    void findFreeByPersonIdInAndDayBetweenTest_OnlyRowsInsideWindow() {
+        LocalDate today = LocalDate.now();
+
+        List<Schedule> scheduleList = scheduleRepository.findFreeByPersonIdInAndDayBetween(List.of(1L, CANDIDATE_ID), today.plusDays(2), today.plusDays(3));
+
+        //day+2 11h and day+3 12h, 18h for the candidate, day+3 18h for interviewer 1
+        Assertions.assertEquals(4, scheduleList.size());
+        Assertions.assertTrue(scheduleList.stream().allMatch(schedule -> !schedule.getDay().isBefore(today.plusDays(2)) && !schedule.getDay().isAfter(today.plusDays(3))));
+    }
+
+    @Test
+    void findFreeByPersonTypeAndDayBetweenTest_OnlyInterviewers() {
+        LocalDate today = LocalDate.now();
+
+        List<Schedule> scheduleList = scheduleRepository.findFreeByPersonTypeAndDayBetween(PersonType.INTERVIEWER.name(), today.plusDays(3), today.plusDays(3));
+
+        Assertions.assertEquals(List.of(1L, 2L), scheduleList.stream().map(schedule -> schedule.getPerson().getId()).sorted().toList());
+    }
+
+    @Test
+    void findByPersonIdInAndPersonTypeAndDayAndHourTest_OnlyInterviewersAtSlot() {
+        LocalDate day = LocalDate.now().plusDays(3);
+
+        List<Schedule> scheduleList = scheduleRepository.findByPersonIdInAndPersonTypeAndDayAndHour(List.of(1L, 2L, CANDIDATE_ID), PersonType.INTERVIEWER.name(), day, 18);
+
+        Assertions.assertEquals(List.of(1L, 2L), scheduleList.stream().map(schedule -> schedule.getPerson().getId()).sorted().toList());
+        Assertions.assertTrue(scheduleRepository.findByPersonIdInAndPersonTypeAndDayAndHour(List.of(1L, 2L), PersonType.INTERVIEWER.name(), day, 12).isEmpty());
+    }
+}
@@ -0,0 +1,115 @@
+package com.tamanna.challenge.interview.calendar.services;
+
+import com.tamanna.challenge.interview.calendar.configurations.MeetingBookingKeys;
+import com.tamanna.challenge.interview.calendar.entities.AsyncBooking;
+import com.tamanna.challenge.interview.calendar.entities.BookingRequest;
+import com.tamanna.challenge.interview.calendar.entities.BookingResult;
+import com.tamanna.challenge.interview.calendar.entities.enums.BookingStatus;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Booking;
+import com.tamanna.challenge.interview.calendar.exceptions.ConflictException;
+import com.tamanna.challenge.interview.calendar.services.impl.AsyncBookingServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyList;
+
+/**
+ * @author tlferreira
+ */
+class AsyncBookingServiceTests {
+    private final MeetingService meetingService = Mockito.mock(MeetingService.class);
+    private final CountDownLatch firstBatchStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+    private final List<List<BookingRequest>> batchList = new CopyOnWriteArrayList<>();
+
+    private AsyncBookingServiceImpl asyncBookingService;
+
+    @AfterEach
+    void tearDown() {
+        releaseFirstBatch.countDown();
+        asyncBookingService.shutdown();
+    }
+
+    @Test
+    void submit_QueuedRequestsBookedAsOneBatch() throws Exception {
+        asyncBookingService = newService(1, 10);
+        Mockito.when(meetingService.bookMeetingBatch(anyList())).thenAnswer(invocation -> {
+            List<BookingRequest> bookingRequestList = invocation.getArgument(0);
+            blockFirstBatch(bookingRequestList);
+            return bookingRequestList.stream().map(bookingRequest -> BookingResult.booked(bookingRequest, new Booking())).toList();
+        });
+
+        AsyncBooking first = asyncBookingService.submit(newRequest(1L, 10L));
+        Assertions.assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+        //queued behind the running batch, taken together once the writer is free
+        AsyncBooking second = asyncBookingService.submit(newRequest(2L, 10L));
+        AsyncBooking third = asyncBookingService.submit(newRequest(3L, 10L));
+        Assertions.assertEquals(BookingStatus.PENDING, second.getResult().getStatus());
+        releaseFirstBatch.countDown();
+
+        awaitDone(third);
+        Assertions.assertEquals(List.of(1), batchList.get(0).stream().map(bookingRequest -> (int) bookingRequest.getScheduleId()).toList());
+        Assertions.assertEquals(List.of(2, 3), batchList.get(1).stream().map(bookingRequest -> (int) bookingRequest.getScheduleId()).toList());
+        Assertions.assertEquals(BookingStatus.BOOKED, first.getResult().getStatus());
+        Assertions.assertEquals(BookingStatus.BOOKED, second.getResult().getStatus());
+        Assertions.assertTrue(asyncBookingService.findBooking(second.getId()).isPresent());
+    }
+
+    @Test
+    void submit_FullQueueConflictsAndFailedBatchReported() throws Exception {
+        asyncBookingService = newService(1, 1);
+        Mockito.when(meetingService.bookMeetingBatch(anyList())).thenAnswer(invocation -> {
+            blockFirstBatch(invocation.getArgument(0));
+            throw new ConflictException("Unable to bookMeetingBatch, conflicting update after 3 attempts");
+        });
+
+        AsyncBooking running = asyncBookingService.submit(newRequest(1L, 10L));
+        Assertions.assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+        asyncBookingService.submit(newRequest(2L, 10L));
+        Assertions.assertThrows(ConflictException.class, () -> asyncBookingService.submit(newRequest(3L, 10L)));
+        releaseFirstBatch.countDown();
+
+        awaitDone(running);
+        Assertions.assertEquals(BookingStatus.CONFLICT, running.getResult().getStatus());
+    }
+
+    private AsyncBookingServiceImpl newService(int partitions, int queueCapacity) {
+        MeetingBookingKeys meetingBookingKeys = new MeetingBookingKeys();
+        meetingBookingKeys.getAsync().setEnabled(true);
+        meetingBookingKeys.getAsync().setPartitions(partitions);
+        meetingBookingKeys.getAsync().setQueueCapacity(queueCapacity);
+        return new AsyncBookingServiceImpl(meetingService, meetingBookingKeys, new SimpleMeterRegistry());
+    }
+
+    private void blockFirstBatch(List<BookingRequest> bookingRequestList) throws InterruptedException {
+        batchList.add(List.copyOf(bookingRequestList));
+        if (batchList.size() == 1) {
+            firstBatchStarted.countDown();
+            Assertions.assertTrue(releaseFirstBatch.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    private BookingRequest newRequest(long scheduleId, long interviewerId) {
+        return BookingRequest
+                .builder()
+                .scheduleId(scheduleId)
+                .candidateId(100L)
+                .interviewerIdList(List.of(interviewerId))
+                .build();
+    }
+
+    private void awaitDone(AsyncBooking asyncBooking) throws InterruptedException {
+        for (int i = 0; i < 250 && !asyncBooking.isDone(); i++) {
+            Thread.sleep(20);
+        }
+        Assertions.assertTrue(asyncBooking.isDone());
+    }
+}
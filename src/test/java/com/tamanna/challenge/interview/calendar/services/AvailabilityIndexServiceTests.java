@@ -0,0 +1,141 @@
+package com.tamanna.challenge.interview.calendar.services;
+
+import com.tamanna.challenge.interview.calendar.entities.PersonAvailability;
+import com.tamanna.challenge.interview.calendar.entities.SlotBitmap;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Booking;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Candidate;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Interviewer;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Schedule;
+import com.tamanna.challenge.interview.calendar.services.impl.AvailabilityIndexServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static com.tamanna.challenge.interview.calendar.DummyDataUtils.*;
+
+/**
+ * @author tlferreira
+ */
+class AvailabilityIndexServiceTests {
+    private final AvailabilityIndexService availabilityIndexService = new AvailabilityIndexServiceImpl();
+
+    @Test
+    void getAvailabilityTest_OnlyFreeFutureSchedules() {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        Schedule booked = getNewSchedule(2L, 11, tomorrow);
+        booked.setParentBooking(new Booking());
+
+        Interviewer interviewer = getNewPersonInterviewer(1L);
+        interviewer.setScheduleList(new ArrayList<>(List.of(getNewSchedule(1L, 10, tomorrow), booked, getNewSchedule(3L, 10, LocalDate.now().minusDays(1)))));
+
+        PersonAvailability<Interviewer> availability = availabilityIndexService.getAvailability(interviewer);
+
+        Assertions.assertEquals(List.of(1L), availability.getFreeScheduleList().stream().map(Schedule::getId).toList());
+        Assertions.assertSame(availability, availabilityIndexService.findAvailability(1L, Interviewer.class).orElseThrow());
+        Assertions.assertTrue(availabilityIndexService.findAvailability(1L, Candidate.class).isEmpty());
+    }
+
+    @Test
+    void updateTest_NewVersionPublished() {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        Interviewer interviewer = getNewPersonInterviewer(1L);
+        interviewer.setScheduleList(new ArrayList<>(List.of(getNewSchedule(1L, 10, tomorrow))));
+        PersonAvailability<Interviewer> initial = availabilityIndexService.getAvailability(interviewer);
+
+        availabilityIndexService.addFreeSlot(1L, getNewSchedule(2L, 12, tomorrow));
+        PersonAvailability<Interviewer> added = availabilityIndexService.findAvailability(1L, Interviewer.class).orElseThrow();
+        Assertions.assertTrue(added.getVersion() > initial.getVersion());
+        Assertions.assertEquals(List.of(1L, 2L), added.getFreeScheduleList().stream().map(Schedule::getId).toList());
+        //published snapshots never change
+        Assertions.assertEquals(1, initial.getFreeScheduleList().size());
+
+        availabilityIndexService.removeFreeSlot(1L, getNewSchedule(1L, 10, tomorrow));
+        Assertions.assertEquals(List.of(2L), availabilityIndexService.findAvailability(1L, Interviewer.class).orElseThrow()
+                .getFreeScheduleList().stream().map(Schedule::getId).toList());
+
+        availabilityIndexService.evict(1L);
+        Assertions.assertTrue(availabilityIndexService.findAvailability(1L, Interviewer.class).isEmpty());
+    }
+
+    @Test
+    void updateTest_AppliedAfterCommit() {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        Interviewer interviewer = getNewPersonInterviewer(1L);
+        interviewer.setScheduleList(new ArrayList<>(List.of(getNewSchedule(1L, 10, tomorrow))));
+        availabilityIndexService.getAvailability(interviewer);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            availabilityIndexService.removeFreeSlot(1L, getNewSchedule(1L, 10, tomorrow));
+            Assertions.assertFalse(availabilityIndexService.findAvailability(1L, Interviewer.class).orElseThrow().isEmpty());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            Assertions.assertTrue(availabilityIndexService.findAvailability(1L, Interviewer.class).orElseThrow().isEmpty());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void getAvailabilityTest_LoadRacingWithChangeNotCached() {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        Interviewer interviewer = getNewPersonInterviewer(1L);
+        interviewer.setScheduleList(new ArrayList<>(List.of(getNewSchedule(1L, 10, tomorrow))));
+
+        //read before the rows, the slot is booked while they are being loaded
+        long version = availabilityIndexService.currentVersion(1L);
+        availabilityIndexService.removeFreeSlot(1L, getNewSchedule(1L, 10, tomorrow));
+
+        Assertions.assertFalse(availabilityIndexService.getAvailability(interviewer, interviewer.getScheduleList(), version).isEmpty());
+        Assertions.assertTrue(availabilityIndexService.findAvailability(1L, Interviewer.class).isEmpty());
+        Assertions.assertTrue(availabilityIndexService.findFreeInterviewerIds(SlotBitmap.toEpochHour(tomorrow, 10)).isEmpty());
+
+        //a load started after the change is kept
+        availabilityIndexService.getAvailability(interviewer, List.of(), availabilityIndexService.currentVersion(1L));
+        Assertions.assertTrue(availabilityIndexService.findAvailability(1L, Interviewer.class).isPresent());
+    }
+
+    @Test
+    void findFreeInterviewerIdsTest_PastSlotsPruned() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        Interviewer interviewer = getNewPersonInterviewer(1L);
+        interviewer.setScheduleList(new ArrayList<>());
+        availabilityIndexService.getAvailability(interviewer);
+
+        availabilityIndexService.addFreeSlot(1L, getNewSchedule(1L, 10, yesterday));
+        Assertions.assertTrue(availabilityIndexService.findFreeInterviewerIds(SlotBitmap.toEpochHour(yesterday, 10)).isEmpty());
+    }
+
+    @Test
+    void findFreeInterviewerIdsTest_FollowsChanges() {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        long slot = SlotBitmap.toEpochHour(tomorrow, 10);
+
+        Interviewer interviewer = getNewPersonInterviewer(1L);
+        interviewer.setScheduleList(new ArrayList<>(List.of(getNewSchedule(1L, 10, tomorrow))));
+        Interviewer interviewerB = getNewPersonInterviewer(2L);
+        interviewerB.setScheduleList(new ArrayList<>());
+        Candidate candidate = getNewPersonCandidate(3L);
+        candidate.setScheduleList(new ArrayList<>(List.of(getNewSchedule(3L, 10, tomorrow))));
+
+        availabilityIndexService.getAvailability(interviewer);
+        availabilityIndexService.getAvailability(interviewerB);
+        availabilityIndexService.getAvailability(candidate);
+        Assertions.assertEquals(Set.of(1L), availabilityIndexService.findFreeInterviewerIds(slot));
+
+        availabilityIndexService.addFreeSlot(2L, getNewSchedule(4L, 10, tomorrow));
+        Assertions.assertEquals(Set.of(1L, 2L), availabilityIndexService.findFreeInterviewerIds(slot));
+
+        availabilityIndexService.removeFreeSlot(1L, getNewSchedule(1L, 10, tomorrow));
+        Assertions.assertEquals(Set.of(2L), availabilityIndexService.findFreeInterviewerIds(slot));
+
+        availabilityIndexService.evict(2L);
+        Assertions.assertTrue(availabilityIndexService.findFreeInterviewerIds(slot).isEmpty());
+    }
+}
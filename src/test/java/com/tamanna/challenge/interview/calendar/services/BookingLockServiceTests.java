@@ -0,0 +1,99 @@
+package com.tamanna.challenge.interview.calendar.services;
+
+import com.tamanna.challenge.interview.calendar.configurations.MeetingBookingKeys;
+import com.tamanna.challenge.interview.calendar.exceptions.ConflictException;
+import com.tamanna.challenge.interview.calendar.exceptions.ServiceException;
+import com.tamanna.challenge.interview.calendar.services.impl.BookingLockServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author tlferreira
+ */
+class BookingLockServiceTests {
+    private MeterRegistry meterRegistry;
+    private BookingLockService bookingLockService;
+
+    @BeforeEach
+    void setUp() {
+        MeetingBookingKeys meetingBookingKeys = new MeetingBookingKeys();
+        meetingBookingKeys.getLock().setTimeout(Duration.ofMillis(100));
+        meterRegistry = new SimpleMeterRegistry();
+        bookingLockService = new BookingLockServiceImpl(meetingBookingKeys, meterRegistry);
+    }
+
+    @Test
+    void lockTest_SharedPersonWaitsThenTimesOut() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> {
+            try (BookingLockService.Handle ignored = bookingLockService.lock(List.of(1L, 2L))) {
+                locked.countDown();
+                release.await();
+            } catch (ServiceException | InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Assertions.assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+        Assertions.assertThrows(ConflictException.class, () -> bookingLockService.lock(List.of(2L, 3L)));
+        Assertions.assertEquals(1, meterRegistry.counter("booking.lock.contended").count());
+        Assertions.assertEquals(1, meterRegistry.counter("booking.lock.timeout").count());
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        //the failed attempt released what it had taken
+        try (BookingLockService.Handle ignored = bookingLockService.lock(List.of(3L, 2L, 1L))) {
+            Assertions.assertEquals(3, meterRegistry.timer("booking.lock.wait").count());
+        }
+    }
+
+    @Test
+    void lockTest_OppositeOrdersDoNotDeadlock() throws Exception {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[2];
+        List<List<Long>> orders = List.of(List.of(1L, 2L, 3L), List.of(3L, 2L, 1L));
+        for (int i = 0; i < futures.length; i++) {
+            List<Long> personIdList = orders.get(i);
+            futures[i] = CompletableFuture.runAsync(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    try (BookingLockService.Handle ignored = bookingLockService.lock(personIdList)) {
+                        Thread.onSpinWait();
+                    } catch (ServiceException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            });
+        }
+
+        CompletableFuture.allOf(futures).get(30, TimeUnit.SECONDS);
+        Assertions.assertEquals(0, meterRegistry.counter("booking.lock.timeout").count());
+    }
+
+    @Test
+    void lockTest_DisabledNeverBlocks() throws Exception {
+        MeetingBookingKeys meetingBookingKeys = new MeetingBookingKeys();
+        meetingBookingKeys.getLock().setEnabled(false);
+        BookingLockService disabledLockService = new BookingLockServiceImpl(meetingBookingKeys, new SimpleMeterRegistry());
+
+        try (BookingLockService.Handle ignored = disabledLockService.lock(List.of(1L))) {
+            CompletableFuture
+                    .runAsync(() -> {
+                        try (BookingLockService.Handle inner = disabledLockService.lock(List.of(1L))) {
+                            Thread.onSpinWait();
+                        } catch (ServiceException e) {
+                            throw new IllegalStateException(e);
+                        }
+                    })
+                    .get(5, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.tamanna.challenge.interview.calendar.services;
+
+import com.tamanna.challenge.interview.calendar.entities.AvailableMeeting;
+import com.tamanna.challenge.interview.calendar.entities.PersonAvailability;
+import com.tamanna.challenge.interview.calendar.entities.SlotBitmap;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Booking;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Interviewer;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Schedule;
+import com.tamanna.challenge.interview.calendar.services.impl.BitmapMatchingEngine;
+import com.tamanna.challenge.interview.calendar.services.impl.ParallelMatchingEngine;
+import com.tamanna.challenge.interview.calendar.services.impl.SortedMergeMatchingEngine;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import static com.tamanna.challenge.interview.calendar.DummyDataUtils.getNewPersonInterviewer;
+import static com.tamanna.challenge.interview.calendar.DummyDataUtils.getNewSchedule;
+
+/**
+ * @author tlferreira
+ */
+class MeetingMatchingEngineTests {
+    private final MeetingMatchingEngine bitmapEngine = new BitmapMatchingEngine();
+    private final MeetingMatchingEngine sortedMergeEngine = new SortedMergeMatchingEngine();
+
+    @Test
+    void matchTest_IgnoresBookedInterviewerSchedules() {
+        Schedule candidateSchedule = getNewSchedule(1L, 10);
+
+        Interviewer interviewer = getNewPersonInterviewer(2L);
+        Schedule bookedSchedule = getNewSchedule(2L, 10);
+        bookedSchedule.setParentBooking(new Booking());
+        interviewer.setScheduleList(List.of(bookedSchedule));
+
+        Assertions.assertTrue(bitmapEngine.match(List.of(candidateSchedule), availabilities(List.of(interviewer))).isEmpty());
+        Assertions.assertTrue(sortedMergeEngine.match(List.of(candidateSchedule), availabilities(List.of(interviewer))).isEmpty());
+    }
+
+    @Test
+    void matchTest_SortedMergeOrderedBySlot() {
+        LocalDate day = LocalDate.now().plusDays(1);
+        Schedule late = getNewSchedule(1L, 18, day);
+        Schedule early = getNewSchedule(2L, 9, day);
+
+        Interviewer interviewer = getNewPersonInterviewer(3L);
+        interviewer.setScheduleList(List.of(getNewSchedule(4L, 18, day), getNewSchedule(5L, 9, day)));
+
+        List<AvailableMeeting> availableMeetingList = sortedMergeEngine.match(List.of(late, early), availabilities(List.of(interviewer)));
+
+        Assertions.assertEquals(2, availableMeetingList.size());
+        Assertions.assertEquals(early, availableMeetingList.get(0).getCandidateSchedule());
+        Assertions.assertEquals(late, availableMeetingList.get(1).getCandidateSchedule());
+    }
+
+    @Test
+    void matchTest_EnginesAgree() {
+        Random random = new Random(42);
+        LocalDate start = LocalDate.now().plusDays(1);
+
+        List<Schedule> candidateScheduleList = randomSchedules(random, start, 200, 0);
+        List<Interviewer> interviewerList = new ArrayList<>();
+        for (long id = 1; id <= 30; id++) {
+            Interviewer interviewer = getNewPersonInterviewer(id);
+            interviewer.setScheduleList(randomSchedules(random, start, 150, id * 1000));
+            interviewerList.add(interviewer);
+        }
+
+        Assertions.assertEquals(toSlotMap(bitmapEngine.match(candidateScheduleList, availabilities(interviewerList))),
+                toSlotMap(sortedMergeEngine.match(candidateScheduleList, availabilities(interviewerList))));
+    }
+
+    @Test
+    void matchTest_ParallelAgreesWithSequential() {
+        Random random = new Random(7);
+        LocalDate start = LocalDate.now().plusDays(1);
+
+        List<Schedule> candidateScheduleList = randomSchedules(random, start, 200, 0);
+        List<Interviewer> interviewerList = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) {
+            Interviewer interviewer = getNewPersonInterviewer(id);
+            interviewer.setScheduleList(randomSchedules(random, start, 100, id * 1000));
+            interviewerList.add(interviewer);
+        }
+
+        List<AvailableMeeting> sequential = sortedMergeEngine.match(candidateScheduleList, availabilities(interviewerList));
+        try (ParallelMatchingEngine parallelEngine = new ParallelMatchingEngine(sortedMergeEngine, 4, 3)) {
+            List<AvailableMeeting> parallel = parallelEngine.match(candidateScheduleList, availabilities(interviewerList));
+
+            Assertions.assertEquals(sequential.stream().map(meeting -> meeting.getCandidateSchedule().getId()).toList(),
+                    parallel.stream().map(meeting -> meeting.getCandidateSchedule().getId()).toList());
+            Assertions.assertEquals(toSlotMap(sequential), toSlotMap(parallel));
+        }
+    }
+
+    @Test
+    void matchTest_LimitReturnsEarliestSlots() {
+        Random random = new Random(11);
+        LocalDate start = LocalDate.now().plusDays(1);
+
+        List<Schedule> candidateScheduleList = randomSchedules(random, start, 300, 0)
+                .stream()
+                .sorted(Comparator.comparingLong(SlotBitmap::toEpochHour))
+                .toList();
+        List<Interviewer> interviewerList = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            Interviewer interviewer = getNewPersonInterviewer(id);
+            interviewer.setScheduleList(randomSchedules(random, start, 150, id * 1000));
+            interviewerList.add(interviewer);
+        }
+
+        List<AvailableMeeting> all = sortedMergeEngine.match(candidateScheduleList, availabilities(interviewerList));
+        Assertions.assertTrue(all.size() > 5);
+        Map<Long, List<Long>> expected = toSlotMap(all.subList(0, 5));
+
+        Assertions.assertEquals(expected, toSlotMap(sortedMergeEngine.match(candidateScheduleList, availabilities(interviewerList), 5)));
+        Assertions.assertEquals(expected, toSlotMap(bitmapEngine.match(candidateScheduleList, availabilities(interviewerList), 5)));
+        try (ParallelMatchingEngine parallelEngine = new ParallelMatchingEngine(sortedMergeEngine, 4, 3)) {
+            Assertions.assertEquals(expected, toSlotMap(parallelEngine.match(candidateScheduleList, availabilities(interviewerList), 5)));
+        }
+    }
+
+    @Test
+    void matchTest_MinInterviewersFiltersSlots() {
+        Random random = new Random(19);
+        LocalDate start = LocalDate.now().plusDays(1);
+
+        List<Schedule> candidateScheduleList = randomSchedules(random, start, 300, 0)
+                .stream()
+                .sorted(Comparator.comparingLong(SlotBitmap::toEpochHour))
+                .toList();
+        List<Interviewer> interviewerList = new ArrayList<>();
+        for (long id = 1; id <= 40; id++) {
+            Interviewer interviewer = getNewPersonInterviewer(id);
+            interviewer.setScheduleList(randomSchedules(random, start, 150, id * 1000));
+            interviewerList.add(interviewer);
+        }
+
+        List<AvailableMeeting> quorum = sortedMergeEngine.match(candidateScheduleList, availabilities(interviewerList))
+                .stream()
+                .filter(availableMeeting -> availableMeeting.getInterviewerList().size() >= 3)
+                .toList();
+        Assertions.assertTrue(quorum.size() > 5);
+        Map<Long, List<Long>> expected = toSlotMap(quorum.subList(0, 5));
+
+        Assertions.assertEquals(toSlotMap(quorum), toSlotMap(bitmapEngine.match(candidateScheduleList, availabilities(interviewerList), Integer.MAX_VALUE, 3)));
+        Assertions.assertEquals(expected, toSlotMap(sortedMergeEngine.match(candidateScheduleList, availabilities(interviewerList), 5, 3)));
+        Assertions.assertEquals(expected, toSlotMap(bitmapEngine.match(candidateScheduleList, availabilities(interviewerList), 5, 3)));
+        try (ParallelMatchingEngine parallelEngine = new ParallelMatchingEngine(sortedMergeEngine, 4, 3)) {
+            Assertions.assertEquals(expected, toSlotMap(parallelEngine.match(candidateScheduleList, availabilities(interviewerList), 5, 3)));
+        }
+    }
+
+    @Test
+    void matchBatchTest_BitmapAgreesWithPerCandidate() {
+        Random random = new Random(3);
+        LocalDate start = LocalDate.now().plusDays(1);
+
+        Map<Long, List<Schedule>> candidateScheduleMap = new LinkedHashMap<>();
+        for (long candidateId = 1; candidateId <= 10; candidateId++) {
+            candidateScheduleMap.put(candidateId, randomSchedules(random, start, 80, candidateId * 100_000)
+                    .stream()
+                    .sorted(Comparator.comparingLong(SlotBitmap::toEpochHour))
+                    .toList());
+        }
+        List<Interviewer> interviewerList = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            Interviewer interviewer = getNewPersonInterviewer(id);
+            interviewer.setScheduleList(randomSchedules(random, start, 150, id * 1000));
+            interviewerList.add(interviewer);
+        }
+
+        Map<Long, List<AvailableMeeting>> batch = bitmapEngine.matchBatch(candidateScheduleMap, availabilities(interviewerList), 7, 1);
+        Assertions.assertEquals(candidateScheduleMap.keySet(), batch.keySet());
+        candidateScheduleMap.forEach((candidateId, candidateScheduleList) ->
+                Assertions.assertEquals(toSlotMap(sortedMergeEngine.match(candidateScheduleList, availabilities(interviewerList), 7)),
+                        toSlotMap(batch.get(candidateId))));
+    }
+
+    private List<PersonAvailability<Interviewer>> availabilities(List<Interviewer> interviewerList) {
+        return interviewerList
+                .stream()
+                .map(interviewer -> PersonAvailability.of(interviewer, 0, Long.MIN_VALUE))
+                .toList();
+    }
+
+    private List<Schedule> randomSchedules(Random random, LocalDate start, int count, long idOffset) {
+        Map<String, Schedule> schedules = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            Schedule schedule = getNewSchedule(idOffset + i, random.nextInt(24), start.plusDays(random.nextInt(60)));
+            schedules.putIfAbsent(schedule.getDay() + "T" + schedule.getHour(), schedule);
+        }
+        return new ArrayList<>(schedules.values());
+    }
+
+    private Map<Long, List<Long>> toSlotMap(List<AvailableMeeting> availableMeetingList) {
+        Map<Long, List<Long>> slotMap = new TreeMap<>();
+        availableMeetingList.forEach(availableMeeting -> slotMap.put(availableMeeting.getCandidateSchedule().getId(),
+                availableMeeting.getInterviewerList().stream().map(Interviewer::getId).toList()));
+        return slotMap;
+    }
+}
@@ -0,0 +1,237 @@
+package com.tamanna.challenge.interview.calendar.services;
+
+import com.tamanna.challenge.interview.calendar.dtos.BookingDTO;
+import com.tamanna.challenge.interview.calendar.dtos.PersonDTO;
+import com.tamanna.challenge.interview.calendar.dtos.ScheduleDTO;
+import com.tamanna.challenge.interview.calendar.entities.AvailableMeeting;
+import com.tamanna.challenge.interview.calendar.entities.SlotBitmap;
+import com.tamanna.challenge.interview.calendar.entities.jpa.AbstractPerson;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Booking;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Candidate;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Interviewer;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Schedule;
+import com.tamanna.challenge.interview.calendar.entities.projections.PersonView;
+import com.tamanna.challenge.interview.calendar.entities.projections.ScheduleView;
+import com.tamanna.challenge.interview.calendar.exceptions.NotFoundException;
+import com.tamanna.challenge.interview.calendar.repositories.CandidateRepository;
+import com.tamanna.challenge.interview.calendar.repositories.InterviewerRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.annotation.DirtiesContext;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.tamanna.challenge.interview.calendar.DummyDataUtils.getNewPerson;
+import static com.tamanna.challenge.interview.calendar.DummyDataUtils.getNewSchedules;
+
+/**
+ * @author tlferreira
+ */
+//reads must issue the same number of statements whatever the number of rows they return
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:fetchplandb",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=warn",
+        "outbox.dispatch.enabled=false"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MeetingServiceFetchPlanIntegrationTests {
+    private static final int SLOTS = 10;
+    private static final int BOOKINGS = 6;
+    private static final LocalDate DAY = LocalDate.now().plusDays(1);
+
+    @Autowired
+    private MeetingService meetingService;
+
+    @Autowired
+    private CandidateScheduleService candidateScheduleService;
+
+    @Autowired
+    private InterviewerService interviewerService;
+
+    @Autowired
+    private CandidateRepository candidateRepository;
+
+    @Autowired
+    private InterviewerRepository interviewerRepository;
+
+    @Autowired
+    private ModelMapper modelMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Candidate candidate;
+
+    private List<Interviewer> interviewerList;
+
+    private List<Booking> bookingList;
+
+    //booking i is taken by interviewers i and i + 1, so inner interviewers take part in two bookings
+    @BeforeAll
+    void setUp() throws Exception {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        candidate = candidateRepository.save(newPerson(Candidate::new, 0));
+        interviewerList = new ArrayList<>();
+        for (int i = 1; i <= BOOKINGS + 1; i++) {
+            interviewerList.add(newPerson(Interviewer::new, i));
+        }
+        interviewerList = interviewerRepository.saveAll(interviewerList);
+
+        bookingList = new ArrayList<>();
+        List<Schedule> candidateScheduleList = candidate.getScheduleList();
+        for (int i = 0; i < BOOKINGS; i++) {
+            bookingList.add(meetingService.bookMeeting(candidateScheduleList.get(i).getId(), candidate.getId(),
+                    List.of(interviewerList.get(i).getId(), interviewerList.get(i + 1).getId())));
+        }
+    }
+
+    @Test
+    void getCandidateMeetingsTest_OneStatement() throws Exception {
+        statistics.clear();
+        List<BookingDTO> bookingDTOList = meetingService.getCandidateMeetings(candidate.getId()).stream().map(this::toDTO).toList();
+
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(BOOKINGS, bookingDTOList.size());
+        bookingDTOList.forEach(bookingDTO -> {
+            Assertions.assertEquals(candidate.getEmail(), bookingDTO.getCandidate().getEmail());
+            Assertions.assertEquals(2, bookingDTO.getInterviewerList().size());
+        });
+    }
+
+    @Test
+    void getInterviewerMeetingsTest_OneStatementWithEveryInterviewer() throws Exception {
+        statistics.clear();
+        List<BookingDTO> bookingDTOList = meetingService.getInterviewerMeetings(interviewerList.get(1).getId()).stream().map(this::toDTO).toList();
+
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(2, bookingDTOList.size());
+        bookingDTOList.forEach(bookingDTO -> Assertions.assertEquals(2, bookingDTO.getInterviewerList().size()));
+    }
+
+    @Test
+    void getMeetingTest_OneStatement() throws Exception {
+        statistics.clear();
+        BookingDTO bookingDTO = toDTO(meetingService.getMeeting(bookingList.get(0).getId()).orElseThrow());
+
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(candidate.getEmail(), bookingDTO.getCandidate().getEmail());
+        Assertions.assertEquals(2, bookingDTO.getInterviewerList().size());
+    }
+
+    @Test
+    void findAllSchedulesTest_OneStatementWithoutEntities() throws Exception {
+        statistics.clear();
+        List<ScheduleDTO> scheduleDTOList = candidateScheduleService
+                .findAll(candidate.getId())
+                .stream()
+                .map(schedule -> modelMapper.map(schedule, ScheduleDTO.class))
+                .toList();
+
+        //booked is computed by the query, neither the person nor the bookings are read
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(0, statistics.getEntityLoadCount());
+        Assertions.assertEquals(SLOTS, scheduleDTOList.size());
+        Assertions.assertEquals(BOOKINGS, scheduleDTOList.stream().filter(ScheduleDTO::isBooked).count());
+        Assertions.assertEquals(DAY, scheduleDTOList.get(0).getDay());
+    }
+
+    @Test
+    void findAllSchedulesTest_UnknownPersonNotFound() {
+        Assertions.assertThrows(NotFoundException.class, () -> candidateScheduleService.findAll(interviewerList.get(0).getId()));
+    }
+
+    @Test
+    void findAllPersonsTest_OneStatementWithoutEntities() throws Exception {
+        statistics.clear();
+        List<PersonDTO> personDTOList = interviewerService
+                .findAll()
+                .stream()
+                .map(person -> modelMapper.map(person, PersonDTO.class))
+                .toList();
+
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(0, statistics.getEntityLoadCount());
+        //the sample interviewers are listed as well
+        List<PersonDTO> fetchDTOList = personDTOList.stream().filter(personDTO -> personDTO.getEmail().startsWith("fetch-")).toList();
+        Assertions.assertEquals(interviewerList.size(), fetchDTOList.size());
+        fetchDTOList.forEach(personDTO -> Assertions.assertTrue(personDTO.getId() > 0));
+    }
+
+    @Test
+    void findAllSchedulesAfterTest_OneStatementPerPage() throws Exception {
+        List<ScheduleView> scheduleViewList = new ArrayList<>();
+        Long afterSlot = null;
+        Slice<ScheduleView> scheduleViewSlice;
+        do {
+            statistics.clear();
+            scheduleViewSlice = candidateScheduleService.findAllAfter(candidate.getId(), afterSlot, 3);
+
+            //no count, deep pages seek as the first one does
+            Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+            scheduleViewList.addAll(scheduleViewSlice.getContent());
+            ScheduleView last = scheduleViewSlice.getContent().get(scheduleViewSlice.getNumberOfElements() - 1);
+            afterSlot = SlotBitmap.toEpochHour(last.getDay(), last.getHour());
+        } while (scheduleViewSlice.hasNext());
+
+        Assertions.assertEquals(SLOTS, scheduleViewList.size());
+        Assertions.assertEquals(List.of(8, 9, 10, 11, 12, 13, 14, 15, 16, 17), scheduleViewList.stream().map(ScheduleView::getHour).toList());
+        Assertions.assertEquals(BOOKINGS, scheduleViewList.stream().filter(ScheduleView::isBooked).count());
+    }
+
+    @Test
+    void findAllPersonsAfterTest_OneStatementPerPage() throws Exception {
+        List<Long> idList = new ArrayList<>();
+        long afterId = 0;
+        Slice<PersonView> personViewSlice;
+        do {
+            statistics.clear();
+            personViewSlice = interviewerService.findAllAfter(afterId, 2);
+
+            Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+            personViewSlice.forEach(personView -> idList.add(personView.getId()));
+            afterId = idList.get(idList.size() - 1);
+        } while (personViewSlice.hasNext());
+
+        //ascending without repeats, every interviewer once
+        Assertions.assertEquals(idList.stream().sorted().distinct().toList(), idList);
+        Assertions.assertTrue(idList.containsAll(interviewerList.stream().map(Interviewer::getId).toList()));
+    }
+
+    @Test
+    void queryMeetingTest_StatementsIndependentOfInterviewers() throws Exception {
+        statistics.clear();
+        List<AvailableMeeting> availableMeetingList = meetingService.queryMeeting(candidate.getId(), interviewerList.stream().map(Interviewer::getId).toList());
+
+        //the candidate, its free schedules, the interviewers and their free schedules, less when cached
+        Assertions.assertTrue(statistics.getPrepareStatementCount() <= 4, "statements: " + statistics.getPrepareStatementCount());
+        Assertions.assertEquals(SLOTS - BOOKINGS, availableMeetingList.size());
+        availableMeetingList.forEach(availableMeeting -> Assertions.assertEquals(interviewerList.size(), availableMeeting.getInterviewerList().size()));
+    }
+
+    private BookingDTO toDTO(Booking booking) {
+        return modelMapper.map(booking, BookingDTO.class);
+    }
+
+    //free at SLOTS consecutive hours of the same day
+    private <T extends AbstractPerson> T newPerson(Supplier<T> supplier, int index) {
+        T person = getNewPerson(supplier, "Fetch", "60", index);
+        person.setScheduleList(getNewSchedules(person, DAY, 8, SLOTS));
+        return person;
+    }
+}
@@ -0,0 +1,132 @@
+package com.tamanna.challenge.interview.calendar.services;
+
+import com.tamanna.challenge.interview.calendar.entities.AvailableMeeting;
+import com.tamanna.challenge.interview.calendar.entities.BookingRequest;
+import com.tamanna.challenge.interview.calendar.entities.BookingResult;
+import com.tamanna.challenge.interview.calendar.entities.MeetingQuery;
+import com.tamanna.challenge.interview.calendar.entities.enums.BookingStatus;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Booking;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Schedule;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static com.tamanna.challenge.interview.calendar.DummyDataUtils.getNewSchedule;
+
+/**
+ * @author tlferreira
+ */
+//relies on the sample data in db/seed, books meetings so the context is discarded afterwards
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class MeetingServiceIntegrationTests {
+    private static final long CANDIDATE_ID = 3L;
+    private static final long INTERVIEWER_ID = 1L;
+    private static final long INTERVIEWER_B_ID = 2L;
+
+    @Autowired
+    private MeetingService meetingService;
+
+    @Autowired
+    private CandidateScheduleService candidateScheduleService;
+
+    @Autowired
+    private InterviewerScheduleService interviewerScheduleService;
+
+    @Test
+    void bookMeetingTest_ConcurrentBookingsOfSameSlot() throws Exception {
+        //day+3 18h, shared by the candidate and interviewer 1
+        AvailableMeeting availableMeeting = meetingService.queryMeeting(CANDIDATE_ID, List.of(INTERVIEWER_ID)).get(0);
+        long scheduleId = availableMeeting.getCandidateSchedule().getId();
+
+        int threads = 4;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        try {
+            List<Future<Booking>> futureList = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futureList.add(executorService.submit(() -> {
+                    barrier.await();
+                    return meetingService.bookMeeting(scheduleId, CANDIDATE_ID, List.of(INTERVIEWER_ID));
+                }));
+            }
+
+            int booked = 0;
+            for (Future<Booking> future : futureList) {
+                try {
+                    future.get(30, TimeUnit.SECONDS);
+                    booked++;
+                } catch (ExecutionException e) {
+                    //the losers see a conflict, or the slot already gone once the cache caught up
+                }
+            }
+
+            Assertions.assertEquals(1, booked);
+            Assertions.assertEquals(1, meetingService.getInterviewerMeetings(INTERVIEWER_ID).size());
+            //the candidate is shared with the other tests, only bookings of this slot count
+            Assertions.assertEquals(1, meetingService.getCandidateMeetings(CANDIDATE_ID)
+                    .stream()
+                    .filter(booking -> booking.getOwnerSchedule().getId() == scheduleId)
+                    .count());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void bookMeetingBatchTest_SameSlotTwice() throws Exception {
+        //day+2 11h, shared by the candidate and interviewer 2
+        AvailableMeeting availableMeeting = meetingService.queryMeeting(CANDIDATE_ID, List.of(INTERVIEWER_B_ID)).get(0);
+        BookingRequest bookingRequest = BookingRequest
+                .builder()
+                .scheduleId(availableMeeting.getCandidateSchedule().getId())
+                .candidateId(CANDIDATE_ID)
+                .interviewerIdList(List.of(INTERVIEWER_B_ID))
+                .build();
+
+        List<BookingResult> bookingResultList = meetingService.bookMeetingBatch(List.of(bookingRequest, bookingRequest));
+
+        Assertions.assertEquals(List.of(BookingStatus.BOOKED, BookingStatus.NOT_FOUND), bookingResultList.stream().map(BookingResult::getStatus).toList());
+        List<Long> bookingIdList = meetingService.getInterviewerMeetings(INTERVIEWER_B_ID)
+                .stream()
+                .filter(booking -> booking.getOwnerSchedule().getId() == bookingRequest.getScheduleId())
+                .map(Booking::getId)
+                .toList();
+        Assertions.assertEquals(List.of(bookingResultList.get(0).getBooking().getId()), bookingIdList);
+    }
+
+    @Test
+    void cancelInterviewerMeetingsTest_OnlyRangeCancelled() throws Exception {
+        //slots of their own, the other tests book the ones from the sample data
+        LocalDate day = LocalDate.now().plusDays(5);
+        List<Booking> bookingList = new ArrayList<>();
+        for (int hour : List.of(9, 10, 11)) {
+            Schedule candidateSchedule = candidateScheduleService.addSchedule(CANDIDATE_ID, getNewSchedule(null, hour, day));
+            interviewerScheduleService.addSchedule(INTERVIEWER_B_ID, getNewSchedule(null, hour, day));
+            bookingList.add(meetingService.bookMeeting(candidateSchedule.getId(), CANDIDATE_ID, List.of(INTERVIEWER_B_ID)));
+        }
+
+        List<Booking> cancelled = meetingService.cancelInterviewerMeetings(INTERVIEWER_B_ID, day.atTime(9, 30), day.atTime(12, 0));
+
+        Assertions.assertEquals(List.of(bookingList.get(1).getId(), bookingList.get(2).getId()), cancelled.stream().map(Booking::getId).sorted().toList());
+        Assertions.assertTrue(meetingService.getMeeting(bookingList.get(0).getId()).isPresent());
+        Assertions.assertTrue(meetingService.getMeeting(bookingList.get(1).getId()).isEmpty());
+        //the freed slots can be queried and booked again
+        List<AvailableMeeting> availableMeetingList = meetingService.queryMeeting(MeetingQuery
+                .builder()
+                .candidateId(CANDIDATE_ID)
+                .interviewerIdList(List.of(INTERVIEWER_B_ID))
+                .from(day.atStartOfDay())
+                .to(day.plusDays(1).atStartOfDay())
+                .build());
+        Assertions.assertEquals(List.of(10, 11), availableMeetingList.stream().map(meeting -> meeting.getCandidateSchedule().getHour()).toList());
+        Assertions.assertNotNull(meetingService.bookMeeting(availableMeetingList.get(0).getCandidateSchedule().getId(), CANDIDATE_ID, List.of(INTERVIEWER_B_ID)));
+    }
+}
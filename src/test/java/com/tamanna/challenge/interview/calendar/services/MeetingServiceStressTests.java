@@ -0,0 +1,257 @@
+package com.tamanna.challenge.interview.calendar.services;
+
+import com.tamanna.challenge.interview.calendar.entities.jpa.AbstractPerson;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Booking;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Candidate;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Interviewer;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Schedule;
+import com.tamanna.challenge.interview.calendar.exceptions.ConflictException;
+import com.tamanna.challenge.interview.calendar.exceptions.NotFoundException;
+import com.tamanna.challenge.interview.calendar.exceptions.NotModifiedException;
+import com.tamanna.challenge.interview.calendar.repositories.BookingRepository;
+import com.tamanna.challenge.interview.calendar.repositories.CandidateRepository;
+import com.tamanna.challenge.interview.calendar.repositories.InterviewerRepository;
+import com.tamanna.challenge.interview.calendar.repositories.PersonRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import javax.persistence.EntityManager;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+import static com.tamanna.challenge.interview.calendar.DummyDataUtils.getNewPerson;
+import static com.tamanna.challenge.interview.calendar.DummyDataUtils.getNewSchedules;
+
+/**
+ * @author tlferreira
+ */
+//concurrent bookings against the service layer, only run with mvn -Pstress test
+//every candidate and interviewer is free at the same slots, so bookings sharing an interviewer compete for the same rows
+@Log4j2
+@Tag("stress")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stressdb",
+        "logging.level.com.tamanna.challenge.interview.calendar=info",
+        "outbox.dispatch.enabled=false"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class MeetingServiceStressTests {
+    private static final int CANDIDATES = Integer.getInteger("stress.candidates", 100);
+    private static final int INTERVIEWERS = Integer.getInteger("stress.interviewers", 10);
+    private static final int DAYS = Integer.getInteger("stress.days", 3);
+    private static final int HOURS = Integer.getInteger("stress.hours", 8);
+    private static final int THREADS = Integer.getInteger("stress.threads", 16);
+    private static final int BOOKINGS = Integer.getInteger("stress.bookings", 2000);
+    private static final int MAX_INTERVIEWERS_PER_BOOKING = Integer.getInteger("stress.max-interviewers-per-booking", 2);
+    private static final long SEED = Long.getLong("stress.seed", 42L);
+    private static final Path REPORT_PATH = Path.of("target", "stress-report.txt");
+
+    @Autowired
+    private MeetingService meetingService;
+
+    @Autowired
+    private CandidateRepository candidateRepository;
+
+    @Autowired
+    private InterviewerRepository interviewerRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void bookMeeting_Concurrent() throws Exception {
+        List<Candidate> candidateList = seed(CANDIDATES, Candidate::new, "10", candidateRepository);
+        List<Interviewer> interviewerList = seed(INTERVIEWERS, Interviewer::new, "20", interviewerRepository);
+
+        //attempts are drawn up front, so the same seed replays the same workload
+        Random random = new Random(SEED);
+        List<Attempt> attemptList = new ArrayList<>(BOOKINGS);
+        for (int i = 0; i < BOOKINGS; i++) {
+            Candidate candidate = candidateList.get(random.nextInt(candidateList.size()));
+            Schedule schedule = candidate.getScheduleList().get(random.nextInt(candidate.getScheduleList().size()));
+            int interviewerCount = 1 + random.nextInt(MAX_INTERVIEWERS_PER_BOOKING);
+            List<Long> interviewerIdList = random
+                    .ints(0, interviewerList.size())
+                    .distinct()
+                    .limit(Math.min(interviewerCount, interviewerList.size()))
+                    .mapToObj(index -> interviewerList.get(index).getId())
+                    .toList();
+            attemptList.add(new Attempt(schedule.getId(), candidate.getId(), interviewerIdList));
+        }
+
+        Map<Outcome, AtomicInteger> outcomeMap = new ConcurrentHashMap<>();
+        Arrays.stream(Outcome.values()).forEach(outcome -> outcomeMap.put(outcome, new AtomicInteger()));
+        AtomicLongArray latencyNanos = new AtomicLongArray(BOOKINGS);
+        //booking id -> schedule ids it must own
+        Map<Long, List<Long>> bookedScheduleMap = new ConcurrentHashMap<>();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger next = new AtomicInteger();
+        List<Future<?>> futureList = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futureList.add(executorService.submit(() -> {
+                start.await();
+                int index;
+                while ((index = next.getAndIncrement()) < BOOKINGS) {
+                    Attempt attempt = attemptList.get(index);
+                    long begin = System.nanoTime();
+                    Outcome outcome = book(attempt, bookedScheduleMap);
+                    latencyNanos.set(index, System.nanoTime() - begin);
+                    outcomeMap.get(outcome).incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futureList) {
+            future.get(10, TimeUnit.MINUTES);
+        }
+        long elapsedNanos = System.nanoTime() - begin;
+        executorService.shutdown();
+
+        int doubleBookings = countDoubleBookings(bookedScheduleMap);
+        String report = report(outcomeMap, latencyNanos, elapsedNanos, doubleBookings);
+        log.info("Booking stress report\n{}", report);
+        Files.createDirectories(REPORT_PATH.getParent());
+        Files.writeString(REPORT_PATH, report);
+
+        Assertions.assertEquals(0, doubleBookings);
+        Assertions.assertEquals(0, outcomeMap.get(Outcome.ERROR).get());
+    }
+
+    private Outcome book(Attempt attempt, Map<Long, List<Long>> bookedScheduleMap) {
+        try {
+            Booking booking = meetingService.bookMeeting(attempt.scheduleId(), attempt.candidateId(), attempt.interviewerIdList());
+            List<Long> scheduleIdList = new ArrayList<>();
+            scheduleIdList.add(booking.getOwnerSchedule().getId());
+            booking.getChildrenScheduleList().forEach(schedule -> scheduleIdList.add(schedule.getId()));
+            bookedScheduleMap.put(booking.getId(), scheduleIdList);
+            return Outcome.BOOKED;
+        } catch (NotFoundException e) {
+            return Outcome.SLOT_TAKEN;
+        } catch (NotModifiedException e) {
+            return Outcome.INTERVIEWER_TAKEN;
+        } catch (ConflictException e) {
+            return Outcome.CONFLICT;
+        } catch (Exception e) {
+            log.error("Unexpected booking failure, Exception: ", e);
+            return Outcome.ERROR;
+        }
+    }
+
+    //a booking reported as done must still own every one of its schedules, and no other booking may exist
+    private int countDoubleBookings(Map<Long, List<Long>> bookedScheduleMap) {
+        Map<Long, Long> bookingByScheduleId = new HashMap<>();
+        entityManager
+                .createQuery("SELECT s.id, o.id, p.id FROM Schedule s LEFT JOIN s.ownedBooking o LEFT JOIN s.parentBooking p", Object[].class)
+                .getResultList()
+                .forEach(row -> {
+                    Long bookingId = row[1] != null ? (Long) row[1] : (Long) row[2];
+                    if (bookingId != null) {
+                        bookingByScheduleId.put((Long) row[0], bookingId);
+                    }
+                });
+
+        int doubleBookings = 0;
+        for (Map.Entry<Long, List<Long>> entry : bookedScheduleMap.entrySet()) {
+            boolean owned = entry.getValue().stream().allMatch(scheduleId -> entry.getKey().equals(bookingByScheduleId.get(scheduleId)));
+            if (!owned) {
+                doubleBookings++;
+            }
+        }
+        doubleBookings += (int) Math.max(0, bookingRepository.count() - bookedScheduleMap.size());
+        return doubleBookings;
+    }
+
+    private String report(Map<Outcome, AtomicInteger> outcomeMap, AtomicLongArray latencyNanos, long elapsedNanos, int doubleBookings) {
+        long[] sorted = new long[latencyNanos.length()];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = latencyNanos.get(i);
+        }
+        Arrays.sort(sorted);
+        double seconds = elapsedNanos / 1e9;
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("candidates=%d interviewers=%d slots=%d threads=%d attempts=%d seed=%d%n",
+                CANDIDATES, INTERVIEWERS, DAYS * HOURS, THREADS, BOOKINGS, SEED));
+        report.append(String.format("elapsed=%.2fs throughput=%.1f attempts/s, %.1f bookings/s%n",
+                seconds, BOOKINGS / seconds, outcomeMap.get(Outcome.BOOKED).get() / seconds));
+        report.append(String.format("latency p50=%.2fms p99=%.2fms max=%.2fms%n",
+                percentile(sorted, 50) / 1e6, percentile(sorted, 99) / 1e6, sorted[sorted.length - 1] / 1e6));
+        for (Outcome outcome : Outcome.values()) {
+            report.append(String.format("%s=%d ", outcome.name().toLowerCase(), outcomeMap.get(outcome).get()));
+        }
+        report.append(String.format("%nconflictRate=%.4f doubleBookings=%d%n", (double) outcomeMap.get(Outcome.CONFLICT).get() / BOOKINGS, doubleBookings));
+        report.append(String.format("lockContended=%.0f lockTimeouts=%.0f lockWaitMax=%.2fms%n",
+                meterRegistry.get("booking.lock.contended").counter().count(),
+                meterRegistry.get("booking.lock.timeout").counter().count(),
+                meterRegistry.get("booking.lock.wait").timer().max(TimeUnit.MILLISECONDS)));
+        return report.toString();
+    }
+
+    private long percentile(long[] sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    //every person is free at the same DAYS x HOURS slots, from tomorrow on
+    private <T extends AbstractPerson> List<T> seed(int count, Supplier<T> supplier, String phonePrefix, PersonRepository<T> personRepository) {
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+        List<T> personList = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            T person = getNewPerson(supplier, "Stress", phonePrefix, i);
+            List<Schedule> scheduleList = new ArrayList<>();
+            for (int day = 0; day < DAYS; day++) {
+                scheduleList.addAll(getNewSchedules(person, firstDay.plusDays(day), 9, HOURS));
+            }
+            person.setScheduleList(scheduleList);
+            personList.add(person);
+        }
+        //schedules are cascaded from the person
+        return personRepository.saveAll(personList);
+    }
+
+    private enum Outcome {
+        BOOKED,
+        //candidate schedule booked by another attempt
+        SLOT_TAKEN,
+        //an interviewer booked at that slot by another attempt
+        INTERVIEWER_TAKEN,
+        //still conflicting after the retries
+        CONFLICT,
+        ERROR
+    }
+
+    private record Attempt(long scheduleId, long candidateId, List<Long> interviewerIdList) {
+    }
+}
@@ -1,23 +1,59 @@
 package com.tamanna.challenge.interview.calendar.services;
 
+import com.tamanna.challenge.interview.calendar.configurations.MeetingBookingKeys;
+import com.tamanna.challenge.interview.calendar.configurations.MeetingMatchingKeys;
 import com.tamanna.challenge.interview.calendar.entities.AvailableMeeting;
+import com.tamanna.challenge.interview.calendar.entities.BookingRequest;
+import com.tamanna.challenge.interview.calendar.entities.BookingResult;
+import com.tamanna.challenge.interview.calendar.entities.MeetingQuery;
+import com.tamanna.challenge.interview.calendar.entities.MeetingQueryResult;
+import com.tamanna.challenge.interview.calendar.entities.SlotBitmap;
+import com.tamanna.challenge.interview.calendar.entities.SlotHold;
+import com.tamanna.challenge.interview.calendar.entities.SlotMatch;
+import com.tamanna.challenge.interview.calendar.entities.enums.BookingStatus;
+import com.tamanna.challenge.interview.calendar.entities.enums.MatchingSource;
+import com.tamanna.challenge.interview.calendar.entities.jpa.AbstractPerson;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Booking;
 import com.tamanna.challenge.interview.calendar.entities.jpa.Candidate;
 import com.tamanna.challenge.interview.calendar.entities.jpa.Interviewer;
 import com.tamanna.challenge.interview.calendar.entities.jpa.Schedule;
+import com.tamanna.challenge.interview.calendar.exceptions.ConflictException;
 import com.tamanna.challenge.interview.calendar.exceptions.NotFoundException;
+import com.tamanna.challenge.interview.calendar.exceptions.NotModifiedException;
 import com.tamanna.challenge.interview.calendar.exceptions.ServiceException;
+import com.tamanna.challenge.interview.calendar.repositories.BookingRepository;
+import com.tamanna.challenge.interview.calendar.repositories.ScheduleRepository;
+import com.tamanna.challenge.interview.calendar.services.impl.AvailabilityIndexServiceImpl;
+import com.tamanna.challenge.interview.calendar.services.impl.BookingLockServiceImpl;
 import com.tamanna.challenge.interview.calendar.services.impl.MeetingServiceImpl;
+import com.tamanna.challenge.interview.calendar.services.impl.SlotHoldServiceImpl;
+import com.tamanna.challenge.interview.calendar.services.impl.SortedMergeMatchingEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 import static com.tamanna.challenge.interview.calendar.DummyDataUtils.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -33,9 +69,60 @@ class MeetingServiceTests {
     @Mock
     private InterviewerService interviewerService;
 
+    @Spy
+    private AvailabilityIndexServiceImpl availabilityIndexService;
+
+    @Spy
+    private SortedMergeMatchingEngine meetingMatchingEngine;
+
+    @Spy
+    private MeetingMatchingKeys meetingMatchingKeys;
+
+    @Spy
+    private MeetingBookingKeys meetingBookingKeys;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private BookingLockService bookingLockService = new BookingLockServiceImpl(new MeetingBookingKeys(), new SimpleMeterRegistry());
+
+    @Spy
+    private SlotHoldService slotHoldService = new SlotHoldServiceImpl(new MeetingBookingKeys(), new SimpleMeterRegistry());
+
+    @Mock
+    private ScheduleRepository scheduleRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private OutboxService outboxService;
+
     @InjectMocks
     private MeetingServiceImpl meetingService;
 
+    private final Map<Long, AbstractPerson> personById = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        meetingBookingKeys.getRetry().setBackoff(Duration.ZERO);
+        Mockito.lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        //range query served from the schedules of the test persons
+        Mockito.lenient().when(scheduleRepository.findFreeByPersonIdInAndDayBetween(anyCollection(), any(), any())).thenAnswer(invocation -> {
+            Collection<Long> personIds = invocation.getArgument(0);
+            LocalDate fromDay = invocation.getArgument(1);
+            LocalDate toDay = invocation.getArgument(2);
+            return personIds
+                    .stream()
+                    .map(personById::get)
+                    .filter(Objects::nonNull)
+                    .flatMap(person -> person.getScheduleList().stream())
+                    .filter(schedule -> !schedule.getDay().isBefore(fromDay) && !schedule.getDay().isAfter(toDay))
+                    .toList();
+        });
+    }
+
     @Test
     void queryMeeting_CandidateNotFound() throws ServiceException {
         Mockito.when(candidateService.findById(anyLong())).thenReturn(Optional.empty());
@@ -58,6 +145,7 @@ class MeetingServiceTests {
 
         List<Long> ids = List.of(2L, 3L);
 
+        withFreeSchedules(candidate);
         Mockito.when(candidateService.findById(anyLong())).thenReturn(Optional.of(candidate));
         Mockito.when(interviewerService.findAll(eq(ids))).thenReturn(new ArrayList<>());
 
@@ -72,12 +160,35 @@ class MeetingServiceTests {
 
         List<Long> ids = List.of(interviewer.getId());
 
+        withFreeSchedules(candidate, interviewer);
         Mockito.when(candidateService.findById(anyLong())).thenReturn(Optional.of(candidate));
         Mockito.when(interviewerService.findAll(eq(ids))).thenReturn(List.of(interviewer));
 
         Assertions.assertThrows(ServiceException.class, () -> meetingService.queryMeeting(1L, ids));
     }
 
+    @Test
+    void queryMeeting_DatabaseSourceInterviewerWithoutSchedules() throws ServiceException {
+        Candidate candidate = getNewPersonCandidateWithSchedule(1L);
+        List<Long> ids = List.of(2L);
+
+        meetingMatchingKeys.setSource(MatchingSource.DATABASE);
+        Mockito.when(candidateService.findById(anyLong())).thenReturn(Optional.of(candidate));
+        Mockito.when(scheduleRepository.findFreeSlotMatches(eq(1L), eq(ids), anyString(), any(), anyInt(), any(), anyInt(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of()));
+        Mockito.when(scheduleRepository.existsFreeByPersonIdInAfter(eq(List.of(1L)), any(), anyInt())).thenReturn(true);
+        Mockito.when(scheduleRepository.existsFreeByPersonIdInAfter(eq(ids), any(), anyInt())).thenReturn(false);
+
+        //same answer as the JAVA source, not an empty list
+        ServiceException exception = Assertions.assertThrows(ServiceException.class, () -> meetingService.queryMeeting(1L, ids));
+        Assertions.assertEquals("No available interviewer", exception.getMessage());
+
+        //without interviewers asked for, nobody free is not an error on either source
+        Mockito.when(scheduleRepository.findFreeSlotMatches(eq(1L), anyString(), any(), anyInt(), any(), anyInt(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of()));
+        Assertions.assertTrue(meetingService.queryMeeting(1L, List.of()).isEmpty());
+    }
+
     @Test
     void queryMeeting_SuccessOneInterviewer() throws ServiceException {
         Candidate candidate = getNewPersonCandidateWithSchedule(1L);
@@ -85,6 +196,7 @@ class MeetingServiceTests {
         Interviewer interviewer = getNewPersonInterviewerWithSchedule(2L);
         List<Long> ids = List.of(interviewer.getId());
 
+        withFreeSchedules(candidate, interviewer);
         Mockito.when(candidateService.findById(anyLong())).thenReturn(Optional.of(candidate));
         Mockito.when(interviewerService.findAll(eq(ids))).thenReturn(List.of(interviewer));
 
@@ -97,7 +209,7 @@ class MeetingServiceTests {
         Assertions.assertEquals(1, availableMeeting.getInterviewerList().size());
 
         Schedule candidateSchedule = candidate.getScheduleList().get(0);
-        Assertions.assertEquals(candidateSchedule, availableMeeting.getCandidateSchedule());
+        Assertions.assertEquals(candidateSchedule.getId(), availableMeeting.getCandidateSchedule().getId());
 
         Schedule interviewerSchedule = interviewer.getScheduleList().get(0);
         Assertions.assertEquals(interviewerSchedule.getHour(), candidateSchedule.getHour());
@@ -121,6 +233,7 @@ class MeetingServiceTests {
 
         List<Long> ids = List.of(interviewer.getId(), interviewerB.getId());
 
+        withFreeSchedules(candidate, interviewer, interviewerB);
         Mockito.when(candidateService.findById(anyLong())).thenReturn(Optional.of(candidate));
         Mockito.when(interviewerService.findAll(eq(ids))).thenReturn(List.of(interviewer, interviewerB));
 
@@ -133,7 +246,7 @@ class MeetingServiceTests {
         Assertions.assertEquals(1, availableMeeting.getInterviewerList().size());
 
         Schedule candidateSchedule = candidate.getScheduleList().get(0);
-        Assertions.assertEquals(candidateSchedule, availableMeeting.getCandidateSchedule());
+        Assertions.assertEquals(candidateSchedule.getId(), availableMeeting.getCandidateSchedule().getId());
 
         Schedule interviewerSchedule = interviewer.getScheduleList().get(0);
         Assertions.assertEquals(interviewerSchedule.getHour(), candidateSchedule.getHour());
@@ -155,7 +268,7 @@ class MeetingServiceTests {
         interviewerB.setScheduleList(new ArrayList<>());
         interviewerB.getScheduleList().add(getNewSchedule(2L, 5));
 
-        Interviewer interviewerC = getNewPersonInterviewer(3L);
+        Interviewer interviewerC = getNewPersonInterviewer(4L);
         interviewerC.setScheduleList(new ArrayList<>());
         //equal to candidate's schedule
         interviewerC.getScheduleList().add(getNewSchedule(3L, 19));
@@ -163,6 +276,7 @@ class MeetingServiceTests {
 
         List<Long> ids = List.of(interviewer.getId(), interviewerB.getId(), interviewerC.getId());
 
+        withFreeSchedules(candidate, interviewer, interviewerB, interviewerC);
         Mockito.when(candidateService.findById(anyLong())).thenReturn(Optional.of(candidate));
         Mockito.when(interviewerService.findAll(eq(ids))).thenReturn(List.of(interviewer, interviewerB, interviewerC));
 
@@ -175,7 +289,7 @@ class MeetingServiceTests {
         Assertions.assertEquals(1, availableMeeting.getInterviewerList().size());
 
         Schedule candidateSchedule = candidate.getScheduleList().get(0);
-        Assertions.assertEquals(candidateSchedule, availableMeeting.getCandidateSchedule());
+        Assertions.assertEquals(candidateSchedule.getId(), availableMeeting.getCandidateSchedule().getId());
 
         Schedule interviewerSchedule = interviewer.getScheduleList().get(0);
         Assertions.assertEquals(interviewerSchedule.getHour(), candidateSchedule.getHour());
@@ -186,11 +300,518 @@ class MeetingServiceTests {
         availableMeeting = availableMeetingList.get(1);
         Assertions.assertEquals(1, availableMeeting.getInterviewerList().size());
         candidateSchedule = candidate.getScheduleList().get(1);
-        Assertions.assertEquals(candidateSchedule, availableMeeting.getCandidateSchedule());
+        Assertions.assertEquals(candidateSchedule.getId(), availableMeeting.getCandidateSchedule().getId());
 
         interviewerSchedule = interviewerC.getScheduleList().get(0);
         Assertions.assertEquals(interviewerSchedule.getHour(), candidateSchedule.getHour());
         Assertions.assertEquals(interviewerSchedule.getDay(), candidateSchedule.getDay());
         Assertions.assertTrue(availableMeeting.getInterviewerList().contains(interviewerC));
     }
+
+    @Test
+    void queryMeeting_LimitAndCursor() throws ServiceException {
+        LocalDate day = LocalDate.now().plusDays(1);
+
+        Candidate candidate = getNewPersonCandidate(1L);
+        candidate.setScheduleList(new ArrayList<>(List.of(getNewSchedule(12L, 12, day), getNewSchedule(10L, 10, day), getNewSchedule(11L, 11, day))));
+
+        Interviewer interviewer = getNewPersonInterviewer(2L);
+        interviewer.setScheduleList(new ArrayList<>(List.of(getNewSchedule(20L, 10, day), getNewSchedule(21L, 11, day), getNewSchedule(22L, 12, day))));
+        List<Long> ids = List.of(interviewer.getId());
+
+        withFreeSchedules(candidate, interviewer);
+        Mockito.when(candidateService.findById(anyLong())).thenReturn(Optional.of(candidate));
+        Mockito.when(interviewerService.findAll(eq(ids))).thenReturn(List.of(interviewer));
+
+        List<AvailableMeeting> firstPage = meetingService.queryMeeting(MeetingQuery.builder().candidateId(1L).interviewerIdList(ids).limit(2).build());
+        Assertions.assertEquals(List.of(10L, 11L), firstPage.stream().map(meeting -> meeting.getCandidateSchedule().getId()).toList());
+
+        long afterSlot = SlotBitmap.toEpochHour(firstPage.get(1).getCandidateSchedule());
+        List<AvailableMeeting> secondPage = meetingService.queryMeeting(MeetingQuery.builder().candidateId(1L).interviewerIdList(ids).afterSlot(afterSlot).limit(2).build());
+        Assertions.assertEquals(List.of(12L), secondPage.stream().map(meeting -> meeting.getCandidateSchedule().getId()).toList());
+
+        List<AvailableMeeting> window = meetingService.queryMeeting(MeetingQuery.builder().candidateId(1L).interviewerIdList(ids)
+                .from(day.atTime(10, 30)).to(day.atTime(12, 0)).build());
+        Assertions.assertEquals(List.of(11L), window.stream().map(meeting -> meeting.getCandidateSchedule().getId()).toList());
+    }
+
+    @Test
+    void queryMeeting_DatabaseSourceReadsPagesUntilLimit() throws ServiceException {
+        LocalDate day = LocalDate.now().plusDays(1);
+
+        Candidate candidate = getNewPersonCandidate(1L);
+        candidate.setScheduleList(new ArrayList<>(List.of(getNewSchedule(10L, 10, day), getNewSchedule(11L, 11, day), getNewSchedule(12L, 12, day))));
+        Interviewer interviewer = getNewPersonInterviewer(2L);
+        List<Long> ids = List.of(interviewer.getId());
+        List<SlotMatch> slotMatchList = List.of(new SlotMatch(10L, 2L, 20L), new SlotMatch(11L, 2L, 21L), new SlotMatch(12L, 2L, 22L));
+
+        meetingMatchingKeys.setSource(MatchingSource.DATABASE);
+        meetingMatchingKeys.setPageSize(2);
+        withFreeSchedules(candidate, interviewer);
+        Mockito.when(candidateService.findById(anyLong())).thenReturn(Optional.of(candidate));
+        Mockito.when(interviewerService.findAll(eq(ids))).thenReturn(List.of(interviewer));
+        Mockito.when(scheduleRepository.findWithPersonByIdIn(anyCollection())).thenAnswer(invocation -> candidate.getScheduleList()
+                .stream()
+                .filter(schedule -> invocation.<Collection<Long>>getArgument(0).contains(schedule.getId()))
+                .toList());
+        Mockito.when(scheduleRepository.findFreeSlotMatches(eq(1L), eq(ids), anyString(), any(), anyInt(), any(), anyInt(), any(Pageable.class))).thenAnswer(invocation -> {
+            Pageable pageable = invocation.getArgument(7);
+            int from = (int) pageable.getOffset();
+            int to = Math.min(slotMatchList.size(), from + pageable.getPageSize());
+            return new SliceImpl<>(slotMatchList.subList(from, to), pageable, to < slotMatchList.size());
+        });
+
+        //the first page already holds more runs than asked for
+        List<AvailableMeeting> first = meetingService.queryMeeting(MeetingQuery.builder().candidateId(1L).interviewerIdList(ids).limit(1).build());
+        Assertions.assertEquals(List.of(10L), first.stream().map(meeting -> meeting.getCandidateSchedule().getId()).toList());
+        Mockito.verify(scheduleRepository, Mockito.times(1)).findFreeSlotMatches(eq(1L), eq(ids), anyString(), any(), anyInt(), any(), anyInt(), any(Pageable.class));
+
+        List<AvailableMeeting> all = meetingService.queryMeeting(MeetingQuery.builder().candidateId(1L).interviewerIdList(ids).limit(3).build());
+        Assertions.assertEquals(List.of(10L, 11L, 12L), all.stream().map(meeting -> meeting.getCandidateSchedule().getId()).toList());
+        Mockito.verify(scheduleRepository, Mockito.times(3)).findFreeSlotMatches(eq(1L), eq(ids), anyString(), any(), anyInt(), any(), anyInt(), any(Pageable.class));
+    }
+
+    @Test
+    void queryMeeting_HeldSlotExcludedUntilReleased() throws ServiceException {
+        LocalDate day = LocalDate.now().plusDays(1);
+
+        Candidate candidate = getNewPersonCandidate(1L);
+        candidate.setScheduleList(new ArrayList<>(List.of(getNewSchedule(10L, 10, day), getNewSchedule(11L, 11, day), getNewSchedule(12L, 12, day))));
+        Interviewer interviewer = getNewPersonInterviewer(2L);
+        interviewer.setScheduleList(new ArrayList<>(List.of(getNewSchedule(20L, 10, day), getNewSchedule(21L, 11, day), getNewSchedule(22L, 12, day))));
+        List<Long> ids = List.of(interviewer.getId());
+
+        withFreeSchedules(candidate, interviewer);
+        Mockito.when(candidateService.findById(anyLong())).thenReturn(Optional.of(candidate));
+        Mockito.when(interviewerService.findAll(eq(ids))).thenReturn(List.of(interviewer));
+
+        //another candidate holds the interviewer at 10h
+        SlotHold slotHold = slotHoldService.hold(30L, 3L, ids, SlotBitmap.toEpochHour(day, 10));
+
+        MeetingQuery meetingQuery = MeetingQuery.builder().candidateId(1L).interviewerIdList(ids).limit(2).build();
+        Assertions.assertEquals(List.of(11L, 12L), meetingService.queryMeeting(meetingQuery).stream().map(meeting -> meeting.getCandidateSchedule().getId()).toList());
+
+        slotHoldService.release(slotHold.getId());
+        Assertions.assertEquals(List.of(10L, 11L), meetingService.queryMeeting(meetingQuery).stream().map(meeting -> meeting.getCandidateSchedule().getId()).toList());
+    }
+
+    @Test
+    void queryMeeting_RepeatedQueryServedFromCache() throws ServiceException {
+        Candidate candidate = getNewPersonCandidateWithSchedule(1L);
+        Interviewer interviewer = getNewPersonInterviewerWithSchedule(2L);
+        List<Long> ids = List.of(interviewer.getId());
+
+        withFreeSchedules(candidate, interviewer);
+        Mockito.when(candidateService.findById(anyLong())).thenReturn(Optional.of(candidate));
+        Mockito.when(interviewerService.findAll(eq(ids))).thenReturn(List.of(interviewer));
+
+        Assertions.assertEquals(1, meetingService.queryMeeting(1L, ids).size());
+        Assertions.assertEquals(1, meetingService.queryMeeting(1L, ids).size());
+
+        Mockito.verify(candidateService, Mockito.times(1)).findById(anyLong());
+        Mockito.verify(interviewerService, Mockito.times(1)).findAll(eq(ids));
+    }
+
+    @Test
+    void queryMeetingBatch_InterviewersLoadedOnce() throws ServiceException {
+        LocalDate day = LocalDate.now().plusDays(1);
+
+        Candidate candidate = getNewPersonCandidate(1L);
+        candidate.setScheduleList(new ArrayList<>(List.of(getNewSchedule(10L, 10, day))));
+        Candidate candidateB = getNewPersonCandidate(5L);
+        candidateB.setScheduleList(new ArrayList<>(List.of(getNewSchedule(11L, 11, day), getNewSchedule(12L, 15, day))));
+
+        Interviewer interviewer = getNewPersonInterviewer(2L);
+        interviewer.setScheduleList(new ArrayList<>(List.of(getNewSchedule(20L, 10, day), getNewSchedule(21L, 11, day))));
+        List<Long> ids = List.of(interviewer.getId());
+
+        withFreeSchedules(candidate, candidateB, interviewer);
+        Mockito.when(candidateService.findAll(eq(List.of(5L, 1L)))).thenReturn(List.of(candidateB, candidate));
+        Mockito.when(interviewerService.findAll(eq(ids))).thenReturn(List.of(interviewer));
+
+        Map<Long, MeetingQueryResult> meetingQueryResultMap = meetingService.queryMeetingBatch(List.of(5L, 1L), ids, 1);
+
+        Assertions.assertEquals(List.of(5L, 1L), new ArrayList<>(meetingQueryResultMap.keySet()));
+        Assertions.assertEquals(List.of(11L), meetingQueryResultMap.get(5L).getAvailableMeetingList().stream().map(meeting -> meeting.getCandidateSchedule().getId()).toList());
+        Assertions.assertEquals(List.of(10L), meetingQueryResultMap.get(1L).getAvailableMeetingList().stream().map(meeting -> meeting.getCandidateSchedule().getId()).toList());
+        Mockito.verify(interviewerService, Mockito.times(1)).findAll(eq(ids));
+    }
+
+    @Test
+    void queryMeetingBatch_CandidateNotFound() throws ServiceException {
+        Candidate candidate = getNewPersonCandidateWithSchedule(1L);
+        Interviewer interviewer = getNewPersonInterviewerWithSchedule(2L);
+        List<Long> ids = List.of(interviewer.getId());
+
+        withFreeSchedules(candidate, interviewer);
+        Mockito.when(candidateService.findAll(eq(List.of(1L, 9L)))).thenReturn(List.of(candidate));
+        Mockito.when(interviewerService.findAll(eq(ids))).thenReturn(List.of(interviewer));
+
+        Map<Long, MeetingQueryResult> meetingQueryResultMap = meetingService.queryMeetingBatch(List.of(1L, 9L), ids, 1);
+
+        //only the unknown candidate fails
+        Assertions.assertTrue(meetingQueryResultMap.get(1L).isFound());
+        Assertions.assertEquals(1, meetingQueryResultMap.get(1L).getAvailableMeetingList().size());
+        Assertions.assertFalse(meetingQueryResultMap.get(9L).isFound());
+        Assertions.assertTrue(meetingQueryResultMap.get(9L).getAvailableMeetingList().isEmpty());
+    }
+
+    @Test
+    void queryMeetingBatch_DatabaseSourceOneQuery() throws ServiceException {
+        LocalDate day = LocalDate.now().plusDays(1);
+
+        Candidate candidate = getNewPersonCandidate(1L);
+        candidate.setScheduleList(new ArrayList<>(List.of(getNewSchedule(10L, 10, day), getNewSchedule(11L, 11, day))));
+        Candidate candidateB = getNewPersonCandidate(5L);
+        candidateB.setScheduleList(new ArrayList<>(List.of(getNewSchedule(12L, 10, day))));
+        Interviewer interviewer = getNewPersonInterviewer(2L);
+        Interviewer interviewerB = getNewPersonInterviewer(3L);
+        List<Long> ids = List.of(interviewer.getId(), interviewerB.getId());
+        List<Schedule> candidateScheduleList = new ArrayList<>(candidate.getScheduleList());
+        candidateScheduleList.addAll(candidateB.getScheduleList());
+
+        meetingMatchingKeys.setSource(MatchingSource.DATABASE);
+        withFreeSchedules(candidate, candidateB, interviewer, interviewerB);
+        Mockito.when(candidateService.findAll(eq(List.of(5L, 1L, 9L)))).thenReturn(List.of(candidateB, candidate));
+        //11h has a single interviewer, below the quorum of two
+        Mockito.when(scheduleRepository.findFreeSlotMatchesByCandidateIdIn(anyCollection(), eq(ids), anyString(), any(), anyInt()))
+                .thenReturn(List.of(new SlotMatch(10L, 2L, 20L), new SlotMatch(10L, 3L, 30L), new SlotMatch(11L, 2L, 21L), new SlotMatch(12L, 2L, 22L), new SlotMatch(12L, 3L, 32L)));
+        Mockito.when(scheduleRepository.findWithPersonByIdIn(anyCollection())).thenReturn(candidateScheduleList);
+        Mockito.when(interviewerService.findAll(eq(ids))).thenReturn(List.of(interviewer, interviewerB));
+
+        Map<Long, MeetingQueryResult> meetingQueryResultMap = meetingService.queryMeetingBatch(List.of(5L, 1L, 9L), ids, 2);
+
+        Assertions.assertEquals(List.of(5L, 1L, 9L), new ArrayList<>(meetingQueryResultMap.keySet()));
+        Assertions.assertEquals(List.of(12L), meetingQueryResultMap.get(5L).getAvailableMeetingList().stream().map(meeting -> meeting.getCandidateSchedule().getId()).toList());
+        Assertions.assertEquals(List.of(10L), meetingQueryResultMap.get(1L).getAvailableMeetingList().stream().map(meeting -> meeting.getCandidateSchedule().getId()).toList());
+        Assertions.assertFalse(meetingQueryResultMap.get(9L).isFound());
+        Mockito.verify(scheduleRepository, Mockito.times(1)).findFreeSlotMatchesByCandidateIdIn(anyCollection(), eq(ids), anyString(), any(), anyInt());
+    }
+
+    @Test
+    void queryMeeting_BoundedWindowLoadsOnlyWindow() throws ServiceException {
+        LocalDate day = LocalDate.now().plusDays(1);
+
+        Candidate candidate = getNewPersonCandidate(1L);
+        candidate.setScheduleList(new ArrayList<>(List.of(getNewSchedule(10L, 10, day), getNewSchedule(11L, 10, day.plusDays(5)))));
+
+        Interviewer interviewer = getNewPersonInterviewer(2L);
+        interviewer.setScheduleList(new ArrayList<>(List.of(getNewSchedule(20L, 10, day), getNewSchedule(21L, 10, day.plusDays(5)))));
+        List<Long> ids = List.of(interviewer.getId());
+
+        withFreeSchedules(candidate, interviewer);
+        Mockito.when(candidateService.findById(anyLong())).thenReturn(Optional.of(candidate));
+        Mockito.when(interviewerService.findAll(eq(ids))).thenReturn(List.of(interviewer));
+
+        List<AvailableMeeting> window = meetingService.queryMeeting(MeetingQuery.builder().candidateId(1L).interviewerIdList(ids)
+                .from(day.atStartOfDay()).to(day.plusDays(1).atStartOfDay()).build());
+
+        Assertions.assertEquals(List.of(10L), window.stream().map(meeting -> meeting.getCandidateSchedule().getId()).toList());
+        Mockito.verify(scheduleRepository, Mockito.times(2)).findFreeByPersonIdInAndDayBetween(anyCollection(), eq(day), eq(day));
+        //window loads are not cached
+        Assertions.assertTrue(availabilityIndexService.findAvailability(1L, Candidate.class).isEmpty());
+    }
+
+    @Test
+    void bookMeeting_Success() throws ServiceException {
+        Candidate candidate = getNewPersonCandidateWithSchedule(1L);
+        Interviewer interviewer = getNewPersonInterviewerWithSchedule(2L);
+        List<Long> ids = List.of(interviewer.getId());
+        Schedule candidateSchedule = candidate.getScheduleList().get(0);
+
+        withFreeSchedules(candidate, interviewer);
+        stubBookingLookups(candidateSchedule, interviewer.getScheduleList());
+        Mockito.when(bookingRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Booking booking = meetingService.bookMeeting(1L, 1L, ids);
+        Mockito.verify(bookingLockService).lock(List.of(2L, 1L));
+
+        Assertions.assertSame(candidateSchedule, booking.getOwnerSchedule());
+        Assertions.assertSame(booking, candidateSchedule.getOwnedBooking());
+        Assertions.assertSame(booking, interviewer.getScheduleList().get(0).getParentBooking());
+        //availability is not computed for the booking
+        Mockito.verifyNoInteractions(candidateService, interviewerService);
+    }
+
+    @Test
+    void bookMeeting_CandidateScheduleBooked() throws ServiceException {
+        Schedule candidateSchedule = getNewSchedule(1L);
+        candidateSchedule.setOwnedBooking(new Booking());
+        Mockito.when(scheduleRepository.findByIdAndPersonIdAndPersonType(eq(1L), eq(1L), anyString())).thenReturn(Optional.of(candidateSchedule));
+
+        Assertions.assertThrows(NotFoundException.class, () -> meetingService.bookMeeting(1L, 1L, List.of(2L)));
+        Mockito.verify(bookingRepository, Mockito.never()).save(any());
+    }
+
+    @Test
+    void bookMeeting_InterviewerNotAvailable() throws ServiceException {
+        Candidate candidate = getNewPersonCandidateWithSchedule(1L);
+        Interviewer interviewer = getNewPersonInterviewerWithSchedule(2L);
+        Interviewer interviewerB = getNewPersonInterviewer(3L);
+        Schedule candidateSchedule = candidate.getScheduleList().get(0);
+
+        withFreeSchedules(candidate, interviewer);
+        stubBookingLookups(candidateSchedule, interviewer.getScheduleList());
+
+        Assertions.assertThrows(NotModifiedException.class, () -> meetingService.bookMeeting(1L, 1L, List.of(interviewer.getId(), interviewerB.getId())));
+        Mockito.verify(bookingRepository, Mockito.never()).save(any());
+    }
+
+    @Test
+    void bookMeeting_ConflictRetriedThenReported() throws ServiceException {
+        Candidate candidate = getNewPersonCandidateWithSchedule(1L);
+        Interviewer interviewer = getNewPersonInterviewerWithSchedule(2L);
+        List<Long> ids = List.of(interviewer.getId());
+
+        withFreeSchedules(candidate, interviewer);
+        stubBookingLookups(candidate.getScheduleList().get(0), interviewer.getScheduleList());
+        Mockito.when(bookingRepository.save(any())).thenThrow(new ObjectOptimisticLockingFailureException(Schedule.class, 1L));
+
+        Assertions.assertThrows(ConflictException.class, () -> meetingService.bookMeeting(1L, 1L, ids));
+        Mockito.verify(transactionTemplate, Mockito.times(meetingBookingKeys.getRetry().getMaxAttempts())).execute(any());
+    }
+
+    @Test
+    void bookMeeting_ConflictRetriedThenBooked() throws ServiceException {
+        Candidate candidate = getNewPersonCandidateWithSchedule(1L);
+        Interviewer interviewer = getNewPersonInterviewerWithSchedule(2L);
+        List<Long> ids = List.of(interviewer.getId());
+
+        withFreeSchedules(candidate, interviewer);
+        stubBookingLookups(candidate.getScheduleList().get(0), interviewer.getScheduleList());
+        Mockito.when(bookingRepository.save(any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Booking.class, 1L))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        Assertions.assertNotNull(meetingService.bookMeeting(1L, 1L, ids));
+        Mockito.verify(bookingRepository, Mockito.times(2)).save(any());
+    }
+
+    @Test
+    void bookMeetingBatch_ResultPerRequest() throws ServiceException {
+        Candidate candidate = getNewPersonCandidateWithSchedule(1L);
+        candidate.getScheduleList().add(getNewSchedule(10L, 13));
+        Interviewer interviewer = getNewPersonInterviewerWithSchedule(2L);
+        withFreeSchedules(candidate, interviewer);
+
+        Mockito.when(scheduleRepository.findFreeByIdInAndPersonType(anyCollection(), anyString())).thenReturn(candidate.getScheduleList());
+        Mockito.when(scheduleRepository.findFreeByPersonIdInAndPersonTypeAndDayBetween(anyCollection(), anyString(), any(), any())).thenReturn(interviewer.getScheduleList());
+
+        List<BookingRequest> bookingRequestList = List.of(
+                BookingRequest.builder().scheduleId(1L).candidateId(1L).interviewerIdList(List.of(2L)).build(),
+                //same slot again, already taken by the first request
+                BookingRequest.builder().scheduleId(1L).candidateId(1L).interviewerIdList(List.of(2L)).build(),
+                BookingRequest.builder().scheduleId(10L).candidateId(1L).interviewerIdList(List.of(2L)).build(),
+                BookingRequest.builder().scheduleId(99L).candidateId(1L).interviewerIdList(List.of(2L)).build());
+
+        List<BookingResult> bookingResultList = meetingService.bookMeetingBatch(bookingRequestList);
+
+        Assertions.assertEquals(List.of(BookingStatus.BOOKED, BookingStatus.NOT_FOUND, BookingStatus.NOT_MODIFIED, BookingStatus.NOT_FOUND),
+                bookingResultList.stream().map(BookingResult::getStatus).toList());
+        Booking booking = bookingResultList.get(0).getBooking();
+        Assertions.assertSame(booking, candidate.getScheduleList().get(0).getOwnedBooking());
+        Assertions.assertSame(booking, interviewer.getScheduleList().get(0).getParentBooking());
+        Assertions.assertNull(candidate.getScheduleList().get(1).getOwnedBooking());
+        //one transaction, one write of each kind
+        Mockito.verify(transactionTemplate).execute(any());
+        Mockito.verify(bookingRepository).saveAll(List.of(booking));
+        Mockito.verify(scheduleRepository).saveAll(List.of(interviewer.getScheduleList().get(0), candidate.getScheduleList().get(0)));
+        Mockito.verify(bookingRepository, Mockito.never()).save(any());
+    }
+
+    @Test
+    void bookMeetingBatch_ConflictingRequestFailsAlone() throws ServiceException {
+        Candidate candidate = getNewPersonCandidateWithSchedule(1L);
+        candidate.getScheduleList().add(getNewSchedule(10L, 13));
+        Interviewer interviewer = getNewPersonInterviewerWithSchedule(2L);
+        interviewer.getScheduleList().add(getNewSchedule(20L, 13));
+        withFreeSchedules(candidate, interviewer);
+
+        Mockito.when(scheduleRepository.findFreeByIdInAndPersonType(anyCollection(), anyString())).thenReturn(candidate.getScheduleList());
+        Mockito.when(scheduleRepository.findFreeByPersonIdInAndPersonTypeAndDayBetween(anyCollection(), anyString(), any(), any())).thenReturn(interviewer.getScheduleList());
+        //every write of the booking for schedule 10 conflicts
+        Mockito.when(bookingRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Booking> bookingList = invocation.getArgument(0);
+            if (bookingList.stream().anyMatch(booking -> booking.getOwnerSchedule().getId() == 10L)) {
+                throw new ObjectOptimisticLockingFailureException(Schedule.class, 10L);
+            }
+            return bookingList;
+        });
+
+        List<BookingResult> bookingResultList = meetingService.bookMeetingBatch(List.of(
+                BookingRequest.builder().scheduleId(1L).candidateId(1L).interviewerIdList(List.of(2L)).build(),
+                BookingRequest.builder().scheduleId(10L).candidateId(1L).interviewerIdList(List.of(2L)).build()));
+
+        Assertions.assertEquals(List.of(BookingStatus.BOOKED, BookingStatus.CONFLICT), bookingResultList.stream().map(BookingResult::getStatus).toList());
+        Assertions.assertEquals(1L, bookingResultList.get(0).getBooking().getOwnerSchedule().getId());
+        //the batch attempts, then each request alone
+        Mockito.verify(transactionTemplate, Mockito.times(meetingBookingKeys.getRetry().getMaxAttempts() * 2 + 1)).execute(any());
+    }
+
+    @Test
+    void bookMeetingBatch_NothingBooked() throws ServiceException {
+        Mockito.when(scheduleRepository.findFreeByIdInAndPersonType(anyCollection(), anyString())).thenReturn(List.of());
+
+        List<BookingResult> bookingResultList = meetingService.bookMeetingBatch(List.of(BookingRequest.builder().scheduleId(1L).candidateId(1L).interviewerIdList(List.of(2L)).build()));
+
+        Assertions.assertEquals(BookingStatus.NOT_FOUND, bookingResultList.get(0).getStatus());
+        Mockito.verify(scheduleRepository, Mockito.never()).findFreeByPersonIdInAndPersonTypeAndDayBetween(anyCollection(), anyString(), any(), any());
+        Mockito.verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void holdMeeting_SecondHoldConflicts() throws ServiceException {
+        Candidate candidate = getNewPersonCandidateWithSchedule(1L);
+        Interviewer interviewer = getNewPersonInterviewerWithSchedule(2L);
+        List<Long> ids = List.of(interviewer.getId());
+
+        withFreeSchedules(candidate, interviewer);
+        stubBookingLookups(candidate.getScheduleList().get(0), interviewer.getScheduleList());
+
+        SlotHold slotHold = meetingService.holdMeeting(1L, 1L, ids);
+        Assertions.assertEquals(SlotBitmap.toEpochHour(candidate.getScheduleList().get(0)), slotHold.getEpochHour());
+        Assertions.assertThrows(ConflictException.class, () -> meetingService.holdMeeting(1L, 1L, ids));
+        Mockito.verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void bookMeeting_HeldSlotBookedOnlyWithHold() throws ServiceException {
+        Candidate candidate = getNewPersonCandidateWithSchedule(1L);
+        Interviewer interviewer = getNewPersonInterviewerWithSchedule(2L);
+        List<Long> ids = List.of(interviewer.getId());
+
+        withFreeSchedules(candidate, interviewer);
+        stubBookingLookups(candidate.getScheduleList().get(0), interviewer.getScheduleList());
+        Mockito.when(bookingRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        SlotHold slotHold = meetingService.holdMeeting(1L, 1L, ids);
+        Assertions.assertThrows(ConflictException.class, () -> meetingService.bookMeeting(1L, 1L, ids));
+        Mockito.verify(bookingRepository, Mockito.never()).save(any());
+
+        Assertions.assertNotNull(meetingService.bookMeeting(1L, 1L, ids, slotHold.getId()));
+        //converted into the booking
+        Assertions.assertTrue(slotHoldService.findHold(slotHold.getId()).isEmpty());
+        Assertions.assertFalse(slotHoldService.isHeld(1L, slotHold.getEpochHour()));
+    }
+
+    @Test
+    void bookMeeting_HoldOfAnotherSlotRejected() throws ServiceException {
+        Candidate candidate = getNewPersonCandidateWithSchedule(1L);
+        Interviewer interviewer = getNewPersonInterviewerWithSchedule(2L);
+        List<Long> ids = List.of(interviewer.getId());
+        Schedule otherSchedule = getNewSchedule(3L, 13, candidate.getScheduleList().get(0).getDay());
+        otherSchedule.setPerson(candidate);
+
+        withFreeSchedules(candidate, interviewer);
+        Mockito.when(scheduleRepository.findByIdAndPersonIdAndPersonType(eq(1L), eq(1L), anyString()))
+                .thenReturn(Optional.of(candidate.getScheduleList().get(0)));
+        SlotHold otherHold = slotHoldService.hold(3L, 1L, ids, SlotBitmap.toEpochHour(otherSchedule));
+        //same schedule and candidate, taken before the schedule moved to its current slot
+        SlotHold movedHold = slotHoldService.hold(1L, 1L, ids, SlotBitmap.toEpochHour(otherSchedule) + 1);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> meetingService.bookMeeting(1L, 1L, ids, otherHold.getId()));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> meetingService.bookMeeting(1L, 1L, ids, movedHold.getId()));
+        Mockito.verify(bookingRepository, Mockito.never()).save(any());
+        //not released, they still belong to their own slots
+        Assertions.assertTrue(slotHoldService.findHold(otherHold.getId()).isPresent());
+        Assertions.assertTrue(slotHoldService.findHold(movedHold.getId()).isPresent());
+    }
+
+    @Test
+    void cancelMeeting_LinksClearedWithBulkStatements() throws ServiceException {
+        Candidate candidate = getNewPersonCandidateWithSchedule(1L);
+        Interviewer interviewer = getNewPersonInterviewerWithSchedule(2L);
+        withFreeSchedules(candidate, interviewer);
+        Booking booking = newBooking(5L, candidate.getScheduleList().get(0), interviewer.getScheduleList());
+
+        Mockito.when(bookingRepository.findAllWithSchedulesByIdIn(List.of(5L))).thenReturn(List.of(booking));
+        Mockito.when(bookingRepository.findIdsByIdIn(List.of(5L))).thenReturn(List.of(5L));
+
+        Optional<Booking> cancelled = meetingService.cancelMeeting(5L);
+
+        Assertions.assertTrue(cancelled.isPresent());
+        Assertions.assertNull(cancelled.get().getOwnerSchedule().getOwnedBooking());
+        Assertions.assertNull(interviewer.getScheduleList().get(0).getParentBooking());
+        Mockito.verify(scheduleRepository).clearOwnedBookings(List.of(5L));
+        Mockito.verify(scheduleRepository).clearParentBookings(List.of(5L));
+        Mockito.verify(bookingRepository).deleteByIdIn(List.of(5L));
+        Mockito.verify(bookingRepository, Mockito.never()).delete(any());
+        Mockito.verify(scheduleRepository, Mockito.never()).saveAll(any());
+    }
+
+    @Test
+    void cancelMeeting_AlreadyCancelled() throws ServiceException {
+        Candidate candidate = getNewPersonCandidateWithSchedule(1L);
+        Interviewer interviewer = getNewPersonInterviewerWithSchedule(2L);
+        withFreeSchedules(candidate, interviewer);
+        Booking booking = newBooking(5L, candidate.getScheduleList().get(0), interviewer.getScheduleList());
+
+        Mockito.when(bookingRepository.findAllWithSchedulesByIdIn(List.of(5L))).thenReturn(List.of(booking));
+        //cancelled by someone else before the locks were taken
+        Mockito.when(bookingRepository.findIdsByIdIn(List.of(5L))).thenReturn(List.of());
+
+        Assertions.assertTrue(meetingService.cancelMeeting(5L).isEmpty());
+        Mockito.verify(scheduleRepository, Mockito.never()).clearOwnedBookings(any());
+        Mockito.verify(scheduleRepository, Mockito.never()).clearParentBookings(any());
+    }
+
+    @Test
+    void cancelInterviewerMeetings_AllInFourStatements() throws ServiceException {
+        Candidate candidate = getNewPersonCandidateWithSchedule(1L);
+        candidate.getScheduleList().add(getNewSchedule(10L, 13));
+        Interviewer interviewer = getNewPersonInterviewer(2L);
+        interviewer.setScheduleList(new ArrayList<>(List.of(getNewSchedule(2L), getNewSchedule(20L, 13))));
+        withFreeSchedules(candidate, interviewer);
+        List<Booking> bookingList = List.of(
+                newBooking(5L, candidate.getScheduleList().get(0), List.of(interviewer.getScheduleList().get(0))),
+                newBooking(6L, candidate.getScheduleList().get(1), List.of(interviewer.getScheduleList().get(1))));
+
+        LocalDate day = LocalDate.now().plusDays(1);
+        Mockito.when(interviewerService.findById(2L)).thenReturn(Optional.of(interviewer));
+        Mockito.when(scheduleRepository.findParentBookingIdsByPersonIdAndSlotBetween(2L, day, 0, day.plusDays(1), 0)).thenReturn(List.of(5L, 6L));
+        Mockito.when(bookingRepository.findAllWithSchedulesByIdIn(List.of(5L, 6L))).thenReturn(bookingList);
+        Mockito.when(bookingRepository.findIdsByIdIn(List.of(5L, 6L))).thenReturn(List.of(5L, 6L));
+
+        List<Booking> cancelled = meetingService.cancelInterviewerMeetings(2L, day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+
+        Assertions.assertEquals(List.of(5L, 6L), cancelled.stream().map(Booking::getId).toList());
+        Mockito.verify(scheduleRepository).clearOwnedBookings(List.of(5L, 6L));
+        Mockito.verify(scheduleRepository).clearParentBookings(List.of(5L, 6L));
+        Mockito.verify(bookingRepository).deleteByIdIn(List.of(5L, 6L));
+        Mockito.verify(bookingLockService).lock(Set.of(1L, 2L));
+    }
+
+    @Test
+    void cancelInterviewerMeetings_InterviewerNotFound() throws ServiceException {
+        Mockito.when(interviewerService.findById(2L)).thenReturn(Optional.empty());
+
+        Assertions.assertThrows(NotFoundException.class, () -> meetingService.cancelInterviewerMeetings(2L, null, null));
+        Mockito.verifyNoInteractions(bookingRepository);
+    }
+
+    private Booking newBooking(long id, Schedule ownerSchedule, List<Schedule> childrenScheduleList) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setOwnerSchedule(ownerSchedule);
+        booking.setChildrenScheduleList(new ArrayList<>(childrenScheduleList));
+        ownerSchedule.setOwnedBooking(booking);
+        childrenScheduleList.forEach(schedule -> schedule.setParentBooking(booking));
+        return booking;
+    }
+
+    private void stubBookingLookups(Schedule candidateSchedule, List<Schedule> interviewerScheduleList) {
+        Mockito.when(scheduleRepository.findByIdAndPersonIdAndPersonType(eq(candidateSchedule.getId()), eq(candidateSchedule.getPerson().getId()), anyString()))
+                .thenReturn(Optional.of(candidateSchedule));
+        Mockito.when(scheduleRepository.findByPersonIdInAndPersonTypeAndDayAndHour(anyCollection(), anyString(), eq(candidateSchedule.getDay()), eq(candidateSchedule.getHour())))
+                .thenReturn(interviewerScheduleList);
+    }
+
+    private void withFreeSchedules(AbstractPerson... personList) {
+        for (AbstractPerson person : personList) {
+            if (person.getScheduleList() != null) {
+                person.getScheduleList().forEach(schedule -> schedule.setPerson(person));
+            }
+            personById.put(person.getId(), person);
+        }
+    }
 }
@@ -0,0 +1,108 @@
+package com.tamanna.challenge.interview.calendar.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tamanna.challenge.interview.calendar.configurations.OutboxKeys;
+import com.tamanna.challenge.interview.calendar.dtos.OutboxEventDTO;
+import com.tamanna.challenge.interview.calendar.entities.enums.OutboxEventType;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Booking;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Schedule;
+import com.tamanna.challenge.interview.calendar.repositories.OutboxEventRepository;
+import com.tamanna.challenge.interview.calendar.services.impl.InMemoryOutboxSink;
+import com.tamanna.challenge.interview.calendar.services.impl.OutboxServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static com.tamanna.challenge.interview.calendar.DummyDataUtils.getNewSchedule;
+
+/**
+ * @author tlferreira
+ */
+//own database and no scheduled dispatch, so every event written here is only sent by the test
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outboxdb",
+        "outbox.dispatch.enabled=false",
+        "outbox.sink=MEMORY"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class OutboxServiceIntegrationTests {
+    private static final long CANDIDATE_ID = 3L;
+    private static final long INTERVIEWER_ID = 1L;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxSink outboxSink;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxKeys outboxKeys;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeetingService meetingService;
+
+    @Autowired
+    private CandidateScheduleService candidateScheduleService;
+
+    @Autowired
+    private InterviewerScheduleService interviewerScheduleService;
+
+    @Test
+    void dispatchTest_EventsInCommitOrder() throws Exception {
+        LocalDate day = LocalDate.now().plusDays(6);
+        Schedule candidateSchedule = candidateScheduleService.addSchedule(CANDIDATE_ID, getNewSchedule(null, 9, day));
+        Schedule interviewerSchedule = interviewerScheduleService.addSchedule(INTERVIEWER_ID, getNewSchedule(null, 9, day));
+        Booking booking = meetingService.bookMeeting(candidateSchedule.getId(), CANDIDATE_ID, List.of(INTERVIEWER_ID));
+        meetingService.cancelMeeting(booking.getId());
+
+        Assertions.assertTrue(outboxService.dispatch() >= 4);
+        Assertions.assertEquals(0, outboxEventRepository.count());
+
+        Set<Long> scheduleIdSet = Set.of(candidateSchedule.getId(), interviewerSchedule.getId());
+        List<OutboxEventDTO> eventList = ((InMemoryOutboxSink) outboxSink)
+                .poll(Integer.MAX_VALUE)
+                .stream()
+                .filter(event -> event.getEventType().name().startsWith("SCHEDULE") ? scheduleIdSet.contains(event.getAggregateId()) : event.getAggregateId() == booking.getId())
+                .toList();
+        Assertions.assertEquals(List.of(OutboxEventType.SCHEDULE_ADDED, OutboxEventType.SCHEDULE_ADDED, OutboxEventType.MEETING_BOOKED, OutboxEventType.MEETING_CANCELLED),
+                eventList.stream().map(OutboxEventDTO::getEventType).toList());
+        Assertions.assertEquals(CANDIDATE_ID, objectMapper.readTree(eventList.get(2).getPayload()).get("candidateId").asLong());
+        Assertions.assertEquals(INTERVIEWER_ID, objectMapper.readTree(eventList.get(3).getPayload()).get("interviewerIdList").get(0).asLong());
+    }
+
+    @Test
+    void dispatchTest_FullSinkKeepsEvents() throws Exception {
+        outboxService.dispatch();
+        LocalDate day = LocalDate.now().plusDays(7);
+        candidateScheduleService.addSchedule(CANDIDATE_ID, getNewSchedule(null, 9, day));
+        candidateScheduleService.addSchedule(CANDIDATE_ID, getNewSchedule(null, 10, day));
+
+        InMemoryOutboxSink fullSink = new InMemoryOutboxSink(1);
+        OutboxService fullSinkOutboxService = new OutboxServiceImpl(outboxEventRepository, fullSink, outboxKeys, objectMapper, transactionTemplate);
+
+        Assertions.assertEquals(1, fullSinkOutboxService.dispatch());
+        Assertions.assertEquals(1, outboxEventRepository.count());
+        Assertions.assertEquals(0, fullSinkOutboxService.dispatch());
+
+        //the consumer catches up and the remaining event is sent
+        Assertions.assertEquals(9, objectMapper.readTree(fullSink.poll(1).get(0).getPayload()).get("hour").asInt());
+        Assertions.assertEquals(1, fullSinkOutboxService.dispatch());
+        Assertions.assertEquals(0, outboxEventRepository.count());
+    }
+}
@@ -1,23 +1,32 @@
 package com.tamanna.challenge.interview.calendar.services;
 
+import com.tamanna.challenge.interview.calendar.entities.jpa.Booking;
 import com.tamanna.challenge.interview.calendar.entities.jpa.Interviewer;
 import com.tamanna.challenge.interview.calendar.entities.jpa.Schedule;
+import com.tamanna.challenge.interview.calendar.entities.enums.OutboxEventType;
 import com.tamanna.challenge.interview.calendar.entities.enums.PersonType;
 import com.tamanna.challenge.interview.calendar.exceptions.NotFoundException;
+import com.tamanna.challenge.interview.calendar.exceptions.NotModifiedException;
 import com.tamanna.challenge.interview.calendar.exceptions.ServiceException;
 import com.tamanna.challenge.interview.calendar.repositories.ScheduleRepository;
+import com.tamanna.challenge.interview.calendar.services.impl.AvailabilityIndexServiceImpl;
 import com.tamanna.challenge.interview.calendar.services.impl.InterviewerScheduleServiceImpl;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static com.tamanna.challenge.interview.calendar.DummyDataUtils.getNewPersonInterviewer;
 import static com.tamanna.challenge.interview.calendar.DummyDataUtils.getNewSchedule;
@@ -33,10 +42,25 @@ class PersonScheduleServiceTests {
     private InterviewerService interviewerService;
     @Mock
     private ScheduleRepository scheduleRepository;
+    @Spy
+    private AvailabilityIndexServiceImpl availabilityIndexService;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private OutboxService outboxService;
 
     @InjectMocks
     private InterviewerScheduleServiceImpl personScheduleService;
 
+    @BeforeEach
+    void setUp() {
+        Mockito.lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        Mockito.lenient().doAnswer(invocation -> {
+            invocation.<Consumer<?>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
     @Test
     void addScheduleTest_PersonNotFound() throws ServiceException {
         Interviewer person = getNewPersonInterviewer();
@@ -69,6 +93,7 @@ class PersonScheduleServiceTests {
 
         Schedule scheduleUpdated = personScheduleService.addSchedule(person.getId(), schedule);
         Assertions.assertEquals(scheduleUpdated, schedule);
+        Mockito.verify(outboxService).appendScheduleEvent(eq(OutboxEventType.SCHEDULE_ADDED), eq(schedule));
     }
 
     @Test
@@ -150,12 +175,17 @@ class PersonScheduleServiceTests {
 
         Mockito.when(scheduleRepository.save(any())).thenAnswer(answer -> answer.getArgument(0));
 
+        LocalDate previousDay = scheduleA.getDay();
+        int previousHour = scheduleA.getHour();
+
         Optional<Schedule> scheduleUpdatedOpt = personScheduleService.update(personA.getId(), scheduleA.getId(), scheduleUpdate);
         Assertions.assertTrue(scheduleUpdatedOpt.isPresent());
         Schedule scheduleUpdated = scheduleUpdatedOpt.get();
         Assertions.assertEquals(scheduleA.getId(), scheduleUpdated.getId());
-        Assertions.assertEquals(scheduleA.getDay(), scheduleUpdated.getDay());
-        Assertions.assertNotEquals(scheduleA.getHour(), scheduleUpdated.getHour());
+        Assertions.assertEquals(previousDay, scheduleUpdated.getDay());
+        Assertions.assertNotEquals(previousHour, scheduleUpdated.getHour());
+        //the loaded entity is updated, keeping its person
+        Assertions.assertSame(personA, scheduleUpdated.getPerson());
     }
 
     @Test
@@ -179,12 +209,32 @@ class PersonScheduleServiceTests {
 
         Mockito.when(scheduleRepository.save(any())).thenAnswer(answer -> answer.getArgument(0));
 
+        LocalDate previousDay = scheduleA.getDay();
+        int previousHour = scheduleA.getHour();
+
         Optional<Schedule> scheduleUpdatedOpt = personScheduleService.update(personA.getId(), scheduleA.getId(), scheduleUpdate);
         Assertions.assertTrue(scheduleUpdatedOpt.isPresent());
         Schedule scheduleUpdated = scheduleUpdatedOpt.get();
         Assertions.assertEquals(scheduleA.getId(), scheduleUpdated.getId());
-        Assertions.assertNotEquals(scheduleA.getDay(), scheduleUpdated.getDay());
-        Assertions.assertEquals(scheduleA.getHour(), scheduleUpdated.getHour());
+        Assertions.assertNotEquals(previousDay, scheduleUpdated.getDay());
+        Assertions.assertEquals(previousHour, scheduleUpdated.getHour());
+    }
+
+    @Test
+    void updatePersonTest_BookedSchedule() {
+        Interviewer personA = getNewPersonInterviewer(1L);
+        Schedule scheduleA = getNewSchedule(5L, 15);
+        scheduleA.setPerson(personA);
+        scheduleA.setParentBooking(new Booking());
+        Schedule scheduleUpdate = getNewSchedule();
+
+        Mockito.when(scheduleRepository.findByIdAndPersonIdAndPersonType(eq(scheduleA.getId()), eq(personA.getId()), eq(PersonType.INTERVIEWER.name()))).thenReturn(Optional.of(scheduleA));
+
+        int previousHour = scheduleA.getHour();
+        Assertions.assertThrows(NotModifiedException.class, () -> personScheduleService.update(personA.getId(), scheduleA.getId(), scheduleUpdate));
+        //the booking keeps its slot
+        Assertions.assertEquals(previousHour, scheduleA.getHour());
+        Mockito.verify(scheduleRepository, Mockito.never()).save(any());
     }
 
     @Test
@@ -3,8 +3,12 @@ package com.tamanna.challenge.interview.calendar.services;
 import com.tamanna.challenge.interview.calendar.configurations.PhoneNumberValidationKeys;
 import com.tamanna.challenge.interview.calendar.entities.jpa.AbstractPerson;
 import com.tamanna.challenge.interview.calendar.entities.jpa.Interviewer;
+import com.tamanna.challenge.interview.calendar.entities.jpa.Schedule;
+import com.tamanna.challenge.interview.calendar.entities.projections.PersonView;
 import com.tamanna.challenge.interview.calendar.exceptions.ServiceException;
 import com.tamanna.challenge.interview.calendar.repositories.InterviewerRepository;
+import com.tamanna.challenge.interview.calendar.repositories.ScheduleRepository;
+import com.tamanna.challenge.interview.calendar.services.impl.AvailabilityIndexServiceImpl;
 import com.tamanna.challenge.interview.calendar.services.impl.InterviewerServiceImpl;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -14,15 +18,20 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 import static com.tamanna.challenge.interview.calendar.DummyDataUtils.getNewPersonInterviewer;
+import static com.tamanna.challenge.interview.calendar.DummyDataUtils.getNewSchedule;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 
 /**
@@ -36,6 +45,12 @@ class PersonServiceTests {
     @Mock
     private InterviewerRepository personRepository;
 
+    @Mock
+    private ScheduleRepository scheduleRepository;
+
+    @Spy
+    private AvailabilityIndexServiceImpl availabilityIndexService;
+
     @InjectMocks
     private InterviewerServiceImpl personService;
 
@@ -82,19 +97,19 @@ class PersonServiceTests {
 
     @Test
     void findAllPersonPaginatedTest_Success() throws ServiceException {
-        Interviewer personA = getNewPersonInterviewer();
-        Interviewer personA2 = getNewPersonInterviewer();
+        PersonView personA = toView(getNewPersonInterviewer());
+        PersonView personA2 = toView(getNewPersonInterviewer());
 
         Pageable pageable01 = PageRequest.of(0, 1);
         Pageable pageable11 = PageRequest.of(1, 1);
         Pageable pageable02 = PageRequest.of(0, 2);
 
         //returns the same object
-        Mockito.when(personRepository.findAll(eq(pageable01))).thenReturn(new PageImpl<>(List.of(personA)));
-        Mockito.when(personRepository.findAll(eq(pageable11))).thenReturn(new PageImpl<>(List.of(personA2)));
-        Mockito.when(personRepository.findAll(eq(pageable02))).thenReturn(new PageImpl<>(List.of(personA, personA2)));
+        Mockito.when(personRepository.findAllProjectedBy(eq(pageable01))).thenReturn(List.of(personA));
+        Mockito.when(personRepository.findAllProjectedBy(eq(pageable11))).thenReturn(List.of(personA2));
+        Mockito.when(personRepository.findAllProjectedBy(eq(pageable02))).thenReturn(List.of(personA, personA2));
 
-        List<Interviewer> interviewerList = personService.findAllPageable(0, 1);
+        List<PersonView> interviewerList = personService.findAllPageable(0, 1);
         Assertions.assertNotNull(interviewerList);
         Assertions.assertFalse(interviewerList.isEmpty());
         Assertions.assertEquals(1, interviewerList.size());
@@ -112,17 +127,19 @@ class PersonServiceTests {
         Assertions.assertEquals(2, interviewerList.size());
         Assertions.assertTrue(interviewerList.contains(personA));
         Assertions.assertTrue(interviewerList.contains(personA2));
+        //entities are never loaded for the list
+        Mockito.verify(personRepository, Mockito.never()).findAll(any(Pageable.class));
     }
 
     @Test
     void findAllPersonTest_Success() throws ServiceException {
-        Interviewer personA = getNewPersonInterviewer();
-        Interviewer personA2 = getNewPersonInterviewer();
+        PersonView personA = toView(getNewPersonInterviewer());
+        PersonView personA2 = toView(getNewPersonInterviewer());
 
         //returns the same object
-        Mockito.when(personRepository.findAll()).thenReturn(List.of(personA, personA2));
+        Mockito.when(personRepository.findAllProjectedBy()).thenReturn(List.of(personA, personA2));
 
-        List<Interviewer> interviewerList = personService.findAll();
+        List<PersonView> interviewerList = personService.findAll();
 
         Assertions.assertNotNull(interviewerList);
         Assertions.assertFalse(interviewerList.isEmpty());
@@ -131,6 +148,21 @@ class PersonServiceTests {
         Assertions.assertTrue(interviewerList.contains(personA2));
     }
 
+    @Test
+    void findAllPersonAfterTest_Success() throws ServiceException {
+        PersonView personA = toView(getNewPersonInterviewer(5L));
+
+        Mockito.when(personRepository.findProjectedByIdGreaterThanOrderByIdAsc(eq(4L), eq(PageRequest.of(0, 1))))
+                .thenReturn(new SliceImpl<>(List.of(personA), PageRequest.of(0, 1), true));
+
+        Slice<PersonView> interviewerSlice = personService.findAllAfter(4L, 1);
+        Assertions.assertEquals(List.of(personA), interviewerSlice.getContent());
+        Assertions.assertTrue(interviewerSlice.hasNext());
+        //seeks instead of counting and skipping rows
+        Mockito.verify(personRepository, Mockito.never()).count();
+        Mockito.verify(personRepository, Mockito.never()).findAllProjectedBy(any(Pageable.class));
+    }
+
     @Test
     void findPersonTest_NotFound() throws ServiceException {
         Interviewer personA = getNewPersonInterviewer(1L);
@@ -285,4 +317,51 @@ class PersonServiceTests {
         Optional<Interviewer> personOpt = personService.delete(personA.getId());
         Assertions.assertTrue(personOpt.isPresent());
     }
+
+    @Test
+    void findAvailableTest_ChangedWhileIndexingReloaded() throws ServiceException {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        Interviewer interviewer = getNewPersonInterviewer(1L);
+        Schedule bookedSchedule = getNewSchedule(1L, 10, tomorrow);
+        bookedSchedule.setPerson(interviewer);
+        Schedule freeSchedule = getNewSchedule(2L, 11, tomorrow);
+        freeSchedule.setPerson(interviewer);
+
+        Mockito.when(personRepository.findAllProjectedBy()).thenReturn(List.of(toView(interviewer)));
+        Mockito.when(personRepository.findAll()).thenReturn(List.of(interviewer));
+        //booked while the rows are being read, the first load is not cached
+        Mockito.when(scheduleRepository.findFreeByPersonTypeAndDayBetween(anyString(), any(), any())).thenAnswer(invocation -> {
+            availabilityIndexService.removeFreeSlot(1L, bookedSchedule);
+            return List.of(bookedSchedule);
+        });
+        Mockito.when(personRepository.findAllById(List.of(1L))).thenReturn(List.of(interviewer));
+        Mockito.when(scheduleRepository.findFreeByPersonIdInAndPersonTypeAndDayBetween(eq(List.of(1L)), anyString(), any(), any())).thenReturn(List.of(freeSchedule));
+
+        Assertions.assertTrue(personService.findAvailable(tomorrow, 10).isEmpty());
+        Assertions.assertEquals(List.of(interviewer), personService.findAvailable(tomorrow, 11));
+        Assertions.assertTrue(availabilityIndexService.isInterviewerIndexComplete());
+    }
+
+    @Test
+    void populateIndexTest_LookupReadsIndexOnly() throws ServiceException {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        Interviewer interviewer = getNewPersonInterviewer(1L);
+        Schedule schedule = getNewSchedule(1L, 10, tomorrow);
+        schedule.setPerson(interviewer);
+
+        Mockito.when(personRepository.findAllProjectedBy()).thenReturn(List.of(toView(interviewer)));
+        Mockito.when(personRepository.findAll()).thenReturn(List.of(interviewer));
+        Mockito.when(scheduleRepository.findFreeByPersonTypeAndDayBetween(anyString(), any(), any())).thenReturn(List.of(schedule));
+
+        personService.populateIndex();
+        Assertions.assertTrue(availabilityIndexService.isInterviewerIndexComplete());
+        Mockito.clearInvocations(personRepository, scheduleRepository);
+
+        Assertions.assertEquals(List.of(interviewer), personService.findAvailable(tomorrow, 10));
+        Mockito.verifyNoInteractions(personRepository, scheduleRepository);
+    }
+
+    private PersonView toView(Interviewer person) {
+        return new SpelAwareProxyProjectionFactory().createProjection(PersonView.class, person);
+    }
 }
@@ -0,0 +1,68 @@
+package com.tamanna.challenge.interview.calendar.services;
+
+import com.tamanna.challenge.interview.calendar.configurations.MeetingBookingKeys;
+import com.tamanna.challenge.interview.calendar.entities.SlotHold;
+import com.tamanna.challenge.interview.calendar.exceptions.ConflictException;
+import com.tamanna.challenge.interview.calendar.services.impl.SlotHoldServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * @author tlferreira
+ */
+class SlotHoldServiceTests {
+    private static final long SLOT = 100L;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void holdTest_SharedPersonConflictsUntilReleased() {
+        SlotHoldService slotHoldService = newSlotHoldService(Duration.ofMinutes(5));
+
+        SlotHold slotHold = slotHoldService.hold(1L, 1L, List.of(2L, 3L), SLOT);
+        Assertions.assertTrue(slotHoldService.isHeld(1L, SLOT));
+        Assertions.assertTrue(slotHoldService.isHeld(3L, SLOT));
+        Assertions.assertFalse(slotHoldService.isHeld(3L, SLOT + 1));
+        Assertions.assertEquals(1, meterRegistry.get("booking.hold.active").gauge().value());
+
+        //interviewer 3 is already held at the slot, nothing of the second hold is kept
+        Assertions.assertThrows(ConflictException.class, () -> slotHoldService.hold(4L, 4L, List.of(3L, 5L), SLOT));
+        Assertions.assertFalse(slotHoldService.isHeld(4L, SLOT));
+        Assertions.assertFalse(slotHoldService.isHeld(5L, SLOT));
+
+        Assertions.assertTrue(slotHoldService.release(slotHold.getId()).isPresent());
+        Assertions.assertFalse(slotHoldService.isHeld(1L, SLOT));
+        Assertions.assertTrue(slotHoldService.release(slotHold.getId()).isEmpty());
+        Assertions.assertEquals(0, slotHoldService.heldSlotCount());
+
+        Assertions.assertNotNull(slotHoldService.hold(4L, 4L, List.of(3L, 5L), SLOT));
+    }
+
+    @Test
+    void holdTest_ExpiredHoldIsDrained() throws InterruptedException {
+        SlotHoldService slotHoldService = newSlotHoldService(Duration.ofMillis(1));
+
+        SlotHold slotHold = slotHoldService.hold(1L, 1L, List.of(2L), SLOT);
+        Thread.sleep(10);
+
+        Assertions.assertFalse(slotHoldService.isHeld(1L, SLOT));
+        Assertions.assertTrue(slotHoldService.findHold(slotHold.getId()).isEmpty());
+        //not counted once expired, queries are not widened by it
+        Assertions.assertEquals(0, slotHoldService.heldSlotCount());
+
+        //the next hold drains the expired one, the same people can be held again
+        Assertions.assertNotNull(slotHoldService.hold(3L, 1L, List.of(2L), SLOT));
+        Assertions.assertEquals(1, slotHoldService.heldSlotCount());
+    }
+
+    private SlotHoldService newSlotHoldService(Duration ttl) {
+        MeetingBookingKeys meetingBookingKeys = new MeetingBookingKeys();
+        meetingBookingKeys.getHold().setTtl(ttl);
+        return new SlotHoldServiceImpl(meetingBookingKeys, meterRegistry);
+    }
+}